@@ -5,19 +5,19 @@ import com.olp.domain.auth.LoginRequest;
 import com.olp.domain.auth.RegisterRequest;
 import com.olp.domain.user.User;
 import com.olp.domain.user.UserRepository;
+import com.olp.shared.id.UuidV7;
 import com.olp.shared.security.JwtUtil;
+import com.olp.shared.security.PasswordHasher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
 
     public JwtResponse register(RegisterRequest request) {
@@ -29,15 +29,15 @@ public class AuthService {
         }
 
         User user = new User();
-        user.setId(UUID.randomUUID().toString());
+        user.setId(UuidV7.next());
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHasher.encode(request.getPassword()));
         user.setRole(User.Role.valueOf(request.getRole().toUpperCase()));
 
         userRepository.save(user);
 
-        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getRole().name());
+        String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getUsername(), user.getRole().name());
         String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
 
         return new JwtResponse(accessToken, refreshToken, user.getUsername(), user.getRole().name());
@@ -47,26 +47,30 @@ public class AuthService {
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPasswordHash())) {
             throw new RuntimeException("Invalid credentials");
         }
 
-        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getRole().name());
+        // Re-hash with the configured cost while the plain password is at hand.
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHasher.encode(request.getPassword()));
+            userRepository.save(user);
+        }
+
+        String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getUsername(), user.getRole().name());
         String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
 
         return new JwtResponse(accessToken, refreshToken, user.getUsername(), user.getRole().name());
     }
 
     public JwtResponse refresh(String refreshToken) {
-        if (!jwtUtil.isTokenValid(refreshToken)) {
-            throw new RuntimeException("Invalid refresh token");
-        }
-
-        String username = jwtUtil.extractUsername(refreshToken);
+        String username = jwtUtil.parse(refreshToken)
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"))
+                .username();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        String newAccessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getRole().name());
+        String newAccessToken = jwtUtil.generateAccessToken(user.getId(), user.getUsername(), user.getRole().name());
         String newRefreshToken = jwtUtil.generateRefreshToken(user.getUsername());
 
         return new JwtResponse(newAccessToken, newRefreshToken, user.getUsername(), user.getRole().name());
@@ -0,0 +1,32 @@
+package com.olp.domain.auth;
+
+import com.olp.shared.security.JwtUtil;
+import com.olp.shared.security.PasswordHasher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/auth")
+public class AuthStatsController {
+
+    private final JwtUtil jwtUtil;
+    private final PasswordHasher passwordHasher;
+
+    public AuthStatsController(JwtUtil jwtUtil, PasswordHasher passwordHasher) {
+        this.jwtUtil = jwtUtil;
+        this.passwordHasher = passwordHasher;
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("tokenCache", jwtUtil.getCacheStats());
+        stats.put("passwordHashing", passwordHasher.getStats());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -0,0 +1,31 @@
+package com.olp.domain.catalog;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/catalog")
+public class CatalogController {
+
+    private final CatalogReadModel catalogReadModel;
+
+    public CatalogController(CatalogReadModel catalogReadModel) {
+        this.catalogReadModel = catalogReadModel;
+    }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(catalogReadModel.getStats());
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        catalogReadModel.rebuild();
+        return ResponseEntity.ok(catalogReadModel.getStats());
+    }
+}
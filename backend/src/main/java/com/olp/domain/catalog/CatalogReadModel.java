@@ -0,0 +1,217 @@
+package com.olp.domain.catalog;
+
+import com.olp.domain.course.Course;
+import com.olp.domain.course.CourseChangedEvent;
+import com.olp.domain.course.CourseRepository;
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.course.CourseTreeAssembler;
+import com.olp.domain.course.CourseView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of the published course catalog, ordered by creation time, used to answer student
+ * catalog pages without touching the database. Readers work on an immutable snapshot; every
+ * {@link CourseChangedEvent} swaps in a new snapshot with only that course reloaded.
+ *
+ * <p>At most {@code catalog.read-model.max-courses} courses are held. When the catalog is larger the
+ * model keeps the oldest prefix and only answers untagged pages that fall entirely inside it.
+ */
+@Component
+public class CatalogReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogReadModel.class);
+
+    private static final Comparator<CatalogEntry> CATALOG_ORDER = Comparator
+            .comparing((CatalogEntry entry) -> entry.full().getCreatedAt(), Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(entry -> entry.full().getId());
+
+    private static final int LOAD_BATCH_SIZE = 200;
+
+    private final CourseRepository courseRepository;
+    private final CourseTreeAssembler courseTreeAssembler;
+    private final int maxCourses;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile Snapshot snapshot = Snapshot.empty();
+
+    public CatalogReadModel(CourseRepository courseRepository, CourseTreeAssembler courseTreeAssembler,
+                            @Value("${catalog.read-model.max-courses:5000}") int maxCourses) {
+        this.courseRepository = courseRepository;
+        this.courseTreeAssembler = courseTreeAssembler;
+        this.maxCourses = maxCourses;
+    }
+
+    public Optional<Page<CourseResponse>> findPublished(String tag, CourseView view, Pageable pageable) {
+        Snapshot current = snapshot;
+        List<CatalogEntry> courses;
+        long total;
+        if (tag != null) {
+            if (!current.complete()) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            courses = current.byTag().getOrDefault(tag, List.of());
+            total = courses.size();
+        } else {
+            courses = current.ordered();
+            total = current.publishedCount();
+            if (!current.complete() && pageable.getOffset() + pageable.getPageSize() > courses.size()) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+        }
+
+        hits.incrementAndGet();
+        int start = (int) Math.min(pageable.getOffset(), courses.size());
+        int end = Math.min(start + pageable.getPageSize(), courses.size());
+        List<CourseResponse> content = courses.subList(start, end).stream().map(entry -> entry.view(view)).toList();
+        return Optional.of(new PageImpl<>(content, pageable, total));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long publishedCount = courseRepository.countByIsPublishedTrue();
+        List<CatalogEntry> loaded = new ArrayList<>();
+        Pageable pageable = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("createdAt", "id"));
+        while (loaded.size() < maxCourses) {
+            Page<Course> page = courseRepository.findByIsPublishedTrue(pageable);
+            courseTreeAssembler.assemble(page.getContent()).forEach(course -> loaded.add(CatalogEntry.of(course)));
+            if (!page.hasNext()) {
+                break;
+            }
+            pageable = page.nextPageable();
+        }
+        List<CatalogEntry> bounded = loaded.size() > maxCourses ? loaded.subList(0, maxCourses) : loaded;
+        snapshot = Snapshot.of(snapshot.version() + 1, bounded, publishedCount);
+        log.info("Catalog read model rebuilt: {} of {} published courses cached (version {})",
+                bounded.size(), publishedCount, snapshot.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCourseChanged(CourseChangedEvent event) {
+        try {
+            Snapshot current = snapshot;
+            List<CatalogEntry> courses = new ArrayList<>(current.ordered());
+            boolean wasCached = courses.removeIf(entry -> entry.full().getId().equals(event.courseId()));
+
+            Optional<Course> course = courseRepository.findById(event.courseId())
+                    .filter(Course::getIsPublished);
+            long publishedCount;
+            if (current.complete()) {
+                if (course.isPresent()) {
+                    courses.add(CatalogEntry.of(courseTreeAssembler.assemble(course.get())));
+                }
+                publishedCount = courses.size();
+            } else {
+                // Only a course that sorts inside the cached prefix can be placed without a reload.
+                if (course.isPresent()) {
+                    CatalogEntry entry = CatalogEntry.of(courseTreeAssembler.assemble(course.get()));
+                    if (wasCached || (!courses.isEmpty() && CATALOG_ORDER.compare(entry, courses.get(courses.size() - 1)) < 0)) {
+                        courses.add(entry);
+                    }
+                }
+                publishedCount = courseRepository.countByIsPublishedTrue();
+            }
+
+            courses.sort(CATALOG_ORDER);
+            if (courses.size() > maxCourses) {
+                courses = new ArrayList<>(courses.subList(0, maxCourses));
+            }
+            snapshot = Snapshot.of(current.version() + 1, courses, publishedCount);
+        } catch (RuntimeException e) {
+            log.warn("Catalog read model could not apply change to course {}; serving from the database until rebuilt",
+                    event.courseId(), e);
+            snapshot = Snapshot.disabled(snapshot.version() + 1);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", current.version());
+        stats.put("builtAt", current.builtAt());
+        stats.put("cachedCourses", current.ordered().size());
+        stats.put("publishedCourses", current.publishedCount());
+        stats.put("maxCourses", maxCourses);
+        stats.put("complete", current.complete());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups > 0 ? (double) hitCount / lookups : 0.0);
+        return stats;
+    }
+
+    private record CatalogEntry(CourseResponse full, CourseResponse outline, CourseResponse summary) {
+
+        static CatalogEntry of(CourseResponse full) {
+            return new CatalogEntry(full,
+                    CourseTreeAssembler.project(full, CourseView.OUTLINE),
+                    CourseTreeAssembler.project(full, CourseView.SUMMARY));
+        }
+
+        CourseResponse view(CourseView view) {
+            return switch (view) {
+                case FULL -> full;
+                case OUTLINE -> outline;
+                case SUMMARY -> summary;
+            };
+        }
+    }
+
+    private record Snapshot(long version, LocalDateTime builtAt, List<CatalogEntry> ordered,
+                            Map<String, List<CatalogEntry>> byTag, long publishedCount, boolean complete) {
+
+        static Snapshot empty() {
+            return disabled(0);
+        }
+
+        static Snapshot disabled(long version) {
+            return new Snapshot(version, LocalDateTime.now(), List.of(), Map.of(), 0, false);
+        }
+
+        static Snapshot of(long version, List<CatalogEntry> courses, long publishedCount) {
+            List<CatalogEntry> ordered = new ArrayList<>(courses);
+            ordered.sort(CATALOG_ORDER);
+
+            Map<String, List<CatalogEntry>> byTag = new HashMap<>();
+            for (CatalogEntry entry : ordered) {
+                if (entry.full().getTags() != null) {
+                    for (String tag : entry.full().getTags()) {
+                        byTag.computeIfAbsent(tag, t -> new ArrayList<>()).add(entry);
+                    }
+                }
+            }
+            byTag.replaceAll((tag, list) -> Collections.unmodifiableList(list));
+
+            boolean complete = ordered.size() >= publishedCount;
+            return new Snapshot(version, LocalDateTime.now(), Collections.unmodifiableList(ordered),
+                    Collections.unmodifiableMap(byTag), publishedCount, complete);
+        }
+    }
+}
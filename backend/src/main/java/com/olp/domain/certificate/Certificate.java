@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "certificate")
+@Table(name = "certificate", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "course_id"}))
 public class Certificate {
     @Id
     @Column(length = 36, columnDefinition = "CHAR(36)")
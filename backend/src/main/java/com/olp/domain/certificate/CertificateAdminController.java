@@ -0,0 +1,32 @@
+package com.olp.domain.certificate;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/certificate")
+public class CertificateAdminController {
+
+    private final CertificateIssuer certificateIssuer;
+    private final CertificatePdfRenderer pdfRenderer;
+
+    public CertificateAdminController(CertificateIssuer certificateIssuer, CertificatePdfRenderer pdfRenderer) {
+        this.certificateIssuer = certificateIssuer;
+        this.pdfRenderer = pdfRenderer;
+    }
+
+    @GetMapping("/issuer/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getIssuerStats() {
+        return ResponseEntity.ok(certificateIssuer.getStats());
+    }
+
+    @GetMapping("/pdf/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getPdfStats() {
+        return ResponseEntity.ok(pdfRenderer.getStats());
+    }
+}
@@ -2,9 +2,13 @@ package com.olp.domain.certificate;
 
 import com.olp.domain.certificate.CertificateService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,6 +27,29 @@ public class CertificateController {
         return ResponseEntity.ok(certificateService.checkAndGenerateCertificate(courseId));
     }
 
+    @GetMapping("/course/{courseId}/pdf")
+    public ResponseEntity<StreamingResponseBody> getCertificatePdf(@PathVariable String courseId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"certificate-" + courseId + ".pdf\"")
+                .body(certificateService.getCertificatePdf(courseId));
+    }
+
+    @GetMapping("/mine")
+    public ResponseEntity<List<Map<String, Object>>> getMyCertificates() {
+        return ResponseEntity.ok(certificateService.getMyCertificates());
+    }
+
+    @GetMapping("/course/{courseId}/eligibility")
+    public ResponseEntity<Map<String, Object>> getEligibility(@PathVariable String courseId) {
+        return ResponseEntity.ok(certificateService.getEligibility(courseId));
+    }
+
+    @GetMapping("/course/{courseId}/eligibility/students")
+    public ResponseEntity<List<Map<String, Object>>> getEnrolledEligibility(@PathVariable String courseId) {
+        return ResponseEntity.ok(certificateService.getEnrolledEligibility(courseId));
+    }
+
     @GetMapping("/course/{courseId}")
     public ResponseEntity<Map<String, Object>> getCertificate(@PathVariable String courseId) {
         return ResponseEntity.ok(certificateService.getCertificate(courseId));
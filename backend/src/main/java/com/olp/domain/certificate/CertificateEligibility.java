@@ -0,0 +1,51 @@
+package com.olp.domain.certificate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What one user still has to do in a course before a certificate can be issued. Missing lessons and
+ * quizzes are listed in course order.
+ */
+public record CertificateEligibility(String userId, String courseId, int sections,
+                                     int requiredLessons, int completedLessons, List<String> missingLessonIds,
+                                     int requiredQuizzes, int passedQuizzes, List<String> missingQuizIds) {
+
+    public boolean eligible() {
+        return reason() == null;
+    }
+
+    public String reason() {
+        if (sections == 0) {
+            return "Course has no sections";
+        }
+        if (requiredLessons == 0) {
+            return "Course has no lessons";
+        }
+        if (!missingLessonIds.isEmpty()) {
+            return "Not all lessons completed";
+        }
+        if (!missingQuizIds.isEmpty()) {
+            return "Not all quizzes passed with 60% or above";
+        }
+        return null;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("userId", userId);
+        data.put("courseId", courseId);
+        data.put("eligible", eligible());
+        if (!eligible()) {
+            data.put("reason", reason());
+        }
+        data.put("requiredLessons", requiredLessons);
+        data.put("completedLessons", completedLessons);
+        data.put("missingLessonIds", missingLessonIds);
+        data.put("requiredQuizzes", requiredQuizzes);
+        data.put("passedQuizzes", passedQuizzes);
+        data.put("missingQuizIds", missingQuizIds);
+        return data;
+    }
+}
@@ -0,0 +1,108 @@
+package com.olp.domain.certificate;
+
+import com.olp.domain.progress.LessonCompletionStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Works out certificate eligibility for one course and any number of users. The course's sections and
+ * lessons are read once, completed lessons come from the {@link LessonCompletionStore}, and each chunk
+ * of users takes one more query over the section quizzes left-joined to passed quiz summaries. The
+ * cost no longer depends on the number of sections or quizzes.
+ */
+@Component
+public class CertificateEligibilityEvaluator {
+
+    private static final int USER_CHUNK_SIZE = 500;
+
+    private static final String LESSONS_SQL =
+            "SELECT s.id AS section_id, l.id AS lesson_id FROM sections s " +
+            "LEFT JOIN lessons l ON l.section_id = s.id " +
+            "WHERE s.course_id = ? ORDER BY s.sort_order, s.id, l.sort_order, l.id";
+
+    private static final String QUIZZES_SQL =
+            "SELECT q.id AS quiz_id, qs.user_id FROM section_quiz q JOIN sections s ON s.id = q.section_id " +
+            "LEFT JOIN quiz_attempt_summary qs ON qs.quiz_id = q.id AND qs.passed = TRUE AND qs.user_id IN (%s) " +
+            "WHERE s.course_id = ? ORDER BY s.sort_order, s.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LessonCompletionStore completionStore;
+
+    public CertificateEligibilityEvaluator(JdbcTemplate jdbcTemplate, LessonCompletionStore completionStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.completionStore = completionStore;
+    }
+
+    public CertificateEligibility evaluate(String courseId, String userId) {
+        return evaluate(courseId, List.of(userId)).get(userId);
+    }
+
+    /**
+     * Evaluates every given user against the course, keyed by user id in the order given.
+     */
+    public Map<String, CertificateEligibility> evaluate(String courseId, Collection<String> userIds) {
+        List<String> users = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Set<String> sections = new HashSet<>();
+        Set<String> lessons = new LinkedHashSet<>();
+        jdbcTemplate.query(LESSONS_SQL, rs -> {
+            sections.add(rs.getString("section_id"));
+            String lessonId = rs.getString("lesson_id");
+            if (lessonId != null) {
+                lessons.add(lessonId);
+            }
+        }, courseId);
+
+        Map<String, CertificateEligibility> result = new LinkedHashMap<>();
+        for (int from = 0; from < users.size(); from += USER_CHUNK_SIZE) {
+            result.putAll(evaluateChunk(courseId, sections.size(), lessons,
+                    users.subList(from, Math.min(from + USER_CHUNK_SIZE, users.size()))));
+        }
+        return result;
+    }
+
+    private Map<String, CertificateEligibility> evaluateChunk(String courseId, int sections, Set<String> lessons,
+                                                              List<String> userIds) {
+        String placeholders = String.join(", ", Collections.nCopies(userIds.size(), "?"));
+        Object[] args = new Object[userIds.size() + 1];
+        for (int i = 0; i < userIds.size(); i++) {
+            args[i] = userIds.get(i);
+        }
+        args[userIds.size()] = courseId;
+
+        Map<String, Set<String>> completedLessons = completionStore.findCompletedLessonIds(courseId, userIds);
+
+        Set<String> quizzes = new LinkedHashSet<>();
+        Map<String, Set<String>> passedQuizzes = new HashMap<>();
+        jdbcTemplate.query(String.format(QUIZZES_SQL, placeholders), rs -> {
+            String quizId = rs.getString("quiz_id");
+            quizzes.add(quizId);
+            String userId = rs.getString("user_id");
+            if (userId != null) {
+                passedQuizzes.computeIfAbsent(userId, id -> new HashSet<>()).add(quizId);
+            }
+        }, args);
+
+        Map<String, CertificateEligibility> result = new LinkedHashMap<>();
+        for (String userId : userIds) {
+            Set<String> completed = completedLessons.getOrDefault(userId, Set.of());
+            Set<String> passed = passedQuizzes.getOrDefault(userId, Set.of());
+            List<String> missingLessons = lessons.stream().filter(id -> !completed.contains(id)).toList();
+            List<String> missingQuizzes = quizzes.stream().filter(id -> !passed.contains(id)).toList();
+            result.put(userId, new CertificateEligibility(userId, courseId, sections,
+                    lessons.size(), lessons.size() - missingLessons.size(), missingLessons,
+                    quizzes.size(), quizzes.size() - missingQuizzes.size(), missingQuizzes));
+        }
+        return result;
+    }
+}
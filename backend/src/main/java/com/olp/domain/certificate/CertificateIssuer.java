@@ -0,0 +1,190 @@
+package com.olp.domain.certificate;
+
+import com.olp.domain.course.CourseRepository;
+import com.olp.domain.enrollment.CourseCompletedEvent;
+import com.olp.domain.user.UserCache;
+import com.olp.shared.id.UuidV7;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Issues certificates in the background once a {@link CourseCompletedEvent} has been committed. Every
+ * issuance re-checks eligibility before inserting, and the unique (user, course) key on
+ * {@code certificate} makes a second issuance for the same pair a no-op, so duplicate or replayed
+ * events never produce two certificates. A collision on the unique certificate number (two instances
+ * sharing a {@code certificate.number.node-id}) is retried with a fresh number. A student name, course
+ * title or instructor name the PDF template cannot print is logged when the certificate is issued.
+ *
+ * <p>Events that do not fit in {@code certificate.issuer.queue-capacity} are dropped; on startup every
+ * completed enrollment without a certificate is queued again.
+ */
+@Component
+public class CertificateIssuer {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateIssuer.class);
+
+    private static final int NUMBER_ATTEMPTS = 3;
+
+    private static final String SELECT_UNISSUED =
+            "SELECT e.user_id, e.course_id FROM enrollments e " +
+            "LEFT JOIN certificate c ON c.user_id = e.user_id AND c.course_id = e.course_id " +
+            "WHERE e.remaining_requirements = 0 AND c.id IS NULL";
+
+    private final CertificateRepository certificateRepository;
+    private final CertificateEligibilityEvaluator eligibilityEvaluator;
+    private final CertificateNumberGenerator numberGenerator;
+    private final UserCache userCache;
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder numberCollisions = new LongAdder();
+    private final LongAdder unprintable = new LongAdder();
+
+    public CertificateIssuer(CertificateRepository certificateRepository,
+                             CertificateEligibilityEvaluator eligibilityEvaluator,
+                             CertificateNumberGenerator numberGenerator, UserCache userCache,
+                             CourseRepository courseRepository, JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${certificate.issuer.queue-capacity:10000}") int queueCapacity) {
+        this.certificateRepository = certificateRepository;
+        this.eligibilityEvaluator = eligibilityEvaluator;
+        this.numberGenerator = numberGenerator;
+        this.userCache = userCache;
+        this.courseRepository = courseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "certificate-issuer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseCompleted(CourseCompletedEvent event) {
+        submit(event.userId(), event.courseId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void requeueUnissued() {
+        List<Map<String, Object>> unissued = jdbcTemplate.queryForList(SELECT_UNISSUED);
+        unissued.forEach(row -> submit((String) row.get("user_id"), (String) row.get("course_id")));
+        if (!unissued.isEmpty()) {
+            log.info("Queued {} completed enrollments without a certificate", unissued.size());
+        }
+    }
+
+    /**
+     * Returns the user's certificate for the course, issuing it first if the user is eligible. Safe to
+     * call concurrently with the background worker.
+     */
+    public Optional<Certificate> issue(String userId, String courseId) {
+        List<Certificate> existing = certificateRepository.findByUserIdAndCourseId(userId, courseId);
+        if (!existing.isEmpty()) {
+            return Optional.of(existing.get(0));
+        }
+        if (!eligibilityEvaluator.evaluate(courseId, userId).eligible()) {
+            return Optional.empty();
+        }
+
+        for (int attempt = 1; attempt <= NUMBER_ATTEMPTS; attempt++) {
+            Certificate certificate = new Certificate();
+            certificate.setId(UuidV7.next());
+            certificate.setUserId(userId);
+            certificate.setCourseId(courseId);
+            certificate.setCertificateNumber(numberGenerator.next());
+            try {
+                transactionTemplate.executeWithoutResult(status -> certificateRepository.saveAndFlush(certificate));
+                issued.increment();
+                checkPrintable(certificate);
+                return Optional.of(certificate);
+            } catch (DataIntegrityViolationException e) {
+                // Either issued concurrently by another caller, or the number is taken by another node
+                Optional<Certificate> concurrent = certificateRepository.findByUserIdAndCourseId(userId, courseId).stream().findFirst();
+                if (concurrent.isPresent()) {
+                    return concurrent;
+                }
+                numberCollisions.increment();
+                log.warn("Certificate number {} is already taken; check that certificate.number.node-id is unique per instance",
+                        certificate.getCertificateNumber());
+            }
+        }
+        throw new RuntimeException("Could not assign a unique certificate number");
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("issued", issued.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("numberCollisions", numberCollisions.sum());
+        stats.put("unprintable", unprintable.sum());
+        stats.put("queued", executor.getQueue().size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // The PDF only prints Latin-1; anything else would come out as '?', so make it visible here
+    private void checkPrintable(Certificate certificate) {
+        Map<String, String> fields = new HashMap<>();
+        userCache.findById(certificate.getUserId())
+                .ifPresent(student -> fields.put("studentName", CertificateService.displayName(student)));
+        courseRepository.findById(certificate.getCourseId()).ifPresent(course -> {
+            fields.put("courseName", course.getTitle());
+            userCache.findById(course.getInstructorId())
+                    .ifPresent(instructor -> fields.put("instructorName", CertificateService.displayName(instructor)));
+        });
+        List<String> unprintableFields = CertificatePdfRenderer.unprintableFields(fields);
+        if (!unprintableFields.isEmpty()) {
+            unprintable.increment();
+            log.warn("Certificate {} for user {} has a {} the PDF cannot print; only the image download will work",
+                    certificate.getCertificateNumber(), certificate.getUserId(), String.join(" and a ", unprintableFields));
+        }
+    }
+
+    private void submit(String userId, String courseId) {
+        try {
+            executor.execute(() -> {
+                try {
+                    issue(userId, courseId);
+                } catch (RuntimeException e) {
+                    log.warn("Could not issue certificate for user {} in course {}", userId, courseId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            log.warn("Certificate queue full; user {} in course {} will be retried on restart", userId, courseId);
+        }
+    }
+}
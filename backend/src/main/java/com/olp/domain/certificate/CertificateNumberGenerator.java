@@ -0,0 +1,119 @@
+package com.olp.domain.certificate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates certificate numbers from a Snowflake-style 63-bit value: milliseconds since 2024-01-01 in
+ * the top 41 bits, {@code certificate.number.node-id} in the next 10 and a per-millisecond sequence in
+ * the low 12. The value is written as 13 Crockford base32 digits followed by its mod 37 check symbol,
+ * e.g. {@code RSCOE-0A8PA5BMM0MCY~}, so numbers sort by issue time and a mistyped one can be rejected
+ * without a lookup.
+ *
+ * <p>The last timestamp and sequence share one {@link AtomicLong} and are advanced with a CAS loop.
+ * When a millisecond's 4096 sequence values run out the generator moves on to the next millisecond
+ * instead of waiting, and a clock that steps backwards is ignored, so numbers stay strictly
+ * increasing per node.
+ *
+ * <p>Uniqueness across instances rests on each running instance having its own node id; two instances
+ * with the same id can hand out the same number in the same millisecond. {@link CertificateIssuer}
+ * retries such a collision with a fresh number.
+ */
+@Component
+public class CertificateNumberGenerator {
+
+    static final String PREFIX = "RSCOE-";
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int DIGITS = 13;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final char[] CHECK_SYMBOLS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ*~$=U".toCharArray();
+
+    private final long node;
+    // (milliseconds since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last value handed out
+    private final AtomicLong last = new AtomicLong();
+
+    public CertificateNumberGenerator(@Value("${certificate.number.node-id:0}") long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("certificate.number.node-id must be between 0 and " + MAX_NODE);
+        }
+        this.node = node;
+    }
+
+    public String next() {
+        return PREFIX + encode(nextValue());
+    }
+
+    long nextValue() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = last.get();
+            // Same or earlier millisecond: take the next sequence value, which rolls into the next millisecond when exhausted.
+            next = now > previous ? now : previous + 1;
+        } while (!last.compareAndSet(previous, next));
+
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Whether {@code number} is well formed and its check symbol matches. Lower case and the Crockford
+     * aliases (O for 0, I and L for 1) are accepted.
+     */
+    public static boolean isValid(String number) {
+        if (number == null || !number.regionMatches(true, 0, PREFIX, 0, PREFIX.length())
+                || number.length() != PREFIX.length() + DIGITS + 1) {
+            return false;
+        }
+        long value = 0;
+        for (int i = PREFIX.length(); i < PREFIX.length() + DIGITS; i++) {
+            int digit = decodeDigit(number.charAt(i));
+            // 13 digits carry 65 bits, so the leading one may only use the low 3 of its 5
+            if (digit < 0 || (i == PREFIX.length() && digit > 7)) {
+                return false;
+            }
+            value = (value << 5) | digit;
+        }
+        char check = normalize(Character.toUpperCase(number.charAt(number.length() - 1)));
+        return check == CHECK_SYMBOLS[(int) (value % CHECK_SYMBOLS.length)];
+    }
+
+    static String encode(long value) {
+        char[] chars = new char[DIGITS + 1];
+        long remaining = value;
+        for (int i = DIGITS - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (remaining & 31)];
+            remaining >>>= 5;
+        }
+        chars[DIGITS] = CHECK_SYMBOLS[(int) (value % CHECK_SYMBOLS.length)];
+        return new String(chars);
+    }
+
+    private static int decodeDigit(char c) {
+        char upper = normalize(Character.toUpperCase(c));
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == upper) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static char normalize(char c) {
+        return switch (c) {
+            case 'O' -> '0';
+            case 'I', 'L' -> '1';
+            default -> c;
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package com.olp.domain.certificate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Renders certificate PDFs from {@code certificate/template.txt}, which is parsed once at startup.
+ * Each rendered file is kept under {@code certificate.pdf.cache-dir}. The file name is the certificate
+ * number plus a checksum of the printed fields, so a later name change renders a fresh file instead of
+ * serving a stale one. When the cache cannot be written (disk full, read-only directory) the PDF is
+ * served from memory instead.
+ *
+ * <p>The cache is kept under {@code certificate.pdf.cache-max-mb}: a cache hit touches its file, and
+ * once the directory grows past the limit the least recently used files are deleted until it is back
+ * to 90% of it. Files used in the last minute are never deleted, so a response still streaming one is
+ * not cut short.
+ *
+ * <p>A certificate whose student name, course title or instructor name cannot be printed by the
+ * template's fonts (see {@link CertificatePdfTemplate#printable}) is refused rather than rendered
+ * with missing characters; the certificate page offers the image download instead.
+ */
+@Component
+public class CertificatePdfRenderer {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificatePdfRenderer.class);
+
+    private static final Map<String, String> CHECKED_FIELDS = Map.of(
+            "studentName", "student name", "courseName", "course title", "instructorName", "instructor name");
+    private static final Duration MIN_EVICTION_AGE = Duration.ofMinutes(1);
+    private static final long MIN_TRIM_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final CertificatePdfTemplate template;
+    private final Path cacheDir;
+    private final long cacheMaxBytes;
+    private final AtomicLong cacheBytes = new AtomicLong();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private volatile long lastTrimNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+    private final LongAdder cacheFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+
+    public CertificatePdfRenderer(@Value("${certificate.pdf.cache-dir:${java.io.tmpdir}/olp-certificates}") String cacheDir,
+                                  @Value("${certificate.pdf.cache-max-mb:512}") long cacheMaxMb)
+            throws IOException {
+        try (InputStream in = new ClassPathResource("certificate/template.txt").getInputStream()) {
+            this.template = CertificatePdfTemplate.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        this.cacheDir = Path.of(cacheDir);
+        this.cacheMaxBytes = cacheMaxMb * 1024 * 1024;
+        Files.createDirectories(this.cacheDir);
+        trim();
+    }
+
+    /**
+     * Labels of the checked fields the PDF cannot print, such as "student name"; empty when it can
+     * print them all.
+     */
+    static List<String> unprintableFields(Map<String, String> fields) {
+        return CHECKED_FIELDS.entrySet().stream()
+                .filter(field -> fields.get(field.getKey()) != null && CertificatePdfTemplate.printable(fields.get(field.getKey())) == null)
+                .map(Map.Entry::getValue)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * The PDF for the given certificate number and printed fields, rendering it on a cache miss.
+     */
+    public Resource render(String certificateNumber, Map<String, String> fields) {
+        List<String> unprintable = unprintableFields(fields);
+        if (!unprintable.isEmpty()) {
+            refused.increment();
+            throw new RuntimeException("The PDF certificate cannot show the characters in the " + String.join(" and the ", unprintable)
+                    + "; download the certificate as an image instead");
+        }
+
+        Path file = cacheDir.resolve(fileName(certificateNumber, fields));
+        if (Files.exists(file)) {
+            try {
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+                hits.increment();
+                return new FileSystemResource(file);
+            } catch (IOException e) {
+                // Evicted since the check; render it again
+            }
+        }
+
+        long start = System.nanoTime();
+        byte[] pdf = template.render(fields);
+        renderNanos.add(System.nanoTime() - start);
+        renders.increment();
+
+        Path temp = null;
+        try {
+            // Concurrent renders of the same certificate write identical bytes, so the last move simply wins.
+            temp = Files.createTempFile(cacheDir, "render-", ".tmp");
+            Files.write(temp, pdf);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+            // A trim that found only recently used files leaves the cache over the limit; do not rescan on every render
+            if (cacheBytes.addAndGet(pdf.length) > cacheMaxBytes && System.nanoTime() - lastTrimNanos > MIN_TRIM_INTERVAL_NANOS) {
+                trim();
+            }
+        } catch (IOException e) {
+            cacheFailures.increment();
+            log.warn("Could not cache certificate PDF {}; serving it from memory", file, e);
+            return new ByteArrayResource(pdf);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.warn("Could not delete {}", temp, e);
+                }
+            }
+        }
+        return new FileSystemResource(file);
+    }
+
+    public Map<String, Object> getStats() {
+        long renderCount = renders.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cacheDir", cacheDir.toString());
+        stats.put("hits", hits.sum());
+        stats.put("renders", renderCount);
+        stats.put("cacheFailures", cacheFailures.sum());
+        stats.put("cacheBytes", cacheBytes.get());
+        stats.put("cacheMaxBytes", cacheMaxBytes);
+        stats.put("evictions", evictions.sum());
+        stats.put("refused", refused.sum());
+        stats.put("avgRenderMicros", renderCount > 0 ? renderNanos.sum() / renderCount / 1_000.0 : 0.0);
+        return stats;
+    }
+
+    // Deletes the least recently used files until the cache is back under 90% of its limit
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<CachedFile> files = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheDir, "*.pdf")) {
+                for (Path entry : entries) {
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                        files.add(new CachedFile(entry, attributes.size(), attributes.lastModifiedTime().toInstant()));
+                    } catch (IOException e) {
+                        // Deleted meanwhile
+                    }
+                }
+            }
+            long total = files.stream().mapToLong(CachedFile::size).sum();
+            if (total > cacheMaxBytes) {
+                long target = cacheMaxBytes / 10 * 9;
+                Instant recent = Instant.now().minus(MIN_EVICTION_AGE);
+                files.sort(Comparator.comparing(CachedFile::lastUsed));
+                for (CachedFile file : files) {
+                    if (total <= target || file.lastUsed().isAfter(recent)) {
+                        break;
+                    }
+                    if (Files.deleteIfExists(file.path())) {
+                        evictions.increment();
+                    }
+                    total -= file.size();
+                }
+            }
+            cacheBytes.set(total);
+        } catch (IOException e) {
+            log.warn("Could not trim the certificate PDF cache in {}", cacheDir, e);
+        } finally {
+            lastTrimNanos = System.nanoTime();
+            trimming.set(false);
+        }
+    }
+
+    private static String fileName(String certificateNumber, Map<String, String> fields) {
+        CRC32 crc = new CRC32();
+        fields.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(field -> crc.update((field.getKey() + "=" + field.getValue() + "\n").getBytes(StandardCharsets.UTF_8)));
+        return certificateNumber.replaceAll("[^A-Za-z0-9-]", "_") + "-" + Long.toHexString(crc.getValue()) + ".pdf";
+    }
+
+    private record CachedFile(Path path, long size, Instant lastUsed) {
+    }
+}
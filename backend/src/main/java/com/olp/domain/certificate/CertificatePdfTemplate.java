@@ -0,0 +1,265 @@
+package com.olp.domain.certificate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A single-page PDF layout parsed once from a content stream template (see
+ * {@code certificate/template.txt}). Static operators and literal text are turned into bytes at parse
+ * time. The page, font and catalog objects are written once as a fixed prefix. Rendering only has to
+ * lay out the field values, append the content stream and write a cross-reference table.
+ *
+ * <p>Only the standard Type 1 fonts are used, so nothing is embedded. Text is written in
+ * WinAnsiEncoding, which covers Latin-1. {@link #printable} maps accented letters and typographic
+ * punctuation outside it to their plain forms and reports text that still cannot be shown, such as
+ * Devanagari or CJK names, so callers can refuse to render it instead of printing {@code ?}.
+ */
+final class CertificatePdfTemplate {
+
+    private static final int PAGE_WIDTH = 792;
+    private static final int PAGE_HEIGHT = 612;
+    private static final double MARGIN = 60;
+
+    private static final Pattern DIRECTIVE = Pattern.compile(
+            "\\{\\{text\\s+(F[123])\\s+(\\d+(?:\\.\\d+)?)\\s+(left|center|right)\\s+(\\d+(?:\\.\\d+)?)\\s+(\\d+(?:\\.\\d+)?)\\s+(\"[^\"]*\"|\\w+)}}");
+
+    // Advance widths of the printable ASCII characters (32-126) in 1/1000 em, from the Adobe font metrics
+    private static final int[] HELVETICA = {
+            278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+            1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+            333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+            556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584};
+    // Helvetica-BoldOblique shares these metrics
+    private static final int[] HELVETICA_BOLD = {
+            278, 333, 474, 556, 556, 889, 722, 238, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 333, 333, 584, 584, 584, 611,
+            975, 722, 722, 722, 722, 667, 611, 778, 722, 278, 556, 722, 611, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 333, 278, 333, 584, 556,
+            333, 556, 611, 556, 611, 556, 333, 611, 611, 278, 278, 556, 278, 889, 611, 611,
+            611, 611, 389, 556, 333, 611, 556, 778, 556, 556, 500, 389, 280, 389, 584};
+    private static final int DEFAULT_WIDTH = 556;
+
+    private static final Map<Character, String> SUBSTITUTES = Map.ofEntries(
+            Map.entry('\u2018', "'"), Map.entry('\u2019', "'"), Map.entry('\u201A', "'"),
+            Map.entry('\u201C', "\""), Map.entry('\u201D', "\""), Map.entry('\u201E', "\""),
+            Map.entry('\u2010', "-"), Map.entry('\u2011', "-"), Map.entry('\u2013', "-"), Map.entry('\u2014', "-"),
+            Map.entry('\u2026', "..."), Map.entry('\u2022', "\u00B7"), Map.entry('\u2122', "TM"),
+            Map.entry('\u0141', "L"), Map.entry('\u0142', "l"), Map.entry('\u0110', "D"), Map.entry('\u0111', "d"),
+            Map.entry('\u0131', "i"), Map.entry('\u0152', "OE"), Map.entry('\u0153', "oe"),
+            Map.entry('\uFB01', "fi"), Map.entry('\uFB02', "fl"));
+
+    private static final String[] OBJECTS = {
+            "<< /Type /Catalog /Pages 2 0 R >>",
+            "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+            "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "] " +
+                    "/Resources << /Font << /F1 4 0 R /F2 5 0 R /F3 6 0 R >> >> /Contents 7 0 R >>",
+            "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>",
+            "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>",
+            "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-BoldOblique /Encoding /WinAnsiEncoding >>"};
+    private static final int CONTENT_OBJECT = OBJECTS.length + 1;
+
+    private final byte[] prefix;
+    private final int[] offsets;
+    private final List<Object> segments;
+
+    private CertificatePdfTemplate(byte[] prefix, int[] offsets, List<Object> segments) {
+        this.prefix = prefix;
+        this.offsets = offsets;
+        this.segments = segments;
+    }
+
+    /**
+     * {@code text} as it will be printed: unchanged when it is all Latin-1, otherwise with accents
+     * outside Latin-1 dropped ("Dvořák" becomes "Dvorák") and dashes, quotes and ligatures spelled
+     * out. Null when some character has no such form.
+     */
+    static String printable(String text) {
+        if (isLatin1(text)) {
+            return text;
+        }
+        text = Normalizer.normalize(text, Normalizer.Form.NFC);
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isLatin1(c)) {
+                result.append(c);
+                continue;
+            }
+            String replacement = SUBSTITUTES.get(c);
+            if (replacement == null) {
+                // Precomposed letters such as ř or ő decompose into a Latin-1 base letter and combining marks
+                String base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+                replacement = !base.isEmpty() && isLatin1(base) ? base : null;
+            }
+            if (replacement == null && Character.getType(c) != Character.NON_SPACING_MARK) {
+                return null;
+            }
+            result.append(replacement != null ? replacement : "");
+        }
+        return result.toString();
+    }
+
+    private static boolean isLatin1(String text) {
+        return text.chars().allMatch(c -> isLatin1((char) c));
+    }
+
+    private static boolean isLatin1(char c) {
+        return c < 127 || (c >= 0xA0 && c <= 0xFF);
+    }
+
+    static CertificatePdfTemplate parse(String template) {
+        List<Object> segments = new ArrayList<>();
+        ByteArrayOutputStream fixed = new ByteArrayOutputStream();
+        for (String line : template.split("\r?\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("%")) {
+                continue;
+            }
+            Matcher matcher = DIRECTIVE.matcher(trimmed);
+            if (!matcher.matches()) {
+                if (trimmed.contains("{{")) {
+                    throw new IllegalArgumentException("Malformed certificate template directive: " + trimmed);
+                }
+                write(fixed, trimmed);
+                fixed.write('\n');
+                continue;
+            }
+            TextSlot slot = new TextSlot(matcher.group(1), Double.parseDouble(matcher.group(2)), matcher.group(3),
+                    Double.parseDouble(matcher.group(4)), Double.parseDouble(matcher.group(5)), matcher.group(6));
+            if (slot.field().startsWith("\"")) {
+                slot.write(fixed, slot.field().substring(1, slot.field().length() - 1));
+            } else {
+                if (fixed.size() > 0) {
+                    segments.add(fixed.toByteArray());
+                    fixed.reset();
+                }
+                segments.add(slot);
+            }
+        }
+        if (fixed.size() > 0) {
+            segments.add(fixed.toByteArray());
+        }
+
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+        write(prefix, "%PDF-1.4\n%");
+        prefix.writeBytes(new byte[]{(byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'});
+        int[] offsets = new int[OBJECTS.length];
+        for (int i = 0; i < OBJECTS.length; i++) {
+            offsets[i] = prefix.size();
+            write(prefix, (i + 1) + " 0 obj\n" + OBJECTS[i] + "\nendobj\n");
+        }
+        return new CertificatePdfTemplate(prefix.toByteArray(), offsets, List.copyOf(segments));
+    }
+
+    byte[] render(Map<String, String> fields) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream(2048);
+        for (Object segment : segments) {
+            if (segment instanceof byte[] bytes) {
+                content.writeBytes(bytes);
+            } else {
+                TextSlot slot = (TextSlot) segment;
+                String value = fields.get(slot.field());
+                slot.write(content, value != null ? value : "");
+            }
+        }
+
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream(prefix.length + content.size() + 512);
+        pdf.writeBytes(prefix);
+        int contentOffset = pdf.size();
+        write(pdf, CONTENT_OBJECT + " 0 obj\n<< /Length " + content.size() + " >>\nstream\n");
+        pdf.writeBytes(content.toByteArray());
+        write(pdf, "\nendstream\nendobj\n");
+
+        int xrefOffset = pdf.size();
+        StringBuilder xref = new StringBuilder(64 + 20 * (CONTENT_OBJECT + 1));
+        xref.append("xref\n0 ").append(CONTENT_OBJECT + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            appendXrefEntry(xref, offset);
+        }
+        appendXrefEntry(xref, contentOffset);
+        xref.append("trailer\n<< /Size ").append(CONTENT_OBJECT + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xrefOffset).append("\n%%EOF\n");
+        write(pdf, xref.toString());
+        return pdf.toByteArray();
+    }
+
+    private static void appendXrefEntry(StringBuilder xref, int offset) {
+        String digits = Integer.toString(offset);
+        xref.append("0".repeat(10 - digits.length())).append(digits).append(" 00000 n \n");
+    }
+
+    private static void write(ByteArrayOutputStream out, String ascii) {
+        out.writeBytes(ascii.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String number(double value) {
+        long hundredths = Math.round(value * 100);
+        String sign = hundredths < 0 ? "-" : "";
+        hundredths = Math.abs(hundredths);
+        long fraction = hundredths % 100;
+        return sign + hundredths / 100 + (fraction == 0 ? "" : (fraction < 10 ? ".0" : ".") + fraction);
+    }
+
+    private record TextSlot(String font, double size, String align, double x, double y, String field) {
+
+        void write(ByteArrayOutputStream out, String text) {
+            String printable = printable(text);
+            byte[] encoded = encode(printable != null ? printable : text);
+            int[] widths = font.equals("F1") ? HELVETICA : HELVETICA_BOLD;
+            long units = 0;
+            for (byte b : encoded) {
+                int c = b & 0xFF;
+                units += c >= 32 && c <= 126 ? widths[c - 32] : DEFAULT_WIDTH;
+            }
+
+            double available = switch (align) {
+                case "center" -> 2 * Math.min(x, PAGE_WIDTH - x) - 2 * MARGIN;
+                case "right" -> x - MARGIN;
+                default -> PAGE_WIDTH - x - MARGIN;
+            };
+            double fontSize = size;
+            if (units * fontSize / 1000 > available && units > 0) {
+                fontSize = Math.max(6, available * 1000 / units);
+            }
+            double width = units * fontSize / 1000;
+            double left = switch (align) {
+                case "center" -> x - width / 2;
+                case "right" -> x - width;
+                default -> x;
+            };
+
+            CertificatePdfTemplate.write(out, "BT /" + font + " " + number(fontSize) + " Tf "
+                    + number(left) + " " + number(y) + " Td (");
+            for (byte b : encoded) {
+                if (b == '(' || b == ')' || b == '\\') {
+                    out.write('\\');
+                }
+                out.write(b);
+            }
+            CertificatePdfTemplate.write(out, ") Tj ET\n");
+        }
+
+        private static byte[] encode(String text) {
+            byte[] bytes = new byte[text.length()];
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < 32) {
+                    bytes[i] = ' ';
+                } else if (c < 127 || (c >= 0xA0 && c <= 0xFF)) {
+                    bytes[i] = (byte) c;
+                } else {
+                    bytes[i] = '?';
+                }
+            }
+            return bytes;
+        }
+    }
+}
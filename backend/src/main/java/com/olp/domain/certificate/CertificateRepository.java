@@ -9,4 +9,5 @@ import java.util.List;
 @Repository
 public interface CertificateRepository extends JpaRepository<Certificate, String> {
     List<Certificate> findByUserIdAndCourseId(String userId, String courseId);
+    List<Certificate> findByUserId(String userId);
 }
@@ -1,25 +1,20 @@
 package com.olp.domain.certificate;
 
 import com.olp.domain.user.User;
-import com.olp.domain.user.UserRepository;
+import com.olp.domain.user.UserCache;
 import com.olp.domain.course.Course;
 import com.olp.domain.course.CourseRepository;
-import com.olp.domain.course.Section;
-import com.olp.domain.course.SectionRepository;
-import com.olp.domain.lesson.Lesson;
-import com.olp.domain.lesson.LessonRepository;
-import com.olp.domain.progress.LessonProgress;
-import com.olp.domain.progress.LessonProgressRepository;
-import com.olp.domain.quiz.SectionQuiz;
-import com.olp.domain.quiz.SectionQuizRepository;
-import com.olp.domain.quiz.QuizAttempt;
-import com.olp.domain.quiz.QuizAttemptRepository;
+import com.olp.domain.enrollment.Enrollment;
+import com.olp.domain.enrollment.EnrollmentRepository;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.core.io.Resource;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDateTime;
+import java.io.InputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
@@ -27,95 +22,90 @@ import java.util.*;
 public class CertificateService {
 
     private final CertificateRepository certificateRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final CurrentUser currentUser;
     private final CourseRepository courseRepository;
-    private final LessonProgressRepository progressRepository;
-    private final SectionQuizRepository quizRepository;
-    private final QuizAttemptRepository attemptRepository;
-    private final SectionRepository sectionRepository;
-    private final LessonRepository lessonRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CertificateEligibilityEvaluator eligibilityEvaluator;
+    private final CertificateIssuer certificateIssuer;
+    private final CertificatePdfRenderer pdfRenderer;
 
     @Autowired
-    public CertificateService(CertificateRepository certificateRepository, UserRepository userRepository,
-                             CourseRepository courseRepository, LessonProgressRepository progressRepository,
-                             SectionQuizRepository quizRepository, QuizAttemptRepository attemptRepository,
-                             SectionRepository sectionRepository, LessonRepository lessonRepository) {
+    public CertificateService(CertificateRepository certificateRepository, UserCache userCache, CurrentUser currentUser,
+                             CourseRepository courseRepository, EnrollmentRepository enrollmentRepository,
+                             CertificateEligibilityEvaluator eligibilityEvaluator, CertificateIssuer certificateIssuer,
+                             CertificatePdfRenderer pdfRenderer) {
         this.certificateRepository = certificateRepository;
-        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.currentUser = currentUser;
         this.courseRepository = courseRepository;
-        this.progressRepository = progressRepository;
-        this.quizRepository = quizRepository;
-        this.attemptRepository = attemptRepository;
-        this.sectionRepository = sectionRepository;
-        this.lessonRepository = lessonRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.eligibilityEvaluator = eligibilityEvaluator;
+        this.certificateIssuer = certificateIssuer;
+        this.pdfRenderer = pdfRenderer;
     }
 
-    @Transactional
+    /**
+     * Certificates are issued by {@link CertificateIssuer} as soon as the last requirement is met, so
+     * this is a lookup. The remaining-requirements counter is only consulted when no certificate exists
+     * yet, and a completed enrollment whose certificate is still queued is issued on the spot.
+     */
     public Map<String, Object> checkAndGenerateCertificate(String courseId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
-        // Check if certificate already exists
         List<Certificate> existing = certificateRepository.findByUserIdAndCourseId(user.getId(), courseId);
         if (!existing.isEmpty()) {
             return getCertificateData(existing.get(0));
         }
 
-        Course course = courseRepository.findById(courseId).orElseThrow(() -> new RuntimeException("Course not found"));
-        List<Section> sections = sectionRepository.findByCourseIdOrderBySortOrder(courseId);
-
-        if (sections.isEmpty()) {
-            return Map.of("eligible", false, "reason", "Course has no sections");
+        Enrollment enrollment = enrollmentRepository.findByCourseIdAndUserId(courseId, user.getId())
+                .orElseThrow(() -> new RuntimeException("Not enrolled in this course"));
+        Integer remaining = enrollment.getRemainingRequirements();
+        if (remaining != null && remaining == 0) {
+            Optional<Certificate> certificate = certificateIssuer.issue(user.getId(), courseId);
+            if (certificate.isPresent()) {
+                return getCertificateData(certificate.get());
+            }
         }
 
-        // Check if all lessons completed
-        List<String> lessonIds = new ArrayList<>();
-        for (Section section : sections) {
-            lessonIds.addAll(lessonRepository.findBySectionIdOrderBySortOrder(section.getId())
-                    .stream().map(Lesson::getId).toList());
-        }
-        
-        if (lessonIds.isEmpty()) {
-            return Map.of("eligible", false, "reason", "Course has no lessons");
-        }
-        
-        long totalLessons = lessonIds.size();
-        long completedLessons = progressRepository.findByUserIdAndLessonIdIn(user.getId(), lessonIds).size();
+        Map<String, Object> data = new HashMap<>();
+        data.put("eligible", false);
+        data.put("reason", "Not all lessons completed and quizzes passed");
+        data.put("remainingRequirements", remaining);
+        return data;
+    }
 
-        if (completedLessons < totalLessons) {
-            return Map.of("eligible", false, "reason", "Not all lessons completed");
-        }
+    public List<Map<String, Object>> getMyCertificates() {
+        AuthenticatedUser user = currentUser.get();
+        return certificateRepository.findByUserId(user.getId()).stream()
+                .map(this::getCertificateData)
+                .toList();
+    }
 
-        // Check if all quizzes passed with >= 60%
-        List<String> quizIds = new ArrayList<>();
-        for (Section section : sections) {
-            quizRepository.findBySectionId(section.getId()).ifPresent(quiz -> quizIds.add(quiz.getId()));
+    public Map<String, Object> getEligibility(String courseId) {
+        AuthenticatedUser user = currentUser.get();
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
         }
+        return eligibilityEvaluator.evaluate(courseId, user.getId()).toMap();
+    }
 
-        if (!quizIds.isEmpty()) {
-            for (String quizId : quizIds) {
-                List<QuizAttempt> attempts = attemptRepository.findByUserIdAndQuizIdIn(user.getId(), List.of(quizId));
-                boolean passed = attempts.stream().anyMatch(QuizAttempt::getPassed);
-                if (!passed) {
-                    return Map.of("eligible", false, "reason", "Not all quizzes passed with 60% or above");
-                }
-            }
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    public List<Map<String, Object>> getEnrolledEligibility(String courseId) {
+        AuthenticatedUser user = currentUser.get();
+        Course course = courseRepository.findById(courseId).orElseThrow(() -> new RuntimeException("Course not found"));
+        if (user.getRole() != User.Role.ADMIN && !user.getId().equals(course.getInstructorId())) {
+            throw new RuntimeException("Access denied");
         }
 
-        // Generate certificate
-        Certificate certificate = new Certificate();
-        certificate.setId(UUID.randomUUID().toString());
-        certificate.setUserId(user.getId());
-        certificate.setCourseId(courseId);
-        certificate.setCertificateNumber(generateCertificateNumber());
-        certificateRepository.save(certificate);
-
-        return getCertificateData(certificate);
+        List<String> userIds = enrollmentRepository.findUserIdsByCourseId(courseId);
+        return eligibilityEvaluator.evaluate(courseId, userIds).values().stream()
+                .map(CertificateEligibility::toMap)
+                .toList();
     }
 
     public Map<String, Object> getCertificate(String courseId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         List<Certificate> certificates = certificateRepository.findByUserIdAndCourseId(user.getId(), courseId);
         if (certificates.isEmpty()) {
@@ -125,22 +115,44 @@ public class CertificateService {
         return getCertificateData(certificates.get(0));
     }
 
+    public StreamingResponseBody getCertificatePdf(String courseId) {
+        AuthenticatedUser user = currentUser.get();
+
+        Certificate certificate = certificateRepository.findByUserIdAndCourseId(user.getId(), courseId).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Certificate not found"));
+
+        Map<String, String> fields = new HashMap<>();
+        getCertificateData(certificate).forEach((key, value) -> {
+            if (value instanceof String text) {
+                fields.put(key, text);
+            }
+        });
+        Resource pdf = pdfRenderer.render(certificate.getCertificateNumber(), fields);
+        return outputStream -> {
+            try (InputStream in = pdf.getInputStream()) {
+                in.transferTo(outputStream);
+            }
+        };
+    }
+
     private Map<String, Object> getCertificateData(Certificate certificate) {
-        User user = userRepository.findById(certificate.getUserId()).orElseThrow();
+        User user = userCache.findById(certificate.getUserId()).orElseThrow();
         Course course = courseRepository.findById(certificate.getCourseId()).orElseThrow();
-        User instructor = userRepository.findById(course.getInstructorId()).orElseThrow();
+        User instructor = userCache.findById(course.getInstructorId()).orElseThrow();
 
         Map<String, Object> data = new HashMap<>();
         data.put("eligible", true);
+        data.put("courseId", certificate.getCourseId());
         data.put("certificateNumber", certificate.getCertificateNumber());
-        data.put("studentName", (user.getFirstName() != null ? user.getFirstName() + " " + user.getLastName() : user.getUsername()));
-        data.put("instructorName", (instructor.getFirstName() != null ? instructor.getFirstName() + " " + instructor.getLastName() : instructor.getUsername()));
+        data.put("studentName", displayName(user));
+        data.put("instructorName", displayName(instructor));
         data.put("courseName", course.getTitle());
         data.put("issueDate", certificate.getIssueDate().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
         return data;
     }
 
-    private String generateCertificateNumber() {
-        return "RSCOE-" + System.currentTimeMillis() + "-" + (int)(Math.random() * 1000);
+    static String displayName(User user) {
+        return user.getFirstName() != null ? user.getFirstName() + " " + user.getLastName() : user.getUsername();
     }
 }
@@ -0,0 +1,7 @@
+package com.olp.domain.course;
+
+/**
+ * Published after a course, or one of its sections or lessons, has been created, changed or deleted.
+ */
+public record CourseChangedEvent(String courseId) {
+}
@@ -4,33 +4,50 @@ import com.olp.domain.course.CourseRequest;
 import com.olp.domain.course.CourseResponse;
 import com.olp.domain.lesson.LessonRequest;
 import com.olp.domain.course.CourseService;
+import com.olp.domain.enrollment.RosterFormat;
+import com.olp.shared.pagination.CursorPage;
 import jakarta.validation.Valid;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/courses")
 public class CourseController {
 
     private final CourseService courseService;
+    private final CourseImportService courseImportService;
 
     @Autowired
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, CourseImportService courseImportService) {
         this.courseService = courseService;
+        this.courseImportService = courseImportService;
     }
 
     @GetMapping
     public ResponseEntity<Page<CourseResponse>> getCourses(
             @RequestParam(required = false) String tag,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(courseService.getCourses(tag, pageable));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "full") String view) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt", "id"));
+        return ResponseEntity.ok(courseService.getCourses(tag, CourseView.from(view), pageable));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<CourseResponse>> getCoursesAfter(
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "full") String view) {
+        return ResponseEntity.ok(courseService.getCoursesAfter(tag, CourseView.from(view), cursor, size));
     }
 
     @PostMapping
@@ -38,6 +55,11 @@ public class CourseController {
         return ResponseEntity.ok(courseService.createCourse(request));
     }
 
+    @PostMapping("/import")
+    public ResponseEntity<CourseImportResponse> importCourse(@Valid @RequestBody CourseImportRequest request) {
+        return ResponseEntity.ok(courseImportService.importCourse(request));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<CourseResponse> updateCourse(@PathVariable String id, @Valid @RequestBody CourseRequest request) {
         return ResponseEntity.ok(courseService.updateCourse(id, request));
@@ -56,9 +78,18 @@ public class CourseController {
     @GetMapping("/instructor/my-courses")
     public ResponseEntity<Page<CourseResponse>> getInstructorCourses(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "full") String view) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(courseService.getInstructorCourses(pageable));
+        return ResponseEntity.ok(courseService.getInstructorCourses(CourseView.from(view), pageable));
+    }
+
+    @GetMapping("/instructor/my-courses/cursor")
+    public ResponseEntity<CursorPage<CourseResponse>> getInstructorCoursesAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "full") String view) {
+        return ResponseEntity.ok(courseService.getInstructorCoursesAfter(CourseView.from(view), cursor, size));
     }
 
     @GetMapping("/{id}/students")
@@ -70,6 +101,26 @@ public class CourseController {
         return ResponseEntity.ok(courseService.getCourseStudents(id, pageable));
     }
 
+    @GetMapping("/{id}/students/cursor")
+    public ResponseEntity<CursorPage<Map<String, Object>>> getCourseStudentsAfter(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(courseService.getCourseStudentsAfter(id, cursor, size));
+    }
+
+    @GetMapping("/{id}/students/export")
+    public ResponseEntity<StreamingResponseBody> exportCourseStudents(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "csv") String format) {
+        RosterFormat rosterFormat = RosterFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(rosterFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"roster-" + id + "." + rosterFormat.getExtension() + "\"")
+                .body(courseService.exportCourseStudents(id, rosterFormat));
+    }
+
     @PostMapping("/{id}/lessons")
     public ResponseEntity<CourseResponse> addLesson(
             @PathVariable String id,
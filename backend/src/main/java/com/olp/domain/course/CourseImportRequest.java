@@ -0,0 +1,57 @@
+package com.olp.domain.course;
+
+import com.olp.domain.lesson.LessonRequest;
+import com.olp.domain.quiz.QuizRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Set;
+
+public class CourseImportRequest {
+    @NotBlank(message = "Title is required")
+    @Size(max = 200, message = "Title must not exceed 200 characters")
+    private String title;
+
+    private String description;
+    private Set<String> tags;
+
+    @Valid
+    private List<SectionImport> sections;
+
+    public static class SectionImport {
+        @NotBlank(message = "Section title is required")
+        @Size(max = 200, message = "Section title must not exceed 200 characters")
+        private String title;
+
+        private String description;
+        private Integer sortOrder;
+
+        @Valid
+        private List<LessonRequest> lessons;
+
+        @Valid
+        private QuizRequest quiz;
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+        public Integer getSortOrder() { return sortOrder; }
+        public void setSortOrder(Integer sortOrder) { this.sortOrder = sortOrder; }
+        public List<LessonRequest> getLessons() { return lessons; }
+        public void setLessons(List<LessonRequest> lessons) { this.lessons = lessons; }
+        public QuizRequest getQuiz() { return quiz; }
+        public void setQuiz(QuizRequest quiz) { this.quiz = quiz; }
+    }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public Set<String> getTags() { return tags; }
+    public void setTags(Set<String> tags) { this.tags = tags; }
+    public List<SectionImport> getSections() { return sections; }
+    public void setSections(List<SectionImport> sections) { this.sections = sections; }
+}
@@ -0,0 +1,28 @@
+package com.olp.domain.course;
+
+import java.util.Map;
+
+public class CourseImportResponse {
+    private String courseId;
+    private Integer sections;
+    private Integer lessons;
+    private Integer quizzes;
+    private Integer questions;
+    private Integer options;
+    private Map<String, Double> timingsMs;
+
+    public String getCourseId() { return courseId; }
+    public void setCourseId(String courseId) { this.courseId = courseId; }
+    public Integer getSections() { return sections; }
+    public void setSections(Integer sections) { this.sections = sections; }
+    public Integer getLessons() { return lessons; }
+    public void setLessons(Integer lessons) { this.lessons = lessons; }
+    public Integer getQuizzes() { return quizzes; }
+    public void setQuizzes(Integer quizzes) { this.quizzes = quizzes; }
+    public Integer getQuestions() { return questions; }
+    public void setQuestions(Integer questions) { this.questions = questions; }
+    public Integer getOptions() { return options; }
+    public void setOptions(Integer options) { this.options = options; }
+    public Map<String, Double> getTimingsMs() { return timingsMs; }
+    public void setTimingsMs(Map<String, Double> timingsMs) { this.timingsMs = timingsMs; }
+}
@@ -0,0 +1,166 @@
+package com.olp.domain.course;
+
+import com.olp.domain.lesson.LessonRequest;
+import com.olp.domain.quiz.QuizRequest;
+import com.olp.shared.id.UuidV7;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists a whole course document (sections, lessons and section quizzes) in one transaction. Ids
+ * are assigned up front so every table is written with a single ordered JDBC batch instead of one
+ * {@code save()} round trip per row.
+ */
+@Service
+public class CourseImportService {
+
+    private static final String INSERT_COURSE =
+            "INSERT INTO courses (id, instructor_id, title, description, is_published, created_at, updated_at, next_lesson_ordinal) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TAG = "INSERT INTO course_tags (course_id, tag) VALUES (?, ?)";
+    private static final String INSERT_SECTION =
+            "INSERT INTO sections (id, course_id, title, description, sort_order) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_LESSON =
+            "INSERT INTO lessons (id, course_id, section_id, title, content, video_url, sort_order, ordinal) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_QUIZ =
+            "INSERT INTO section_quiz (id, section_id, title, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_QUESTION =
+            "INSERT INTO quiz_question (id, quiz_id, question, correct_answer) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_OPTION =
+            "INSERT INTO quiz_option (id, question_id, option_text) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CurrentUser currentUser;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CourseImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               CurrentUser currentUser, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.currentUser = currentUser;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public CourseImportResponse importCourse(CourseImportRequest request) {
+        AuthenticatedUser user = currentUser.get();
+
+        Map<String, Double> timings = new LinkedHashMap<>();
+        long start = System.nanoTime();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String courseId = UuidV7.next();
+        List<Object[]> tags = new ArrayList<>();
+        List<Object[]> sections = new ArrayList<>();
+        List<Object[]> lessons = new ArrayList<>();
+        List<Object[]> quizzes = new ArrayList<>();
+        List<Object[]> questions = new ArrayList<>();
+        List<Object[]> options = new ArrayList<>();
+
+        if (request.getTags() != null) {
+            for (String tag : request.getTags()) {
+                tags.add(new Object[]{courseId, tag});
+            }
+        }
+
+        List<CourseImportRequest.SectionImport> sectionImports =
+                request.getSections() != null ? request.getSections() : List.of();
+        for (int s = 0; s < sectionImports.size(); s++) {
+            CourseImportRequest.SectionImport sectionImport = sectionImports.get(s);
+            String sectionId = UuidV7.next();
+            int sectionOrder = sectionImport.getSortOrder() != null ? sectionImport.getSortOrder() : s + 1;
+            sections.add(new Object[]{sectionId, courseId, sectionImport.getTitle(), sectionImport.getDescription(), sectionOrder});
+
+            List<LessonRequest> lessonRequests = sectionImport.getLessons() != null ? sectionImport.getLessons() : List.of();
+            for (int l = 0; l < lessonRequests.size(); l++) {
+                LessonRequest lesson = lessonRequests.get(l);
+                int lessonOrder = lesson.getSortOrder() != null ? lesson.getSortOrder() : l + 1;
+                lessons.add(new Object[]{UuidV7.next(), courseId, sectionId, lesson.getTitle(),
+                        lesson.getContent(), lesson.getVideoUrl(), lessonOrder, lessons.size()});
+            }
+
+            QuizRequest quiz = sectionImport.getQuiz();
+            if (quiz != null && quiz.getQuestions() != null && !quiz.getQuestions().isEmpty()) {
+                String quizId = UuidV7.next();
+                String quizTitle = quiz.getTitle() != null && !quiz.getTitle().isBlank()
+                        ? quiz.getTitle() : sectionImport.getTitle() + " Quiz";
+                quizzes.add(new Object[]{quizId, sectionId, quizTitle, now});
+
+                for (QuizRequest.QuestionRequest question : quiz.getQuestions()) {
+                    if (question.getQuestion() == null || question.getCorrectAnswer() == null) {
+                        throw new RuntimeException("Quiz questions need a question and a correct answer");
+                    }
+                    String questionId = UuidV7.next();
+                    questions.add(new Object[]{questionId, quizId, question.getQuestion(), question.getCorrectAnswer()});
+                    if (question.getOptions() != null) {
+                        for (String option : question.getOptions()) {
+                            options.add(new Object[]{UuidV7.next(), questionId, option});
+                        }
+                    }
+                }
+            }
+        }
+        timings.put("prepare", elapsedMs(start));
+
+        long transactionStart = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            long phase = System.nanoTime();
+            jdbcTemplate.update(INSERT_COURSE, courseId, user.getId(), request.getTitle(), request.getDescription(),
+                    false, now, now, lessons.size());
+            batchInsert(INSERT_TAG, tags);
+            timings.put("course", elapsedMs(phase));
+
+            phase = System.nanoTime();
+            batchInsert(INSERT_SECTION, sections);
+            timings.put("sections", elapsedMs(phase));
+
+            phase = System.nanoTime();
+            batchInsert(INSERT_LESSON, lessons);
+            timings.put("lessons", elapsedMs(phase));
+
+            phase = System.nanoTime();
+            batchInsert(INSERT_QUIZ, quizzes);
+            batchInsert(INSERT_QUESTION, questions);
+            batchInsert(INSERT_OPTION, options);
+            timings.put("quizzes", elapsedMs(phase));
+        });
+        timings.put("transaction", elapsedMs(transactionStart));
+        timings.put("total", elapsedMs(start));
+
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+
+        CourseImportResponse response = new CourseImportResponse();
+        response.setCourseId(courseId);
+        response.setSections(sections.size());
+        response.setLessons(lessons.size());
+        response.setQuizzes(quizzes.size());
+        response.setQuestions(questions.size());
+        response.setOptions(options.size());
+        response.setTimingsMs(timings);
+        return response;
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private static double elapsedMs(long startNanos) {
+        return Math.round((System.nanoTime() - startNanos) / 1_000.0) / 1_000.0;
+    }
+}
@@ -8,11 +8,15 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, String> {
     Page<Course> findByIsPublishedTrue(Pageable pageable);
+
+    long countByIsPublishedTrue();
     
     @Query("SELECT c FROM Course c JOIN c.tags t WHERE c.isPublished = true AND t = :tag")
     Page<Course> findByIsPublishedTrueAndTagsContaining(@Param("tag") String tag, Pageable pageable);
@@ -20,4 +24,25 @@ public interface CourseRepository extends JpaRepository<Course, String> {
     Page<Course> findByInstructorId(String instructorId, Pageable pageable);
     
     Page<Course> findByIdIn(List<String> ids, Pageable pageable);
+
+    @Query("SELECT c FROM Course c WHERE c.isPublished = true " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) ORDER BY c.createdAt, c.id")
+    List<Course> findPublishedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable limit);
+
+    @Query("SELECT c FROM Course c JOIN c.tags t WHERE c.isPublished = true AND t = :tag " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) ORDER BY c.createdAt, c.id")
+    List<Course> findPublishedByTagAfter(@Param("tag") String tag, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") String id, Pageable limit);
+
+    @Query("SELECT c FROM Course c " +
+           "WHERE c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id) ORDER BY c.createdAt, c.id")
+    List<Course> findAllAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable limit);
+
+    @Query("SELECT c FROM Course c WHERE c.instructorId = :instructorId " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) ORDER BY c.createdAt, c.id")
+    List<Course> findByInstructorIdAfter(@Param("instructorId") String instructorId, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") String id, Pageable limit);
+
+    @Query("SELECT c.id, t FROM Course c JOIN c.tags t WHERE c.id IN :ids")
+    List<Object[]> findTagsByCourseIdIn(@Param("ids") Collection<String> ids);
 }
\ No newline at end of file
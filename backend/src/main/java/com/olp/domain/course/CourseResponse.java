@@ -1,5 +1,6 @@
 package com.olp.domain.course;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -17,7 +18,10 @@ public class CourseResponse {
     private Set<String> tags;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<SectionResponse> sections;
+    private Integer sectionCount;
+    private Integer lessonCount;
 
     public String getId() {
         return id;
@@ -98,4 +102,20 @@ public class CourseResponse {
     public void setSections(List<SectionResponse> sections) {
         this.sections = sections;
     }
+
+    public Integer getSectionCount() {
+        return sectionCount;
+    }
+
+    public void setSectionCount(Integer sectionCount) {
+        this.sectionCount = sectionCount;
+    }
+
+    public Integer getLessonCount() {
+        return lessonCount;
+    }
+
+    public void setLessonCount(Integer lessonCount) {
+        this.lessonCount = lessonCount;
+    }
 }
\ No newline at end of file
@@ -11,24 +11,32 @@ import com.olp.domain.course.Section;
 import com.olp.domain.user.User;
 import com.olp.domain.course.CourseRepository;
 import com.olp.domain.enrollment.EnrollmentRepository;
+import com.olp.domain.enrollment.RosterEntry;
+import com.olp.domain.enrollment.RosterExporter;
+import com.olp.domain.enrollment.RosterFormat;
+import com.olp.domain.lesson.LessonOrdinalAllocator;
 import com.olp.domain.lesson.LessonRepository;
 import com.olp.domain.course.SectionRepository;
-import com.olp.domain.user.UserRepository;
+import com.olp.domain.catalog.CatalogReadModel;
+import com.olp.shared.id.UuidV7;
+import com.olp.shared.pagination.Cursor;
+import com.olp.shared.pagination.CursorPage;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -37,28 +45,42 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class CourseService {
 
     private final CourseRepository courseRepository;
-    private final UserRepository userRepository;
+    private final CurrentUser currentUser;
     private final EnrollmentRepository enrollmentRepository;
     private final LessonRepository lessonRepository;
     private final SectionRepository sectionRepository;
+    private final CourseTreeAssembler courseTreeAssembler;
+    private final CatalogReadModel catalogReadModel;
+    private final RosterExporter rosterExporter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LessonOrdinalAllocator ordinalAllocator;
     @Autowired
-    public CourseService(CourseRepository courseRepository, UserRepository userRepository,
+    public CourseService(CourseRepository courseRepository, CurrentUser currentUser,
             EnrollmentRepository enrollmentRepository, LessonRepository lessonRepository,
-            SectionRepository sectionRepository) {
+            SectionRepository sectionRepository, CourseTreeAssembler courseTreeAssembler,
+            CatalogReadModel catalogReadModel, RosterExporter rosterExporter,
+            ApplicationEventPublisher eventPublisher, LessonOrdinalAllocator ordinalAllocator) {
         this.courseRepository = courseRepository;
-        this.userRepository = userRepository;
+        this.currentUser = currentUser;
         this.enrollmentRepository = enrollmentRepository;
         this.lessonRepository = lessonRepository;
         this.sectionRepository = sectionRepository;
+        this.courseTreeAssembler = courseTreeAssembler;
+        this.catalogReadModel = catalogReadModel;
+        this.rosterExporter = rosterExporter;
+        this.eventPublisher = eventPublisher;
+        this.ordinalAllocator = ordinalAllocator;
     }
 
-    public Page<CourseResponse> getCourses(String tag, Pageable pageable) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public Page<CourseResponse> getCourses(String tag, CourseView view, Pageable pageable) {
+        AuthenticatedUser user = currentUser.get();
 
         Page<Course> courses;
         if (user.getRole() == User.Role.STUDENT) {
+            Optional<Page<CourseResponse>> cached = catalogReadModel.findPublished(tag, view, pageable);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
             courses = tag != null ? 
                 courseRepository.findByIsPublishedTrueAndTagsContaining(tag, pageable) :
                 courseRepository.findByIsPublishedTrue(pageable);
@@ -66,17 +88,33 @@ public class CourseService {
             courses = courseRepository.findAll(pageable);
         }
 
-        return courses.map(this::mapToResponse);
+        return courseTreeAssembler.assemble(courses, view);
+    }
+
+    public CursorPage<CourseResponse> getCoursesAfter(String tag, CourseView view, String cursor, int size) {
+        AuthenticatedUser user = currentUser.get();
+
+        Cursor after = Cursor.decode(cursor);
+        Pageable limit = CursorPage.fetchLimit(size);
+        List<Course> courses;
+        if (user.getRole() == User.Role.STUDENT) {
+            courses = tag != null ?
+                courseRepository.findPublishedByTagAfter(tag, after.timestamp(), after.id(), limit) :
+                courseRepository.findPublishedAfter(after.timestamp(), after.id(), limit);
+        } else {
+            courses = courseRepository.findAllAfter(after.timestamp(), after.id(), limit);
+        }
+
+        return CursorPage.of(courses, size, course -> new Cursor(course.getCreatedAt(), course.getId()),
+                page -> courseTreeAssembler.assemble(page, view));
     }
 
     @PreAuthorize("hasRole('INSTRUCTOR')")
     public CourseResponse createCourse(CourseRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = new Course();
-        course.setId(UUID.randomUUID().toString());
+        course.setId(UuidV7.next());
         course.setInstructorId(user.getId());
         course.setTitle(request.getTitle());
         course.setDescription(request.getDescription());
@@ -90,16 +128,15 @@ public class CourseService {
             createSectionsForCourse(course.getId(), request.getSections());
         }
         
-        return mapToResponse(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return courseTreeAssembler.assemble(course);
     }
 
     public CourseResponse updateCourse(String courseId, CourseRequest request) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
 
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         if (user.getRole() != User.Role.ADMIN && !course.getInstructorId().equals(user.getId())) {
             throw new RuntimeException("Access denied");
@@ -110,13 +147,12 @@ public class CourseService {
         course.setTags(request.getTags());
 
         course = courseRepository.save(course);
-        return mapToResponse(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return courseTreeAssembler.assemble(course);
     }
 
     public CourseResponse publishCourse(String courseId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -128,29 +164,57 @@ public class CourseService {
 
         course.setIsPublished(true);
         course = courseRepository.save(course);
-        return mapToResponse(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return courseTreeAssembler.assemble(course);
     }
 
     public CourseResponse getCourse(String courseId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
-        return mapToResponse(course);
+        return courseTreeAssembler.assemble(course);
     }
 
     @PreAuthorize("hasRole('INSTRUCTOR')")
-    public Page<CourseResponse> getInstructorCourses(Pageable pageable) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public Page<CourseResponse> getInstructorCourses(CourseView view, Pageable pageable) {
+        AuthenticatedUser user = currentUser.get();
 
         Page<Course> courses = courseRepository.findByInstructorId(user.getId(), pageable);
-        return courses.map(this::mapToResponse);
+        return courseTreeAssembler.assemble(courses, view);
+    }
+
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public CursorPage<CourseResponse> getInstructorCoursesAfter(CourseView view, String cursor, int size) {
+        AuthenticatedUser user = currentUser.get();
+
+        Cursor after = Cursor.decode(cursor);
+        List<Course> courses = courseRepository.findByInstructorIdAfter(user.getId(), after.timestamp(), after.id(),
+                CursorPage.fetchLimit(size));
+        return CursorPage.of(courses, size, course -> new Cursor(course.getCreatedAt(), course.getId()),
+                page -> courseTreeAssembler.assemble(page, view));
     }
 
     public Page<Map<String, Object>> getCourseStudents(String courseId, Pageable pageable) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        checkRosterAccess(courseId);
+        return enrollmentRepository.findRosterByCourseId(courseId, pageable).map(this::mapRosterEntry);
+    }
+
+    public CursorPage<Map<String, Object>> getCourseStudentsAfter(String courseId, String cursor, int size) {
+        checkRosterAccess(courseId);
+
+        Cursor after = Cursor.decode(cursor);
+        List<RosterEntry> roster = enrollmentRepository.findRosterByCourseIdAfter(courseId, after.timestamp(), after.id(),
+                CursorPage.fetchLimit(size));
+        return CursorPage.of(roster, size, entry -> new Cursor(entry.getEnrolledAt(), entry.getEnrollmentId()),
+                page -> page.stream().map(this::mapRosterEntry).toList());
+    }
+
+    public StreamingResponseBody exportCourseStudents(String courseId, RosterFormat format) {
+        checkRosterAccess(courseId);
+        return out -> rosterExporter.write(courseId, format, out);
+    }
+
+    private void checkRosterAccess(String courseId) {
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -158,36 +222,20 @@ public class CourseService {
         if (user.getRole() != User.Role.ADMIN && !course.getInstructorId().equals(user.getId())) {
             throw new RuntimeException("Access denied");
         }
+    }
 
-        List<String> studentIds = enrollmentRepository.findUserIdsByCourseId(courseId);
-        
-        if (studentIds.isEmpty()) {
-            return new PageImpl<>(List.of(), pageable, 0);
-        }
-        
-        List<User> students = userRepository.findByIdIn(studentIds);
-        
-        List<Map<String, Object>> studentData = students.stream()
-                .map(student -> {
-                    Map<String, Object> map = new java.util.HashMap<>();
-                    map.put("id", student.getId());
-                    map.put("username", student.getUsername());
-                    map.put("email", student.getEmail());
-                    return map;
-                })
-                .collect(Collectors.toList());
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), studentData.size());
-        List<Map<String, Object>> pageContent = studentData.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, studentData.size());
+    private Map<String, Object> mapRosterEntry(RosterEntry entry) {
+        Map<String, Object> map = new java.util.HashMap<>();
+        map.put("id", entry.getId());
+        map.put("username", entry.getUsername());
+        map.put("email", entry.getEmail());
+        return map;
     }
 
     private void createSectionsForCourse(String courseId, List<SectionRequest> sectionRequests) {
         for (SectionRequest sectionRequest : sectionRequests) {
             Section section = new Section();
-            section.setId(UUID.randomUUID().toString());
+            section.setId(UuidV7.next());
             section.setCourseId(courseId);
             section.setTitle(sectionRequest.getTitle());
             section.setDescription(sectionRequest.getDescription());
@@ -202,76 +250,23 @@ public class CourseService {
     }
 
     private void createLessonsForSection(String sectionId, String courseId, List<LessonRequest> lessonRequests) {
+        int ordinal = ordinalAllocator.reserve(courseId, lessonRequests.size());
         for (LessonRequest lessonRequest : lessonRequests) {
             Lesson lesson = new Lesson();
-            lesson.setId(UUID.randomUUID().toString());
+            lesson.setId(UuidV7.next());
             lesson.setCourseId(courseId);
             lesson.setSectionId(sectionId);
             lesson.setTitle(lessonRequest.getTitle());
             lesson.setContent(lessonRequest.getContent());
             lesson.setVideoUrl(lessonRequest.getVideoUrl());
             lesson.setSortOrder(lessonRequest.getSortOrder());
+            lesson.setOrdinal(ordinal++);
             lessonRepository.save(lesson);
         }
     }
 
-    private CourseResponse mapToResponse(Course course) {
-        CourseResponse response = new CourseResponse();
-        response.setId(course.getId());
-        response.setInstructorId(course.getInstructorId());
-        
-        // Get instructor name
-        userRepository.findById(course.getInstructorId()).ifPresent(instructor -> {
-            String instructorName = instructor.getFirstName() != null && instructor.getLastName() != null
-                ? instructor.getFirstName() + " " + instructor.getLastName()
-                : instructor.getUsername();
-            response.setInstructorName(instructorName);
-        });
-        
-        response.setTitle(course.getTitle());
-        response.setDescription(course.getDescription());
-        response.setIsPublished(course.getIsPublished());
-        response.setTags(course.getTags());
-        response.setCreatedAt(course.getCreatedAt());
-        response.setUpdatedAt(course.getUpdatedAt());
-        
-        // Load sections with lessons
-        List<Section> sections = sectionRepository.findByCourseIdOrderBySortOrder(course.getId());
-        response.setSections(sections.stream().map(this::mapSectionToResponse).collect(Collectors.toList()));
-        
-        return response;
-    }
-
-    private SectionResponse mapSectionToResponse(Section section) {
-        SectionResponse response = new SectionResponse();
-        response.setId(section.getId());
-        response.setCourseId(section.getCourseId());
-        response.setTitle(section.getTitle());
-        response.setDescription(section.getDescription());
-        response.setSortOrder(section.getSortOrder());
-        
-        // Load lessons for this section
-        List<Lesson> lessons = lessonRepository.findBySectionIdOrderBySortOrder(section.getId());
-        response.setLessons(lessons.stream().map(this::mapLessonToResponse).collect(Collectors.toList()));
-        
-        return response;
-    }
-
-    private com.olp.domain.lesson.LessonResponse mapLessonToResponse(Lesson lesson) {
-        com.olp.domain.lesson.LessonResponse response = new com.olp.domain.lesson.LessonResponse();
-        response.setId(lesson.getId());
-        response.setCourseId(lesson.getCourseId());
-        response.setTitle(lesson.getTitle());
-        response.setContent(lesson.getContent());
-        response.setVideoUrl(lesson.getVideoUrl());
-        response.setSortOrder(lesson.getSortOrder());
-        return response;
-    }
-
     public CourseResponse addLessonToCourse(String courseId, LessonRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -281,22 +276,22 @@ public class CourseService {
         }
 
         Lesson lesson = new Lesson();
-        lesson.setId(UUID.randomUUID().toString());
+        lesson.setId(UuidV7.next());
         lesson.setCourseId(courseId);
         lesson.setSectionId(request.getSectionId());
         lesson.setTitle(request.getTitle());
         lesson.setContent(request.getContent());
         lesson.setVideoUrl(request.getVideoUrl());
         lesson.setSortOrder(request.getSortOrder());
+        lesson.setOrdinal(ordinalAllocator.reserve(courseId, 1));
         lessonRepository.save(lesson);
 
-        return mapToResponse(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return courseTreeAssembler.assemble(course);
     }
 
     public CourseResponse updateLesson(String courseId, String lessonId, LessonRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -317,14 +312,13 @@ public class CourseService {
         }
         lessonRepository.save(lesson);
 
-        return mapToResponse(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return courseTreeAssembler.assemble(course);
     }
 
     @Transactional
     public CourseResponse deleteLesson(String courseId, String lessonId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -334,13 +328,12 @@ public class CourseService {
         }
 
         lessonRepository.deleteById(lessonId);
-        return mapToResponse(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return courseTreeAssembler.assemble(course);
     }
 
     public CourseResponse addSectionToCourse(String courseId, SectionRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -350,20 +343,19 @@ public class CourseService {
         }
 
         Section section = new Section();
-        section.setId(UUID.randomUUID().toString());
+        section.setId(UuidV7.next());
         section.setCourseId(courseId);
         section.setTitle(request.getTitle());
         section.setDescription(request.getDescription());
         section.setSortOrder(request.getSortOrder());
         sectionRepository.save(section);
 
-        return mapToResponse(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return courseTreeAssembler.assemble(course);
     }
 
     public CourseResponse updateSection(String courseId, String sectionId, SectionRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -380,14 +372,13 @@ public class CourseService {
         section.setSortOrder(request.getSortOrder());
         sectionRepository.save(section);
 
-        return mapToResponse(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return courseTreeAssembler.assemble(course);
     }
 
     @Transactional
     public CourseResponse deleteSection(String courseId, String sectionId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -398,14 +389,13 @@ public class CourseService {
 
         lessonRepository.deleteBySectionId(sectionId);
         sectionRepository.deleteById(sectionId);
-        return mapToResponse(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return courseTreeAssembler.assemble(course);
     }
 
     @Transactional
     public void deleteCourse(String courseId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -428,5 +418,6 @@ public class CourseService {
         
         // Delete the course
         courseRepository.deleteById(courseId);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,236 @@
+package com.olp.domain.course;
+
+import com.olp.domain.lesson.Lesson;
+import com.olp.domain.lesson.LessonOutline;
+import com.olp.domain.lesson.LessonRepository;
+import com.olp.domain.lesson.LessonResponse;
+import com.olp.domain.user.User;
+import com.olp.domain.user.UserRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link CourseResponse} trees for a batch of courses with a fixed number of queries
+ * (instructors, tags, then sections and lessons or their counts depending on the {@link CourseView})
+ * regardless of how many courses, sections or lessons are on the page.
+ */
+@Component
+public class CourseTreeAssembler {
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final SectionRepository sectionRepository;
+    private final LessonRepository lessonRepository;
+
+    public CourseTreeAssembler(UserRepository userRepository, CourseRepository courseRepository,
+                               SectionRepository sectionRepository, LessonRepository lessonRepository) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.sectionRepository = sectionRepository;
+        this.lessonRepository = lessonRepository;
+    }
+
+    public CourseResponse assemble(Course course) {
+        return assemble(List.of(course), CourseView.FULL).get(0);
+    }
+
+    public Page<CourseResponse> assemble(Page<Course> courses) {
+        return assemble(courses, CourseView.FULL);
+    }
+
+    public Page<CourseResponse> assemble(Page<Course> courses, CourseView view) {
+        return new PageImpl<>(assemble(courses.getContent(), view), courses.getPageable(), courses.getTotalElements());
+    }
+
+    public List<CourseResponse> assemble(List<Course> courses) {
+        return assemble(courses, CourseView.FULL);
+    }
+
+    public List<CourseResponse> assemble(List<Course> courses, CourseView view) {
+        if (courses.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> courseIds = courses.stream().map(Course::getId).toList();
+        List<String> instructorIds = courses.stream().map(Course::getInstructorId).distinct().toList();
+
+        Map<String, User> instructors = userRepository.findByIdIn(instructorIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Map<String, Set<String>> tagsByCourse = new HashMap<>();
+        for (Object[] row : courseRepository.findTagsByCourseIdIn(courseIds)) {
+            tagsByCourse.computeIfAbsent((String) row[0], id -> new LinkedHashSet<>()).add((String) row[1]);
+        }
+
+        List<CourseResponse> responses = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            CourseResponse response = mapCourseToResponse(course, instructors.get(course.getInstructorId()));
+            response.setTags(tagsByCourse.getOrDefault(course.getId(), new HashSet<>()));
+            responses.add(response);
+        }
+
+        if (view == CourseView.SUMMARY) {
+            attachCounts(responses, courseIds);
+        } else {
+            attachSections(responses, courseIds, view);
+        }
+        return responses;
+    }
+
+    /**
+     * Derives a lighter view from an already assembled {@link CourseView#FULL} response without
+     * touching the database.
+     */
+    public static CourseResponse project(CourseResponse full, CourseView view) {
+        if (view == CourseView.FULL) {
+            return full;
+        }
+
+        CourseResponse response = new CourseResponse();
+        response.setId(full.getId());
+        response.setInstructorId(full.getInstructorId());
+        response.setInstructorName(full.getInstructorName());
+        response.setTitle(full.getTitle());
+        response.setDescription(full.getDescription());
+        response.setIsPublished(full.getIsPublished());
+        response.setTags(full.getTags());
+        response.setCreatedAt(full.getCreatedAt());
+        response.setUpdatedAt(full.getUpdatedAt());
+        response.setSectionCount(full.getSectionCount());
+        response.setLessonCount(full.getLessonCount());
+
+        if (view == CourseView.OUTLINE) {
+            List<SectionResponse> sections = new ArrayList<>();
+            for (SectionResponse fullSection : full.getSections()) {
+                SectionResponse section = new SectionResponse();
+                section.setId(fullSection.getId());
+                section.setCourseId(fullSection.getCourseId());
+                section.setTitle(fullSection.getTitle());
+                section.setSortOrder(fullSection.getSortOrder());
+                List<LessonResponse> lessons = new ArrayList<>();
+                for (LessonResponse fullLesson : fullSection.getLessons()) {
+                    LessonResponse lesson = new LessonResponse();
+                    lesson.setId(fullLesson.getId());
+                    lesson.setCourseId(fullLesson.getCourseId());
+                    lesson.setTitle(fullLesson.getTitle());
+                    lesson.setSortOrder(fullLesson.getSortOrder());
+                    lessons.add(lesson);
+                }
+                section.setLessons(lessons);
+                sections.add(section);
+            }
+            response.setSections(sections);
+        }
+        return response;
+    }
+
+    private void attachCounts(List<CourseResponse> responses, List<String> courseIds) {
+        Map<String, Integer> sectionCounts = toCountMap(sectionRepository.countByCourseIdIn(courseIds));
+        Map<String, Integer> lessonCounts = toCountMap(lessonRepository.countSectionLessonsByCourseIdIn(courseIds));
+        for (CourseResponse response : responses) {
+            response.setSectionCount(sectionCounts.getOrDefault(response.getId(), 0));
+            response.setLessonCount(lessonCounts.getOrDefault(response.getId(), 0));
+        }
+    }
+
+    private void attachSections(List<CourseResponse> responses, List<String> courseIds, CourseView view) {
+        List<Section> sections = sectionRepository.findByCourseIdInOrderBySortOrder(courseIds);
+        Map<String, List<LessonResponse>> lessonsBySection = new HashMap<>();
+        if (!sections.isEmpty()) {
+            List<String> sectionIds = sections.stream().map(Section::getId).toList();
+            if (view == CourseView.OUTLINE) {
+                for (LessonOutline lesson : lessonRepository.findOutlineBySectionIdInOrderBySortOrder(sectionIds)) {
+                    lessonsBySection.computeIfAbsent(lesson.getSectionId(), id -> new ArrayList<>())
+                            .add(mapLessonOutlineToResponse(lesson));
+                }
+            } else {
+                for (Lesson lesson : lessonRepository.findBySectionIdInOrderBySortOrder(sectionIds)) {
+                    lessonsBySection.computeIfAbsent(lesson.getSectionId(), id -> new ArrayList<>())
+                            .add(mapLessonToResponse(lesson));
+                }
+            }
+        }
+
+        Map<String, List<SectionResponse>> sectionsByCourse = new HashMap<>();
+        for (Section section : sections) {
+            SectionResponse response = mapSectionToResponse(section, view);
+            response.setLessons(lessonsBySection.getOrDefault(section.getId(), new ArrayList<>()));
+            sectionsByCourse.computeIfAbsent(section.getCourseId(), id -> new ArrayList<>()).add(response);
+        }
+
+        for (CourseResponse response : responses) {
+            List<SectionResponse> courseSections = sectionsByCourse.getOrDefault(response.getId(), new ArrayList<>());
+            response.setSections(courseSections);
+            response.setSectionCount(courseSections.size());
+            response.setLessonCount(courseSections.stream().mapToInt(section -> section.getLessons().size()).sum());
+        }
+    }
+
+    private static Map<String, Integer> toCountMap(List<Object[]> rows) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
+
+    private CourseResponse mapCourseToResponse(Course course, User instructor) {
+        CourseResponse response = new CourseResponse();
+        response.setId(course.getId());
+        response.setInstructorId(course.getInstructorId());
+        if (instructor != null) {
+            response.setInstructorName(instructor.getFirstName() != null && instructor.getLastName() != null
+                    ? instructor.getFirstName() + " " + instructor.getLastName()
+                    : instructor.getUsername());
+        }
+        response.setTitle(course.getTitle());
+        response.setDescription(course.getDescription());
+        response.setIsPublished(course.getIsPublished());
+        response.setCreatedAt(course.getCreatedAt());
+        response.setUpdatedAt(course.getUpdatedAt());
+        return response;
+    }
+
+    private SectionResponse mapSectionToResponse(Section section, CourseView view) {
+        SectionResponse response = new SectionResponse();
+        response.setId(section.getId());
+        response.setCourseId(section.getCourseId());
+        response.setTitle(section.getTitle());
+        if (view == CourseView.FULL) {
+            response.setDescription(section.getDescription());
+        }
+        response.setSortOrder(section.getSortOrder());
+        return response;
+    }
+
+    private LessonResponse mapLessonToResponse(Lesson lesson) {
+        LessonResponse response = new LessonResponse();
+        response.setId(lesson.getId());
+        response.setCourseId(lesson.getCourseId());
+        response.setTitle(lesson.getTitle());
+        response.setContent(lesson.getContent());
+        response.setVideoUrl(lesson.getVideoUrl());
+        response.setSortOrder(lesson.getSortOrder());
+        return response;
+    }
+
+    private LessonResponse mapLessonOutlineToResponse(LessonOutline lesson) {
+        LessonResponse response = new LessonResponse();
+        response.setId(lesson.getId());
+        response.setCourseId(lesson.getCourseId());
+        response.setTitle(lesson.getTitle());
+        response.setSortOrder(lesson.getSortOrder());
+        return response;
+    }
+}
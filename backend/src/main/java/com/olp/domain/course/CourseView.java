@@ -0,0 +1,18 @@
+package com.olp.domain.course;
+
+/**
+ * How much of the course tree a listing returns: {@code SUMMARY} has course fields plus section and
+ * lesson counts, {@code OUTLINE} adds section and lesson titles, {@code FULL} includes lesson bodies.
+ */
+public enum CourseView {
+    SUMMARY, OUTLINE, FULL;
+
+    public static CourseView from(String value) {
+        for (CourseView view : values()) {
+            if (view.name().equalsIgnoreCase(value)) {
+                return view;
+            }
+        }
+        throw new RuntimeException("Invalid view: " + value + " (expected summary, outline or full)");
+    }
+}
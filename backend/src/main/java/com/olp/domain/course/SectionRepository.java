@@ -3,14 +3,21 @@ package com.olp.domain.course;
 import com.olp.domain.course.Section;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SectionRepository extends JpaRepository<Section, String> {
     List<Section> findByCourseIdOrderBySortOrder(String courseId);
+    List<Section> findByCourseIdInOrderBySortOrder(Collection<String> courseIds);
+
+    @Query("SELECT s.courseId, COUNT(s) FROM Section s WHERE s.courseId IN :courseIds GROUP BY s.courseId")
+    List<Object[]> countByCourseIdIn(@Param("courseIds") Collection<String> courseIds);
     
     @Modifying
     @Transactional
@@ -0,0 +1,22 @@
+package com.olp.domain.dashboard;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DashboardCourseResponse>> getDashboard() {
+        return ResponseEntity.ok(dashboardService.getDashboard());
+    }
+}
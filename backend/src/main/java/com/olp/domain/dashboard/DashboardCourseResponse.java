@@ -0,0 +1,42 @@
+package com.olp.domain.dashboard;
+
+import com.olp.domain.course.CourseResponse;
+
+import java.time.LocalDateTime;
+
+public class DashboardCourseResponse {
+    private CourseResponse course;
+    private LocalDateTime enrolledAt;
+    private Integer completedItems;
+    private Integer totalItems;
+    private Double progressPercent;
+    private String nextLessonId;
+    private String nextLessonTitle;
+    private String certificateStatus;
+    private String certificateNumber;
+    private LocalDateTime certificateIssuedAt;
+    private Integer remainingRequirements;
+
+    public CourseResponse getCourse() { return course; }
+    public void setCourse(CourseResponse course) { this.course = course; }
+    public LocalDateTime getEnrolledAt() { return enrolledAt; }
+    public void setEnrolledAt(LocalDateTime enrolledAt) { this.enrolledAt = enrolledAt; }
+    public Integer getCompletedItems() { return completedItems; }
+    public void setCompletedItems(Integer completedItems) { this.completedItems = completedItems; }
+    public Integer getTotalItems() { return totalItems; }
+    public void setTotalItems(Integer totalItems) { this.totalItems = totalItems; }
+    public Double getProgressPercent() { return progressPercent; }
+    public void setProgressPercent(Double progressPercent) { this.progressPercent = progressPercent; }
+    public String getNextLessonId() { return nextLessonId; }
+    public void setNextLessonId(String nextLessonId) { this.nextLessonId = nextLessonId; }
+    public String getNextLessonTitle() { return nextLessonTitle; }
+    public void setNextLessonTitle(String nextLessonTitle) { this.nextLessonTitle = nextLessonTitle; }
+    public String getCertificateStatus() { return certificateStatus; }
+    public void setCertificateStatus(String certificateStatus) { this.certificateStatus = certificateStatus; }
+    public String getCertificateNumber() { return certificateNumber; }
+    public void setCertificateNumber(String certificateNumber) { this.certificateNumber = certificateNumber; }
+    public LocalDateTime getCertificateIssuedAt() { return certificateIssuedAt; }
+    public void setCertificateIssuedAt(LocalDateTime certificateIssuedAt) { this.certificateIssuedAt = certificateIssuedAt; }
+    public Integer getRemainingRequirements() { return remainingRequirements; }
+    public void setRemainingRequirements(Integer remainingRequirements) { this.remainingRequirements = remainingRequirements; }
+}
@@ -0,0 +1,126 @@
+package com.olp.domain.dashboard;
+
+import com.olp.domain.certificate.Certificate;
+import com.olp.domain.certificate.CertificateRepository;
+import com.olp.domain.course.CourseRepository;
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.course.CourseTreeAssembler;
+import com.olp.domain.course.CourseView;
+import com.olp.domain.enrollment.Enrollment;
+import com.olp.domain.enrollment.EnrollmentRepository;
+import com.olp.domain.lesson.LessonOutline;
+import com.olp.domain.lesson.LessonRepository;
+import com.olp.domain.progress.ProgressResponse;
+import com.olp.domain.progress.ProgressService;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Everything the "My Courses" page shows for each of the student's enrollments, in one request. After
+ * the enrollments are read, the course summaries, progress rows, lesson order and certificates are each
+ * fetched with one set-based query over all enrolled courses, one after another on the request thread
+ * so a dashboard holds a single connection. Progress rows that do not exist yet are built one course at
+ * a time, so a first visit costs an extra transaction per course without a row.
+ */
+@Service
+public class DashboardService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final CourseTreeAssembler courseTreeAssembler;
+    private final LessonRepository lessonRepository;
+    private final CertificateRepository certificateRepository;
+    private final ProgressService progressService;
+    private final CurrentUser currentUser;
+
+    public DashboardService(EnrollmentRepository enrollmentRepository, CourseRepository courseRepository,
+                            CourseTreeAssembler courseTreeAssembler, LessonRepository lessonRepository,
+                            CertificateRepository certificateRepository, ProgressService progressService,
+                            CurrentUser currentUser) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseRepository = courseRepository;
+        this.courseTreeAssembler = courseTreeAssembler;
+        this.lessonRepository = lessonRepository;
+        this.certificateRepository = certificateRepository;
+        this.progressService = progressService;
+        this.currentUser = currentUser;
+    }
+
+    @PreAuthorize("hasRole('STUDENT')")
+    public List<DashboardCourseResponse> getDashboard() {
+        AuthenticatedUser user = currentUser.get();
+        String userId = user.getId();
+
+        List<Enrollment> enrollments = enrollmentRepository.findByUserId(userId);
+        if (enrollments.isEmpty()) {
+            return List.of();
+        }
+        List<String> courseIds = enrollments.stream().map(Enrollment::getCourseId).distinct().toList();
+
+        Map<String, CourseResponse> coursesById = courseTreeAssembler
+                .assemble(courseRepository.findAllById(courseIds), CourseView.SUMMARY).stream()
+                .collect(Collectors.toMap(CourseResponse::getId, Function.identity()));
+        Map<String, ProgressResponse> progressByCourse = progressService.getCourseProgress(userId, courseIds);
+        Map<String, List<LessonOutline>> lessonsByCourse = lessonRepository.findOutlineByCourseIdInInCourseOrder(courseIds)
+                .stream()
+                .collect(Collectors.groupingBy(LessonOutline::getCourseId));
+        Map<String, Certificate> certificatesByCourse = new HashMap<>();
+        for (Certificate certificate : certificateRepository.findByUserId(userId)) {
+            certificatesByCourse.putIfAbsent(certificate.getCourseId(), certificate);
+        }
+
+        List<DashboardCourseResponse> responses = new ArrayList<>(enrollments.size());
+        enrollments.stream()
+                .sorted(Comparator.comparing(Enrollment::getEnrolledAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                .forEach(enrollment -> {
+                    CourseResponse course = coursesById.get(enrollment.getCourseId());
+                    if (course == null) {
+                        return;
+                    }
+                    DashboardCourseResponse response = new DashboardCourseResponse();
+                    response.setCourse(course);
+                    response.setEnrolledAt(enrollment.getEnrolledAt());
+                    response.setRemainingRequirements(enrollment.getRemainingRequirements());
+
+                    ProgressResponse courseProgress = progressByCourse.get(course.getId());
+                    response.setCompletedItems(courseProgress.getCompletedLessons());
+                    response.setTotalItems(courseProgress.getTotalLessons());
+                    response.setProgressPercent(courseProgress.getProgressPercent());
+
+                    Set<String> completed = new HashSet<>(courseProgress.getCompletedLessonIds());
+                    lessonsByCourse.getOrDefault(course.getId(), List.of()).stream()
+                            .filter(lesson -> !completed.contains(lesson.getId()))
+                            .findFirst()
+                            .ifPresent(lesson -> {
+                                response.setNextLessonId(lesson.getId());
+                                response.setNextLessonTitle(lesson.getTitle());
+                            });
+
+                    Certificate certificate = certificatesByCourse.get(course.getId());
+                    if (certificate != null) {
+                        response.setCertificateStatus("EARNED");
+                        response.setCertificateNumber(certificate.getCertificateNumber());
+                        response.setCertificateIssuedAt(certificate.getIssueDate());
+                    } else if (Integer.valueOf(0).equals(enrollment.getRemainingRequirements())) {
+                        // Every requirement is met; CertificateIssuer has the certificate queued
+                        response.setCertificateStatus("ISSUING");
+                    } else {
+                        response.setCertificateStatus("IN_PROGRESS");
+                    }
+                    responses.add(response);
+                });
+        return responses;
+    }
+}
@@ -0,0 +1,8 @@
+package com.olp.domain.enrollment;
+
+/**
+ * Published when an enrollment has no remaining requirements left, i.e. every lesson is completed and
+ * every section quiz passed.
+ */
+public record CourseCompletedEvent(String userId, String courseId) {
+}
@@ -22,6 +22,9 @@ public class Enrollment {
     @Column(name = "enrolled_at")
     private LocalDateTime enrolledAt;
 
+    @Column(name = "remaining_requirements")
+    private Integer remainingRequirements;
+
     public Enrollment() {}
 
     public String getId() { return id; }
@@ -32,4 +35,6 @@ public class Enrollment {
     public void setUserId(String userId) { this.userId = userId; }
     public LocalDateTime getEnrolledAt() { return enrolledAt; }
     public void setEnrolledAt(LocalDateTime enrolledAt) { this.enrolledAt = enrolledAt; }
+    public Integer getRemainingRequirements() { return remainingRequirements; }
+    public void setRemainingRequirements(Integer remainingRequirements) { this.remainingRequirements = remainingRequirements; }
 }
\ No newline at end of file
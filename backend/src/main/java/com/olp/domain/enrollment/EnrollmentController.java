@@ -1,7 +1,9 @@
 package com.olp.domain.enrollment;
 
 import com.olp.domain.course.CourseResponse;
+import com.olp.domain.course.CourseView;
 import com.olp.domain.enrollment.EnrollmentService;
+import com.olp.shared.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,8 +29,17 @@ public class EnrollmentController {
     @GetMapping("/enrolled")
     public ResponseEntity<Page<CourseResponse>> getEnrolledCourses(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "full") String view) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(enrollmentService.getEnrolledCourses(pageable));
+        return ResponseEntity.ok(enrollmentService.getEnrolledCourses(CourseView.from(view), pageable));
+    }
+
+    @GetMapping("/enrolled/cursor")
+    public ResponseEntity<CursorPage<CourseResponse>> getEnrolledCoursesAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "full") String view) {
+        return ResponseEntity.ok(enrollmentService.getEnrolledCoursesAfter(CourseView.from(view), cursor, size));
     }
 }
\ No newline at end of file
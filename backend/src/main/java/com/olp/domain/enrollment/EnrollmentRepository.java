@@ -1,6 +1,8 @@
 package com.olp.domain.enrollment;
 
 import com.olp.domain.enrollment.Enrollment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +26,22 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, String>
     @Query("SELECT e.userId FROM Enrollment e WHERE e.courseId = :courseId")
     List<String> findUserIdsByCourseId(@Param("courseId") String courseId);
     
+    @Query(value = "SELECT e.id AS enrollmentId, e.enrolledAt AS enrolledAt, u.id AS id, u.username AS username, u.email AS email " +
+                   "FROM Enrollment e, User u WHERE u.id = e.userId AND e.courseId = :courseId ORDER BY e.enrolledAt, e.id",
+           countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.courseId = :courseId")
+    Page<RosterEntry> findRosterByCourseId(@Param("courseId") String courseId, Pageable pageable);
+    
+    @Query("SELECT e.id AS enrollmentId, e.enrolledAt AS enrolledAt, u.id AS id, u.username AS username, u.email AS email " +
+           "FROM Enrollment e, User u WHERE u.id = e.userId AND e.courseId = :courseId " +
+           "AND (e.enrolledAt > :enrolledAt OR (e.enrolledAt = :enrolledAt AND e.id > :id)) ORDER BY e.enrolledAt, e.id")
+    List<RosterEntry> findRosterByCourseIdAfter(@Param("courseId") String courseId, @Param("enrolledAt") LocalDateTime enrolledAt,
+                                                @Param("id") String id, Pageable limit);
+    
+    @Query("SELECT e FROM Enrollment e WHERE e.userId = :userId " +
+           "AND (e.enrolledAt > :enrolledAt OR (e.enrolledAt = :enrolledAt AND e.id > :id)) ORDER BY e.enrolledAt, e.id")
+    List<Enrollment> findByUserIdAfter(@Param("userId") String userId, @Param("enrolledAt") LocalDateTime enrolledAt,
+                                       @Param("id") String id, Pageable limit);
+    
     @Modifying
     @Transactional
     void deleteByCourseId(String courseId);
@@ -0,0 +1,136 @@
+package com.olp.domain.enrollment;
+
+import com.olp.domain.certificate.CertificateEligibility;
+import com.olp.domain.certificate.CertificateEligibilityEvaluator;
+import com.olp.domain.course.CourseChangedEvent;
+import com.olp.domain.progress.LessonCompletedEvent;
+import com.olp.domain.quiz.QuizChangedEvent;
+import com.olp.domain.quiz.QuizPassedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps {@code enrollments.remaining_requirements} equal to the lessons a student has not completed plus
+ * the section quizzes they have not passed. First completions decrement it inside the transaction that
+ * recorded them; new enrollments and course or quiz edits count it from scratch with the
+ * {@link CertificateEligibilityEvaluator}, whatever the lesson completion storage. Whenever an enrollment reaches zero a
+ * {@link CourseCompletedEvent} is published.
+ *
+ * <p>Recounts run after the edit has committed, so they write in a transaction of their own; joining the
+ * committed one would silently drop the new counts and the completion events.
+ */
+@Component
+public class EnrollmentRequirementTracker {
+
+    private static final String LOCK_ENROLLMENTS = "SELECT user_id FROM enrollments WHERE course_id = ? FOR UPDATE";
+    private static final String SET_REMAINING =
+            "UPDATE enrollments SET remaining_requirements = ? WHERE course_id = ? AND user_id = ?";
+    private static final String DECREMENT =
+            "UPDATE enrollments SET remaining_requirements = remaining_requirements - 1 " +
+            "WHERE course_id = ? AND user_id = ? AND remaining_requirements > 0";
+    private static final String SELECT_REMAINING =
+            "SELECT remaining_requirements FROM enrollments WHERE course_id = ? AND user_id = ?";
+    private static final String SELECT_COMPLETED_WITHOUT_CERTIFICATE =
+            "SELECT e.user_id FROM enrollments e " +
+            "LEFT JOIN certificate c ON c.user_id = e.user_id AND c.course_id = e.course_id " +
+            "WHERE e.course_id = ? AND e.remaining_requirements = 0 AND c.id IS NULL";
+
+    private static final String LESSON_COURSE_SQL =
+            "SELECT s.course_id FROM lessons l JOIN sections s ON s.id = l.section_id WHERE l.id = ?";
+    private static final String QUIZ_COURSE_SQL =
+            "SELECT s.course_id FROM section_quiz q JOIN sections s ON s.id = q.section_id WHERE q.id = ?";
+    private static final String SECTION_COURSE_SQL = "SELECT course_id FROM sections WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CertificateEligibilityEvaluator eligibilityEvaluator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EnrollmentRequirementTracker(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                        CertificateEligibilityEvaluator eligibilityEvaluator,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eligibilityEvaluator = eligibilityEvaluator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Counts the requirements of a new enrollment from scratch; progress made before enrolling counts.
+     * Call in the transaction that inserted the enrollment, which keeps its row locked meanwhile.
+     */
+    public void initialize(String courseId, String userId) {
+        jdbcTemplate.update(SET_REMAINING, remaining(eligibilityEvaluator.evaluate(courseId, userId)), courseId, userId);
+        publishIfComplete(courseId, userId);
+    }
+
+    @EventListener
+    public void onLessonCompleted(LessonCompletedEvent event) {
+        courseOf(LESSON_COURSE_SQL, event.lessonId()).ifPresent(courseId -> decrement(courseId, event.userId()));
+    }
+
+    @EventListener
+    public void onQuizPassed(QuizPassedEvent event) {
+        courseOf(QUIZ_COURSE_SQL, event.quizId()).ifPresent(courseId -> decrement(courseId, event.userId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        recount(event.courseId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        courseOf(SECTION_COURSE_SQL, event.sectionId()).ifPresent(this::recount);
+    }
+
+    private void decrement(String courseId, String userId) {
+        if (jdbcTemplate.update(DECREMENT, courseId, userId) > 0) {
+            publishIfComplete(courseId, userId);
+        }
+    }
+
+    // Enrollment rows are locked before anything is read, so a decrement racing with the recount either
+    // lands first and is counted, or waits and applies on top of the new value. Completion events are
+    // published inside the transaction so they are delivered when it commits.
+    private void recount(String courseId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> userIds = jdbcTemplate.queryForList(LOCK_ENROLLMENTS, String.class, courseId);
+            if (userIds.isEmpty()) {
+                return;
+            }
+            List<Object[]> updates = eligibilityEvaluator.evaluate(courseId, userIds).values().stream()
+                    .map(eligibility -> new Object[]{remaining(eligibility), courseId, eligibility.userId()})
+                    .toList();
+            jdbcTemplate.batchUpdate(SET_REMAINING, updates);
+            for (String userId : jdbcTemplate.queryForList(SELECT_COMPLETED_WITHOUT_CERTIFICATE, String.class, courseId)) {
+                eventPublisher.publishEvent(new CourseCompletedEvent(userId, courseId));
+            }
+        });
+    }
+
+    private void publishIfComplete(String courseId, String userId) {
+        List<Integer> remaining = jdbcTemplate.queryForList(SELECT_REMAINING, Integer.class, courseId, userId);
+        if (!remaining.isEmpty() && remaining.get(0) != null && remaining.get(0) == 0) {
+            eventPublisher.publishEvent(new CourseCompletedEvent(userId, courseId));
+        }
+    }
+
+    private static int remaining(CertificateEligibility eligibility) {
+        return eligibility.missingLessonIds().size() + eligibility.missingQuizIds().size();
+    }
+
+    private Optional<String> courseOf(String sql, String id) {
+        return jdbcTemplate.queryForList(sql, String.class, id).stream().findFirst();
+    }
+}
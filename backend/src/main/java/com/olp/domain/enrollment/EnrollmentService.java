@@ -2,38 +2,50 @@ package com.olp.domain.enrollment;
 
 import com.olp.domain.course.CourseResponse;
 import com.olp.domain.course.Course;
+import com.olp.domain.course.CourseTreeAssembler;
+import com.olp.domain.course.CourseView;
 import com.olp.domain.enrollment.Enrollment;
-import com.olp.domain.user.User;
 import com.olp.domain.course.CourseRepository;
 import com.olp.domain.enrollment.EnrollmentRepository;
-import com.olp.domain.user.UserRepository;
+import com.olp.shared.id.UuidV7;
+import com.olp.shared.pagination.Cursor;
+import com.olp.shared.pagination.CursorPage;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class EnrollmentService {
 
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
-    private final UserRepository userRepository;
+    private final CurrentUser currentUser;
+    private final CourseTreeAssembler courseTreeAssembler;
+    private final EnrollmentRequirementTracker requirementTracker;
 
-    public EnrollmentService(EnrollmentRepository enrollmentRepository, CourseRepository courseRepository, UserRepository userRepository) {
+    public EnrollmentService(EnrollmentRepository enrollmentRepository, CourseRepository courseRepository, CurrentUser currentUser,
+                             CourseTreeAssembler courseTreeAssembler, EnrollmentRequirementTracker requirementTracker) {
         this.enrollmentRepository = enrollmentRepository;
         this.courseRepository = courseRepository;
-        this.userRepository = userRepository;
+        this.currentUser = currentUser;
+        this.courseTreeAssembler = courseTreeAssembler;
+        this.requirementTracker = requirementTracker;
     }
 
     @PreAuthorize("hasRole('STUDENT')")
+    @Transactional
     public void enrollInCourse(String courseId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -47,35 +59,38 @@ public class EnrollmentService {
         }
 
         Enrollment enrollment = new Enrollment();
-        enrollment.setId(UUID.randomUUID().toString());
+        enrollment.setId(UuidV7.next());
         enrollment.setCourseId(courseId);
         enrollment.setUserId(user.getId());
 
-        enrollmentRepository.save(enrollment);
+        enrollmentRepository.saveAndFlush(enrollment);
+        requirementTracker.initialize(courseId, user.getId());
     }
 
     @PreAuthorize("hasRole('STUDENT')")
-    public Page<CourseResponse> getEnrolledCourses(Pageable pageable) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public Page<CourseResponse> getEnrolledCourses(CourseView view, Pageable pageable) {
+        AuthenticatedUser user = currentUser.get();
 
         List<String> courseIds = enrollmentRepository.findCourseIdsByUserId(user.getId());
         Page<Course> courses = courseRepository.findByIdIn(courseIds, pageable);
         
-        return courses.map(this::mapToResponse);
+        return courseTreeAssembler.assemble(courses, view);
     }
 
-    private CourseResponse mapToResponse(Course course) {
-        CourseResponse response = new CourseResponse();
-        response.setId(course.getId());
-        response.setInstructorId(course.getInstructorId());
-        response.setTitle(course.getTitle());
-        response.setDescription(course.getDescription());
-        response.setIsPublished(course.getIsPublished());
-        response.setTags(course.getTags());
-        response.setCreatedAt(course.getCreatedAt());
-        response.setUpdatedAt(course.getUpdatedAt());
-        return response;
+    @PreAuthorize("hasRole('STUDENT')")
+    public CursorPage<CourseResponse> getEnrolledCoursesAfter(CourseView view, String cursor, int size) {
+        AuthenticatedUser user = currentUser.get();
+
+        Cursor after = Cursor.decode(cursor);
+        List<Enrollment> enrollments = enrollmentRepository.findByUserIdAfter(user.getId(), after.timestamp(), after.id(),
+                CursorPage.fetchLimit(size));
+        return CursorPage.of(enrollments, size, enrollment -> new Cursor(enrollment.getEnrolledAt(), enrollment.getId()),
+                page -> {
+                    Map<String, Course> courses = courseRepository.findAllById(page.stream().map(Enrollment::getCourseId).toList())
+                            .stream().collect(Collectors.toMap(Course::getId, Function.identity()));
+                    List<Course> ordered = page.stream().map(enrollment -> courses.get(enrollment.getCourseId()))
+                            .filter(Objects::nonNull).toList();
+                    return courseTreeAssembler.assemble(ordered, view);
+                });
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.olp.domain.enrollment;
+
+import java.time.LocalDateTime;
+
+public interface RosterEntry {
+    String getEnrollmentId();
+    LocalDateTime getEnrolledAt();
+    String getId();
+    String getUsername();
+    String getEmail();
+}
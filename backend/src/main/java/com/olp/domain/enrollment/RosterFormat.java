@@ -0,0 +1,28 @@
+package com.olp.domain.enrollment;
+
+import org.springframework.http.MediaType;
+
+public enum RosterFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    RosterFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() { return mediaType; }
+    public String getExtension() { return extension; }
+
+    public static RosterFormat from(String value) {
+        for (RosterFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new RuntimeException("Invalid format: " + value + " (expected csv or ndjson)");
+    }
+}
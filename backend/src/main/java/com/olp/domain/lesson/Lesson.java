@@ -27,6 +27,10 @@ public class Lesson {
     @Column(name = "sort_order", nullable = false)
     private Integer sortOrder;
 
+    // Reserved from LessonOrdinalAllocator when the lesson is created and never changed afterwards
+    @Column(name = "ordinal", updatable = false)
+    private Integer ordinal;
+
     public Lesson() {}
 
     public String getId() { return id; }
@@ -43,4 +47,6 @@ public class Lesson {
     public void setVideoUrl(String videoUrl) { this.videoUrl = videoUrl; }
     public Integer getSortOrder() { return sortOrder; }
     public void setSortOrder(Integer sortOrder) { this.sortOrder = sortOrder; }
+    public Integer getOrdinal() { return ordinal; }
+    public void setOrdinal(Integer ordinal) { this.ordinal = ordinal; }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.olp.domain.lesson;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands out lesson ordinals from {@code courses.next_lesson_ordinal}. An ordinal identifies a lesson
+ * within its course for progress bitmaps; it is assigned once, never changes and is never reused after
+ * the lesson is deleted. Both methods lock the course row, so they join the caller's transaction when
+ * there is one.
+ */
+@Component
+public class LessonOrdinalAllocator {
+
+    private static final String LOCK_COURSE = "SELECT next_lesson_ordinal FROM courses WHERE id = ? FOR UPDATE";
+    private static final String SET_NEXT = "UPDATE courses SET next_lesson_ordinal = ? WHERE id = ?";
+    private static final String UNNUMBERED =
+            "SELECT id FROM lessons WHERE course_id = ? AND ordinal IS NULL ORDER BY sort_order, id";
+    private static final String SET_ORDINAL = "UPDATE lessons SET ordinal = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LessonOrdinalAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reserves {@code count} consecutive ordinals in the course and returns the first one.
+     */
+    public int reserve(String courseId, int count) {
+        Integer first = transactionTemplate.execute(status -> {
+            int next = lockCourse(courseId);
+            jdbcTemplate.update(SET_NEXT, next + count, courseId);
+            return next;
+        });
+        return first != null ? first : 0;
+    }
+
+    /**
+     * Numbers the course's lessons that were inserted without an ordinal, in sort order.
+     */
+    public void assignMissing(String courseId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int next = lockCourse(courseId);
+            List<String> unnumbered = jdbcTemplate.queryForList(UNNUMBERED, String.class, courseId);
+            if (unnumbered.isEmpty()) {
+                return;
+            }
+            List<Object[]> updates = new ArrayList<>(unnumbered.size());
+            for (String lessonId : unnumbered) {
+                updates.add(new Object[]{next++, lessonId});
+            }
+            jdbcTemplate.batchUpdate(SET_ORDINAL, updates);
+            jdbcTemplate.update(SET_NEXT, next, courseId);
+        });
+    }
+
+    private int lockCourse(String courseId) {
+        List<Integer> next = jdbcTemplate.queryForList(LOCK_COURSE, Integer.class, courseId);
+        if (next.isEmpty()) {
+            throw new RuntimeException("Course not found");
+        }
+        return next.get(0);
+    }
+}
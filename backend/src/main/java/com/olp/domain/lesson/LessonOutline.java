@@ -0,0 +1,9 @@
+package com.olp.domain.lesson;
+
+public interface LessonOutline {
+    String getId();
+    String getCourseId();
+    String getSectionId();
+    String getTitle();
+    Integer getSortOrder();
+}
@@ -2,14 +2,28 @@ package com.olp.domain.lesson;
 
 import com.olp.domain.lesson.Lesson;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, String> {
     List<Lesson> findByCourseIdOrderBySortOrder(String courseId);
     List<Lesson> findBySectionIdOrderBySortOrder(String sectionId);
+    List<Lesson> findBySectionIdInOrderBySortOrder(Collection<String> sectionIds);
+    List<LessonOutline> findOutlineBySectionIdInOrderBySortOrder(Collection<String> sectionIds);
+
+    @Query("SELECT l.id AS id, l.courseId AS courseId, l.sectionId AS sectionId, l.title AS title, l.sortOrder AS sortOrder " +
+           "FROM Lesson l, Section s WHERE s.id = l.sectionId AND l.courseId IN :courseIds " +
+           "ORDER BY l.courseId, s.sortOrder, l.sortOrder")
+    List<LessonOutline> findOutlineByCourseIdInInCourseOrder(@Param("courseIds") Collection<String> courseIds);
+
+    @Query("SELECT l.courseId, COUNT(l) FROM Lesson l WHERE l.courseId IN :courseIds AND l.sectionId IS NOT NULL GROUP BY l.courseId")
+    List<Object[]> countSectionLessonsByCourseIdIn(@Param("courseIds") Collection<String> courseIds);
+
     void deleteByCourseId(String courseId);
     void deleteBySectionId(String sectionId);
 }
\ No newline at end of file
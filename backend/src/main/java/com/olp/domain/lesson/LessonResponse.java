@@ -1,10 +1,14 @@
 package com.olp.domain.lesson;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class LessonResponse {
     private String id;
     private String courseId;
     private String title;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String content;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String videoUrl;
     private Integer sortOrder;
 
@@ -7,9 +7,9 @@ import com.olp.domain.user.User;
 import com.olp.domain.course.CourseRepository;
 import com.olp.domain.enrollment.EnrollmentRepository;
 import com.olp.domain.lesson.LessonRepository;
-import com.olp.domain.user.UserRepository;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,23 +18,21 @@ public class LessonService {
     private final LessonRepository lessonRepository;
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
-    private final UserRepository userRepository;
+    private final CurrentUser currentUser;
 
     public LessonService(LessonRepository lessonRepository, CourseRepository courseRepository, 
-                        EnrollmentRepository enrollmentRepository, UserRepository userRepository) {
+                        EnrollmentRepository enrollmentRepository, CurrentUser currentUser) {
         this.lessonRepository = lessonRepository;
         this.courseRepository = courseRepository;
         this.enrollmentRepository = enrollmentRepository;
-        this.userRepository = userRepository;
+        this.currentUser = currentUser;
     }
 
     public LessonResponse getLesson(String lessonId) {
         Lesson lesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new RuntimeException("Lesson not found"));
 
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
         Course course = courseRepository.findById(lesson.getCourseId())
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -0,0 +1,261 @@
+package com.olp.domain.progress;
+
+import com.olp.domain.lesson.LessonOrdinalAllocator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link LessonCompletionStore} over {@code lesson_completion}, one row per user and course. A row holds
+ * the completed lesson ordinals as a {@link LessonBitmapCodec}-encoded bitmap and, in the same order,
+ * the first completion time of each as zigzag varint deltas of epoch seconds. A 200-lesson course
+ * finished in order takes a few hundred bytes instead of 200 rows plus their index entries.
+ *
+ * <p>Bits of deleted lessons are left in place. Their ordinals are never reused and reads only map
+ * ordinals of lessons that still exist.
+ */
+@Component
+public class BitmapLessonCompletionStore implements LessonCompletionStore {
+
+    private static final int USER_CHUNK_SIZE = 500;
+
+    private static final String SELECT_LESSONS = "SELECT id, course_id, ordinal FROM lessons WHERE id IN (%s)";
+    private static final String SELECT_ORDINALS = "SELECT id, ordinal FROM lessons WHERE course_id = ? AND ordinal IS NOT NULL";
+    private static final String LOCK_ROWS =
+            "SELECT user_id, course_id, lesson_bitmap, completion_times FROM lesson_completion " +
+            "WHERE (user_id, course_id) IN (%s) FOR UPDATE";
+    private static final String UPSERT_ROW =
+            "INSERT INTO lesson_completion (user_id, course_id, lesson_bitmap, completion_times, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE lesson_bitmap = VALUES(lesson_bitmap), " +
+            "completion_times = VALUES(completion_times), updated_at = VALUES(updated_at)";
+    private static final String SELECT_BY_USERS =
+            "SELECT user_id, lesson_bitmap FROM lesson_completion WHERE course_id = ? AND user_id IN (%s)";
+    private static final String LOCK_BY_USER =
+            "SELECT lesson_bitmap FROM lesson_completion WHERE user_id = ? AND course_id = ? LOCK IN SHARE MODE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LessonOrdinalAllocator ordinalAllocator;
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder readNanos = new LongAdder();
+    private final LongAdder unknownLessons = new LongAdder();
+
+    public BitmapLessonCompletionStore(JdbcTemplate jdbcTemplate, LessonOrdinalAllocator ordinalAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ordinalAllocator = ordinalAllocator;
+    }
+
+    @Override
+    public List<LessonCompletion> record(Collection<LessonCompletion> completions) {
+        if (completions.isEmpty()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        Map<String, LessonRef> lessons = lessons(completions);
+
+        // Grouped in primary key order, so concurrent writers lock rows in the same order
+        Map<RowKey, List<LessonCompletion>> byRow = new TreeMap<>();
+        for (LessonCompletion completion : completions) {
+            LessonRef lesson = lessons.get(completion.lessonId());
+            if (lesson == null) {
+                unknownLessons.increment();
+                continue;
+            }
+            byRow.computeIfAbsent(new RowKey(completion.userId(), lesson.courseId()), key -> new ArrayList<>()).add(completion);
+        }
+        if (byRow.isEmpty()) {
+            return List.of();
+        }
+
+        Map<RowKey, Row> existing = lockRows(byRow.keySet());
+        List<LessonCompletion> first = new ArrayList<>();
+        List<Object[]> upserts = new ArrayList<>(byRow.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        byRow.forEach((key, rowCompletions) -> {
+            Row row = existing.getOrDefault(key, Row.EMPTY);
+            byte[] bitmap = row.bitmap();
+            TreeMap<Integer, Long> times = decodeTimes(bitmap, row.times());
+            boolean changed = false;
+            for (LessonCompletion completion : rowCompletions) {
+                int ordinal = lessons.get(completion.lessonId()).ordinal();
+                if (!LessonBitmap.contains(bitmap, ordinal)) {
+                    bitmap = LessonBitmap.add(bitmap, ordinal);
+                    times.put(ordinal, completion.completedAt().toEpochSecond(ZoneOffset.UTC));
+                    first.add(completion);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                upserts.add(new Object[]{key.userId(), key.courseId(), LessonBitmapCodec.encode(bitmap),
+                        encodeTimes(times), now});
+            }
+        });
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_ROW, upserts);
+        }
+        writes.add(completions.size());
+        writeNanos.add(System.nanoTime() - start);
+        return first;
+    }
+
+    @Override
+    public Map<String, Set<String>> findCompletedLessonIds(String courseId, Collection<String> userIds) {
+        long start = System.nanoTime();
+        List<String> users = new ArrayList<>(new HashSet<>(userIds));
+        Map<String, Set<String>> result = new HashMap<>();
+        if (!users.isEmpty()) {
+            Map<Integer, String> lessonIds = lessonIdsByOrdinal(courseId);
+            for (int from = 0; from < users.size(); from += USER_CHUNK_SIZE) {
+                List<String> chunk = users.subList(from, Math.min(from + USER_CHUNK_SIZE, users.size()));
+                Object[] args = new Object[chunk.size() + 1];
+                args[0] = courseId;
+                for (int i = 0; i < chunk.size(); i++) {
+                    args[i + 1] = chunk.get(i);
+                }
+                jdbcTemplate.query(String.format(SELECT_BY_USERS, String.join(", ", Collections.nCopies(chunk.size(), "?"))), rs -> {
+                    Set<String> completed = toLessonIds(rs.getBytes("lesson_bitmap"), lessonIds);
+                    if (!completed.isEmpty()) {
+                        result.put(rs.getString("user_id"), completed);
+                    }
+                }, args);
+            }
+        }
+        reads.add(users.size());
+        readNanos.add(System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public Set<String> lockCompletedLessonIds(String userId, String courseId) {
+        List<byte[]> rows = jdbcTemplate.queryForList(LOCK_BY_USER, byte[].class, userId, courseId);
+        return rows.isEmpty() ? new HashSet<>() : toLessonIds(rows.get(0), lessonIdsByOrdinal(courseId));
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("completionsWritten", writes.sum());
+        stats.put("writeMillis", writeNanos.sum() / 1_000_000.0);
+        stats.put("usersRead", reads.sum());
+        stats.put("readMillis", readNanos.sum() / 1_000_000.0);
+        stats.put("unknownLessons", unknownLessons.sum());
+        return stats;
+    }
+
+    private Map<String, LessonRef> lessons(Collection<LessonCompletion> completions) {
+        List<String> ids = completions.stream().map(LessonCompletion::lessonId).distinct().toList();
+        String sql = String.format(SELECT_LESSONS, String.join(", ", Collections.nCopies(ids.size(), "?")));
+        Map<String, LessonRef> lessons = new HashMap<>();
+        Set<String> unnumberedCourses = new HashSet<>();
+        jdbcTemplate.query(sql, rs -> {
+            int ordinal = rs.getInt("ordinal");
+            if (rs.wasNull()) {
+                unnumberedCourses.add(rs.getString("course_id"));
+            } else {
+                lessons.put(rs.getString("id"), new LessonRef(rs.getString("course_id"), ordinal));
+            }
+        }, ids.toArray());
+        if (!unnumberedCourses.isEmpty()) {
+            // Lessons inserted outside CourseService predate their ordinal; number them now and look again
+            unnumberedCourses.forEach(ordinalAllocator::assignMissing);
+            return lessons(completions);
+        }
+        return lessons;
+    }
+
+    private Map<RowKey, Row> lockRows(Set<RowKey> keys) {
+        Object[] args = new Object[keys.size() * 2];
+        int i = 0;
+        for (RowKey key : keys) {
+            args[i++] = key.userId();
+            args[i++] = key.courseId();
+        }
+        String sql = String.format(LOCK_ROWS, String.join(", ", Collections.nCopies(keys.size(), "(?, ?)")));
+        Map<RowKey, Row> rows = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            rows.put(new RowKey(rs.getString("user_id"), rs.getString("course_id")),
+                    new Row(LessonBitmapCodec.decode(rs.getBytes("lesson_bitmap")), rs.getBytes("completion_times")));
+        }, args);
+        return rows;
+    }
+
+    private Map<Integer, String> lessonIdsByOrdinal(String courseId) {
+        Map<Integer, String> lessonIds = new HashMap<>();
+        jdbcTemplate.query(SELECT_ORDINALS, rs -> {
+            lessonIds.put(rs.getInt("ordinal"), rs.getString("id"));
+        }, courseId);
+        return lessonIds;
+    }
+
+    private static Set<String> toLessonIds(byte[] encoded, Map<Integer, String> lessonIds) {
+        Set<String> completed = new HashSet<>();
+        LessonBitmap.forEach(LessonBitmapCodec.decode(encoded), ordinal -> {
+            String lessonId = lessonIds.get(ordinal);
+            if (lessonId != null) {
+                completed.add(lessonId);
+            }
+        });
+        return completed;
+    }
+
+    static TreeMap<Integer, Long> decodeTimes(byte[] bitmap, byte[] encoded) {
+        TreeMap<Integer, Long> times = new TreeMap<>();
+        if (encoded == null || encoded.length == 0) {
+            return times;
+        }
+        int[] position = {0};
+        long[] previous = {0};
+        LessonBitmap.forEach(bitmap, ordinal -> {
+            if (position[0] >= encoded.length) {
+                return;
+            }
+            long zigzag = LessonBitmapCodec.readVarLong(encoded, position);
+            previous[0] += (zigzag >>> 1) ^ -(zigzag & 1);
+            times.put(ordinal, previous[0]);
+        });
+        return times;
+    }
+
+    static byte[] encodeTimes(TreeMap<Integer, Long> times) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(times.size() * 3 + 4);
+        long previous = 0;
+        for (long seconds : times.values()) {
+            long delta = seconds - previous;
+            LessonBitmapCodec.writeVarint(out, (delta << 1) ^ (delta >> 63));
+            previous = seconds;
+        }
+        return out.toByteArray();
+    }
+
+    private record LessonRef(String courseId, int ordinal) {
+    }
+
+    private record Row(byte[] bitmap, byte[] times) {
+        static final Row EMPTY = new Row(LessonBitmap.EMPTY, null);
+    }
+
+    private record RowKey(String userId, String courseId) implements Comparable<RowKey> {
+        @Override
+        public int compareTo(RowKey other) {
+            int byUser = userId.compareTo(other.userId);
+            return byUser != 0 ? byUser : courseId.compareTo(other.courseId);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.olp.domain.progress;
+
+/**
+ * One {@code course_progress} row: a user's completed lessons and passed section quizzes in a course,
+ * with the course totals they were counted against.
+ */
+public record CourseProgress(String userId, String courseId, int completedLessons, int passedQuizzes,
+                             int totalLessons, int totalQuizzes, byte[] lessonBitmap) {
+
+    public boolean isCompleted(int lessonOrdinal) {
+        return LessonBitmap.contains(lessonBitmap, lessonOrdinal);
+    }
+}
@@ -0,0 +1,313 @@
+package com.olp.domain.progress;
+
+import com.olp.domain.course.CourseChangedEvent;
+import com.olp.domain.lesson.LessonOrdinalAllocator;
+import com.olp.domain.quiz.QuizChangedEvent;
+import com.olp.domain.quiz.QuizPassedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains {@code course_progress}, one row per user and course holding the completed lesson count,
+ * the passed quiz count and a bitmap of completed lessons indexed by their stable ordinal. A row is
+ * built on the first progress read; from then on first completions and first passes update it in place
+ * inside the transaction that recorded them, and course or quiz edits rebuild every row of the course.
+ *
+ * <p>Completed lessons are read through the configured {@link LessonCompletionStore}. Bitmaps are keyed
+ * by the ordinals from {@link LessonOrdinalAllocator}; a rebuild also numbers any lesson that was
+ * inserted without one.
+ *
+ * <p>Lock order is course progress row, then lesson row. A rebuild locks the course row and every
+ * progress row before it reads, so a completion either commits before the rebuild reads it or waits
+ * and is applied on top of the rebuilt row.
+ *
+ * <p>Rows are built and rebuilt in a transaction of their own: rebuilds triggered by an edit run after
+ * it has committed, where joining its transaction would silently drop the writes.
+ */
+@Component
+public class CourseProgressTracker {
+
+    private static final String SELECT_PROGRESS =
+            "SELECT user_id, course_id, completed_lessons, passed_quizzes, total_lessons, total_quizzes, lesson_bitmap " +
+            "FROM course_progress WHERE user_id = ? AND course_id = ?";
+    private static final String SELECT_USER_PROGRESS =
+            "SELECT user_id, course_id, completed_lessons, passed_quizzes, total_lessons, total_quizzes, lesson_bitmap " +
+            "FROM course_progress WHERE user_id = ? AND course_id IN (%s)";
+    private static final String UPSERT_PROGRESS =
+            "INSERT INTO course_progress (user_id, course_id, completed_lessons, passed_quizzes, total_lessons, " +
+            "total_quizzes, lesson_bitmap) VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "completed_lessons = VALUES(completed_lessons), passed_quizzes = VALUES(passed_quizzes), " +
+            "total_lessons = VALUES(total_lessons), total_quizzes = VALUES(total_quizzes), lesson_bitmap = VALUES(lesson_bitmap)";
+    private static final String UPDATE_LESSONS =
+            "UPDATE course_progress SET completed_lessons = completed_lessons + 1, lesson_bitmap = ? " +
+            "WHERE user_id = ? AND course_id = ?";
+    private static final String INCREMENT_QUIZZES =
+            "UPDATE course_progress SET passed_quizzes = passed_quizzes + 1 WHERE user_id = ? AND course_id = ?";
+    private static final String UPDATE_TOTALS =
+            "UPDATE course_progress SET completed_lessons = ?, passed_quizzes = ?, total_lessons = ?, total_quizzes = ?, " +
+            "lesson_bitmap = ? WHERE user_id = ? AND course_id = ?";
+
+    private static final String LOCK_COURSE_ROWS = "SELECT user_id FROM course_progress WHERE course_id = ? FOR UPDATE";
+    private static final String LOCK_USER_ROW =
+            "SELECT lesson_bitmap FROM course_progress WHERE user_id = ? AND course_id = ? FOR UPDATE";
+    private static final String LOCK_COURSE = "SELECT id FROM courses WHERE id = ? FOR UPDATE";
+    private static final String COURSE_EXISTS = "SELECT COUNT(*) FROM courses WHERE id = ?";
+
+    private static final String SELECT_ORDINALS =
+            "SELECT id, ordinal FROM lessons WHERE course_id = ? AND ordinal IS NOT NULL";
+    private static final String LESSON_COURSE = "SELECT course_id FROM lessons WHERE id = ?";
+    private static final String LESSON_ORDINAL = "SELECT ordinal FROM lessons WHERE id = ? LOCK IN SHARE MODE";
+    private static final String QUIZ_COURSE =
+            "SELECT s.course_id FROM section_quiz q JOIN sections s ON s.id = q.section_id WHERE q.id = ?";
+    private static final String SECTION_COURSE = "SELECT course_id FROM sections WHERE id = ?";
+
+    private static final String LESSON_TOTAL = "SELECT COUNT(*) FROM lessons WHERE course_id = ?";
+    private static final String QUIZ_TOTAL =
+            "SELECT COUNT(*) FROM section_quiz q JOIN sections s ON s.id = q.section_id WHERE s.course_id = ?";
+    // Locking read: a pass written but not yet committed must be waited for, not missed
+    private static final String USER_PASSED_QUIZZES =
+            "SELECT COUNT(*) FROM quiz_attempt_summary qs JOIN section_quiz q ON q.id = qs.quiz_id " +
+            "JOIN sections s ON s.id = q.section_id WHERE s.course_id = ? AND qs.user_id = ? AND qs.passed = TRUE LOCK IN SHARE MODE";
+    private static final String COURSE_PASSED_QUIZZES =
+            "SELECT qs.user_id, COUNT(*) AS passed FROM course_progress cp " +
+            "JOIN sections s ON s.course_id = cp.course_id " +
+            "JOIN section_quiz q ON q.section_id = s.id " +
+            "JOIN quiz_attempt_summary qs ON qs.quiz_id = q.id AND qs.user_id = cp.user_id " +
+            "WHERE cp.course_id = ? AND qs.passed = TRUE GROUP BY qs.user_id";
+
+    private static final RowMapper<CourseProgress> ROW_MAPPER = (rs, rowNum) -> new CourseProgress(
+            rs.getString("user_id"), rs.getString("course_id"), rs.getInt("completed_lessons"),
+            rs.getInt("passed_quizzes"), rs.getInt("total_lessons"), rs.getInt("total_quizzes"),
+            LessonBitmapCodec.decode(rs.getBytes("lesson_bitmap")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LessonCompletionStore completionStore;
+    private final LessonOrdinalAllocator ordinalAllocator;
+    // Lesson ids by ordinal per course; null entries are deleted lessons
+    private final Map<String, List<String>> lessonIdsByOrdinal = new ConcurrentHashMap<>();
+
+    private final LongAdder incrementalUpdates = new LongAdder();
+    private final LongAdder rowsBuilt = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public CourseProgressTracker(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 LessonCompletionStore completionStore, LessonOrdinalAllocator ordinalAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.completionStore = completionStore;
+        this.ordinalAllocator = ordinalAllocator;
+    }
+
+    /**
+     * The user's progress row for the course, built on first use. Empty if the course does not exist.
+     */
+    public Optional<CourseProgress> get(String userId, String courseId) {
+        List<CourseProgress> rows = jdbcTemplate.query(SELECT_PROGRESS, ROW_MAPPER, userId, courseId);
+        if (!rows.isEmpty()) {
+            return Optional.of(rows.get(0));
+        }
+        return transactionTemplate.execute(status -> build(userId, courseId));
+    }
+
+    /**
+     * The user's progress rows for several courses in one query. Rows missing for courses the user has
+     * not opened yet are built one by one; courses that do not exist are left out.
+     */
+    public Map<String, CourseProgress> getAll(String userId, Collection<String> courseIds) {
+        Map<String, CourseProgress> result = new HashMap<>();
+        if (courseIds.isEmpty()) {
+            return result;
+        }
+        Object[] args = new Object[courseIds.size() + 1];
+        args[0] = userId;
+        int i = 1;
+        for (String courseId : courseIds) {
+            args[i++] = courseId;
+        }
+        String sql = String.format(SELECT_USER_PROGRESS, String.join(", ", Collections.nCopies(courseIds.size(), "?")));
+        for (CourseProgress progress : jdbcTemplate.query(sql, ROW_MAPPER, args)) {
+            result.put(progress.courseId(), progress);
+        }
+        for (String courseId : courseIds) {
+            if (!result.containsKey(courseId)) {
+                transactionTemplate.execute(status -> build(userId, courseId))
+                        .ifPresent(progress -> result.put(courseId, progress));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lesson ids of the course indexed by ordinal. Lessons that have not been given an ordinal yet are
+     * left out until the rebuild that follows their creation.
+     */
+    public List<String> lessonIdsByOrdinal(String courseId) {
+        return lessonIdsByOrdinal.computeIfAbsent(courseId, this::loadOrdinals);
+    }
+
+    @EventListener
+    public void onLessonCompleted(LessonCompletedEvent event) {
+        Optional<String> courseId = courseOf(LESSON_COURSE, event.lessonId());
+        if (courseId.isEmpty()) {
+            return;
+        }
+        // Users without a row yet get one, including this completion, on their next read
+        List<byte[]> locked = jdbcTemplate.queryForList(LOCK_USER_ROW, byte[].class, event.userId(), courseId.get());
+        if (locked.isEmpty()) {
+            return;
+        }
+        byte[] bitmap = LessonBitmapCodec.decode(locked.get(0));
+        Integer ordinal = jdbcTemplate.queryForList(LESSON_ORDINAL, Integer.class, event.lessonId()).stream()
+                .findFirst().orElse(null);
+        if (ordinal != null && LessonBitmap.contains(bitmap, ordinal)) {
+            return;
+        }
+        // A lesson without an ordinal is only counted; the rebuild queued by its creation sets the bit.
+        jdbcTemplate.update(UPDATE_LESSONS, LessonBitmapCodec.encode(ordinal != null ? LessonBitmap.add(bitmap, ordinal) : bitmap),
+                event.userId(), courseId.get());
+        incrementalUpdates.increment();
+    }
+
+    @EventListener
+    public void onQuizPassed(QuizPassedEvent event) {
+        courseOf(QUIZ_COURSE, event.quizId()).ifPresent(courseId -> {
+            if (jdbcTemplate.update(INCREMENT_QUIZZES, event.userId(), courseId) > 0) {
+                incrementalUpdates.increment();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        rebuild(event.courseId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        courseOf(SECTION_COURSE, event.sectionId()).ifPresent(this::rebuild);
+    }
+
+    /**
+     * Numbers the course's new lessons and recounts every existing progress row of the course.
+     */
+    public void rebuild(String courseId) {
+        lessonIdsByOrdinal.remove(courseId);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcTemplate.queryForList(LOCK_COURSE, String.class, courseId).isEmpty()) {
+                return;
+            }
+            List<String> userIds = jdbcTemplate.queryForList(LOCK_COURSE_ROWS, String.class, courseId);
+            ordinalAllocator.assignMissing(courseId);
+            if (userIds.isEmpty()) {
+                return;
+            }
+
+            int totalLessons = count(LESSON_TOTAL, courseId);
+            int totalQuizzes = count(QUIZ_TOTAL, courseId);
+            Map<String, Integer> ordinals = ordinalsByLessonId(loadOrdinals(courseId));
+            Map<String, Set<String>> completed = completionStore.findCompletedLessonIds(courseId, userIds);
+            Map<String, Integer> passed = new HashMap<>();
+            jdbcTemplate.query(COURSE_PASSED_QUIZZES, rs -> {
+                passed.put(rs.getString("user_id"), rs.getInt("passed"));
+            }, courseId);
+
+            List<Object[]> updates = new ArrayList<>(userIds.size());
+            for (String userId : userIds) {
+                Set<String> lessonIds = completed.getOrDefault(userId, Set.of());
+                updates.add(new Object[]{lessonIds.size(), passed.getOrDefault(userId, 0), totalLessons, totalQuizzes,
+                        LessonBitmapCodec.encode(toBitmap(lessonIds, ordinals)), userId, courseId});
+            }
+            jdbcTemplate.batchUpdate(UPDATE_TOTALS, updates);
+        });
+        lessonIdsByOrdinal.remove(courseId);
+        rebuilds.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("incrementalUpdates", incrementalUpdates.sum());
+        stats.put("rowsBuilt", rowsBuilt.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("cachedCourses", lessonIdsByOrdinal.size());
+        return stats;
+    }
+
+    private Optional<CourseProgress> build(String userId, String courseId) {
+        if (count(COURSE_EXISTS, courseId) == 0) {
+            return Optional.empty();
+        }
+        Set<String> completed = completionStore.lockCompletedLessonIds(userId, courseId);
+        byte[] bitmap = toBitmap(completed, ordinalsByLessonId(lessonIdsByOrdinal(courseId)));
+        CourseProgress progress = new CourseProgress(userId, courseId, completed.size(),
+                count(USER_PASSED_QUIZZES, courseId, userId), count(LESSON_TOTAL, courseId),
+                count(QUIZ_TOTAL, courseId), bitmap);
+
+        jdbcTemplate.update(UPSERT_PROGRESS, userId, courseId, progress.completedLessons(), progress.passedQuizzes(),
+                progress.totalLessons(), progress.totalQuizzes(), LessonBitmapCodec.encode(bitmap));
+        rowsBuilt.increment();
+        return Optional.of(progress);
+    }
+
+    private List<String> loadOrdinals(String courseId) {
+        List<String> lessonIds = new ArrayList<>();
+        jdbcTemplate.query(SELECT_ORDINALS, rs -> {
+            int ordinal = rs.getInt("ordinal");
+            while (lessonIds.size() <= ordinal) {
+                lessonIds.add(null);
+            }
+            lessonIds.set(ordinal, rs.getString("id"));
+        }, courseId);
+        return Collections.unmodifiableList(lessonIds);
+    }
+
+    private static Map<String, Integer> ordinalsByLessonId(List<String> lessonIds) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int ordinal = 0; ordinal < lessonIds.size(); ordinal++) {
+            if (lessonIds.get(ordinal) != null) {
+                ordinals.put(lessonIds.get(ordinal), ordinal);
+            }
+        }
+        return ordinals;
+    }
+
+    // Lessons without an ordinal yet are counted but have no bit until the rebuild that numbers them
+    private static byte[] toBitmap(Set<String> lessonIds, Map<String, Integer> ordinals) {
+        byte[] bitmap = LessonBitmap.EMPTY;
+        for (String lessonId : lessonIds) {
+            Integer ordinal = ordinals.get(lessonId);
+            if (ordinal != null) {
+                bitmap = LessonBitmap.add(bitmap, ordinal);
+            }
+        }
+        return bitmap;
+    }
+
+    private int count(String sql, Object... args) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return count != null ? count : 0;
+    }
+
+    private Optional<String> courseOf(String sql, String id) {
+        return jdbcTemplate.queryForList(sql, String.class, id).stream().findFirst();
+    }
+}
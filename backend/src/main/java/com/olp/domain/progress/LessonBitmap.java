@@ -0,0 +1,51 @@
+package com.olp.domain.progress;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Completed-lesson sets stored as plain bitmaps: bit {@code n} (byte {@code n / 8}, bit {@code n % 8}) is
+ * set when the lesson with ordinal {@code n} is completed. This is the in-memory form; it is stored
+ * through {@link LessonBitmapCodec}.
+ */
+final class LessonBitmap {
+
+    static final byte[] EMPTY = new byte[0];
+
+    private LessonBitmap() {
+    }
+
+    static boolean contains(byte[] bitmap, int ordinal) {
+        int index = ordinal >>> 3;
+        return index < bitmap.length && (bitmap[index] & (1 << (ordinal & 7))) != 0;
+    }
+
+    /**
+     * Returns {@code bitmap} with {@code ordinal} set, copying it only when it has to grow.
+     */
+    static byte[] add(byte[] bitmap, int ordinal) {
+        int index = ordinal >>> 3;
+        byte[] result = index < bitmap.length ? bitmap : Arrays.copyOf(bitmap, index + 1);
+        result[index] |= (byte) (1 << (ordinal & 7));
+        return result;
+    }
+
+    static int cardinality(byte[] bitmap) {
+        int count = 0;
+        for (byte b : bitmap) {
+            count += Integer.bitCount(b & 0xFF);
+        }
+        return count;
+    }
+
+    static void forEach(byte[] bitmap, IntConsumer action) {
+        for (int index = 0; index < bitmap.length; index++) {
+            int bits = bitmap[index] & 0xFF;
+            while (bits != 0) {
+                int bit = Integer.numberOfTrailingZeros(bits);
+                action.accept((index << 3) | bit);
+                bits &= bits - 1;
+            }
+        }
+    }
+}
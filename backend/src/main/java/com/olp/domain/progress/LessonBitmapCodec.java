@@ -0,0 +1,173 @@
+package com.olp.domain.progress;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Roaring-style serialization of a {@link LessonBitmap}. Ordinals are split into containers by their high
+ * 16 bits, and each container is written in whichever of three layouts is smallest:
+ * <ul>
+ *   <li>array: the count, then each low 16-bit value as a varint delta from the previous one</li>
+ *   <li>bitmap: the byte length, then the raw bits with trailing zero bytes dropped</li>
+ *   <li>run: the run count, then each run as a varint gap from the end of the previous run and its
+ *       length minus one</li>
+ * </ul>
+ * A container is written as {@code varint key, kind byte, payload}. Unlike Roaring's fixed-width
+ * format every number is a varint, since lesson ordinals are small and dense. A student who works
+ * through a course in order encodes to a single run of a few bytes. The empty set encodes to zero
+ * bytes.
+ */
+final class LessonBitmapCodec {
+
+    private static final int ARRAY = 0;
+    private static final int BITMAP = 1;
+    private static final int RUN = 2;
+
+    private static final int CONTAINER_BYTES = 1 << 13;
+
+    private LessonBitmapCodec() {
+    }
+
+    static byte[] encode(byte[] bitmap) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int from = 0; from < bitmap.length; from += CONTAINER_BYTES) {
+            byte[] container = trim(Arrays.copyOfRange(bitmap, from, Math.min(from + CONTAINER_BYTES, bitmap.length)));
+            if (container.length == 0) {
+                continue;
+            }
+            int[] values = values(container);
+            int[] runs = runs(values);
+
+            int arraySize = varintSize(values.length);
+            for (int i = 0; i < values.length; i++) {
+                arraySize += varintSize(values[i] - (i > 0 ? values[i - 1] : 0));
+            }
+            int bitmapSize = varintSize(container.length) + container.length;
+            int runSize = varintSize(runs.length / 2);
+            for (int i = 0; i < runs.length; i += 2) {
+                runSize += varintSize(runs[i] - (i > 0 ? runs[i - 2] + runs[i - 1] : 0)) + varintSize(runs[i + 1] - 1);
+            }
+
+            writeVarint(out, from / CONTAINER_BYTES);
+            if (runSize <= arraySize && runSize <= bitmapSize) {
+                out.write(RUN);
+                writeVarint(out, runs.length / 2);
+                for (int i = 0; i < runs.length; i += 2) {
+                    writeVarint(out, runs[i] - (i > 0 ? runs[i - 2] + runs[i - 1] : 0));
+                    writeVarint(out, runs[i + 1] - 1);
+                }
+            } else if (arraySize <= bitmapSize) {
+                out.write(ARRAY);
+                writeVarint(out, values.length);
+                for (int i = 0; i < values.length; i++) {
+                    writeVarint(out, values[i] - (i > 0 ? values[i - 1] : 0));
+                }
+            } else {
+                out.write(BITMAP);
+                writeVarint(out, container.length);
+                out.writeBytes(container);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static byte[] decode(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) {
+            return LessonBitmap.EMPTY;
+        }
+        byte[] bitmap = LessonBitmap.EMPTY;
+        int[] position = {0};
+        while (position[0] < encoded.length) {
+            int base = readVarint(encoded, position) << 16;
+            int kind = encoded[position[0]++];
+            int count = readVarint(encoded, position);
+            switch (kind) {
+                case ARRAY -> {
+                    int value = 0;
+                    for (int i = 0; i < count; i++) {
+                        value += readVarint(encoded, position);
+                        bitmap = LessonBitmap.add(bitmap, base | value);
+                    }
+                }
+                case BITMAP -> {
+                    int offset = base >>> 3;
+                    if (bitmap.length < offset + count) {
+                        bitmap = Arrays.copyOf(bitmap, offset + count);
+                    }
+                    System.arraycopy(encoded, position[0], bitmap, offset, count);
+                    position[0] += count;
+                }
+                case RUN -> {
+                    int end = 0;
+                    for (int i = 0; i < count; i++) {
+                        int start = end + readVarint(encoded, position);
+                        int length = readVarint(encoded, position) + 1;
+                        for (int value = start; value < start + length; value++) {
+                            bitmap = LessonBitmap.add(bitmap, base | value);
+                        }
+                        end = start + length;
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown lesson bitmap container kind " + kind);
+            }
+        }
+        return bitmap;
+    }
+
+    static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static int readVarint(byte[] bytes, int[] position) {
+        return (int) readVarLong(bytes, position);
+    }
+
+    static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static int varintSize(int value) {
+        return value < (1 << 7) ? 1 : value < (1 << 14) ? 2 : 3;
+    }
+
+    private static byte[] trim(byte[] bytes) {
+        int length = bytes.length;
+        while (length > 0 && bytes[length - 1] == 0) {
+            length--;
+        }
+        return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+    }
+
+    private static int[] values(byte[] container) {
+        int[] values = new int[LessonBitmap.cardinality(container)];
+        int[] next = {0};
+        LessonBitmap.forEach(container, ordinal -> values[next[0]++] = ordinal);
+        return values;
+    }
+
+    // Flattened (start, length) pairs
+    private static int[] runs(int[] values) {
+        int[] runs = new int[values.length * 2];
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (count > 0 && runs[count - 2] + runs[count - 1] == values[i]) {
+                runs[count - 1]++;
+            } else {
+                runs[count++] = values[i];
+                runs[count++] = 1;
+            }
+        }
+        return Arrays.copyOf(runs, count);
+    }
+}
@@ -0,0 +1,8 @@
+package com.olp.domain.progress;
+
+/**
+ * Published inside the transaction that writes a user's first completion of a lesson, which happens when
+ * {@link LessonProgressBuffer} flushes rather than when the student clicks.
+ */
+public record LessonCompletedEvent(String userId, String lessonId) {
+}
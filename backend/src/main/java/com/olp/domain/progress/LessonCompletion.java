@@ -0,0 +1,9 @@
+package com.olp.domain.progress;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's completion of a lesson, as recorded by a {@link LessonCompletionStore}.
+ */
+public record LessonCompletion(String userId, String lessonId, LocalDateTime completedAt) {
+}
@@ -0,0 +1,35 @@
+package com.olp.domain.progress;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Where lesson completions live. {@code progress.storage.mode=rows} keeps one {@code lesson_progress} row per
+ * user and lesson; {@code progress.storage.mode=bitmap} keeps one {@code lesson_completion} row per user and
+ * course holding a compressed bitmap of completed lesson ordinals. Switch only after
+ * {@link LessonProgressMigrator} has copied the existing rows.
+ */
+public interface LessonCompletionStore {
+
+    /**
+     * Records the completions and returns the ones that were not completed before, keeping the first
+     * completion time of a lesson. Must run inside a transaction; what it writes stays locked until the
+     * transaction ends.
+     */
+    List<LessonCompletion> record(Collection<LessonCompletion> completions);
+
+    /**
+     * Completed lesson ids of each given user in the course. Users without completions are left out.
+     */
+    Map<String, Set<String>> findCompletedLessonIds(String courseId, Collection<String> userIds);
+
+    /**
+     * Completed lesson ids of the user in the course, read with a shared lock so that completions being
+     * written by an open transaction are waited for rather than missed. Must run inside a transaction.
+     */
+    Set<String> lockCompletedLessonIds(String userId, String courseId);
+
+    Map<String, Object> getStats();
+}
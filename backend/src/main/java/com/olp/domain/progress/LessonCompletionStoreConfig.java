@@ -0,0 +1,26 @@
+package com.olp.domain.progress;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Picks the {@link LessonCompletionStore} named by {@code progress.storage.mode}. Both stores stay available
+ * by class so that {@link LessonProgressMigrator} can copy from one to the other.
+ */
+@Configuration
+public class LessonCompletionStoreConfig {
+
+    @Bean
+    @Primary
+    public LessonCompletionStore lessonCompletionStore(@Value("${progress.storage.mode:rows}") String storage,
+                                                       RowLessonCompletionStore rowStore,
+                                                       BitmapLessonCompletionStore bitmapStore) {
+        return switch (storage) {
+            case "rows" -> rowStore;
+            case "bitmap" -> bitmapStore;
+            default -> throw new IllegalArgumentException("progress.storage.mode must be rows or bitmap, not " + storage);
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.olp.domain.progress;
 
+import com.olp.shared.id.UuidBinaryConverter;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -8,7 +9,8 @@ import java.time.LocalDateTime;
 @Table(name = "lesson_progress")
 public class LessonProgress {
     @Id
-    @Column(length = 36, columnDefinition = "CHAR(36)")
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(columnDefinition = "BINARY(16)")
     private String id;
 
     @Column(name = "lesson_id", nullable = false, length = 36)
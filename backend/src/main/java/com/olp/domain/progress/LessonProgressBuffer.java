@@ -0,0 +1,305 @@
+package com.olp.domain.progress;
+
+import com.olp.shared.exception.ServiceOverloadedException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for lesson completions. {@link #add} only records (user, lesson) in one of
+ * {@code progress.write-behind.stripes} stripes chosen by user, so repeated clicks on the same lesson
+ * coalesce into one pending row. A flusher thread drains every stripe each
+ * {@code progress.write-behind.flush-interval-ms}, or earlier once {@code flush-size} completions are
+ * pending. It hands each batch to the {@link LessonCompletionStore} in one transaction and publishes a
+ * {@link LessonCompletedEvent} for each first completion in that same transaction.
+ *
+ * <p>Pending and in-flight completions are visible through {@link #pendingLessonIds}, so a student's
+ * own progress reads include them before they reach the database. When more than {@code max-pending}
+ * completions are waiting, the caller flushes every stripe on its own thread, so requests slow down to
+ * the database's pace instead of growing the buffer. If that does not bring the buffer back under the
+ * limit, because the database is failing and the writes were put back for retry, the caller's own
+ * completion is taken out again and it gets a 503 instead of an acknowledgement.
+ *
+ * <p>Crash safety: completions are acknowledged before they are durable. A crash loses what was
+ * accepted since the last successful flush: normally one flush interval of clicks, and never more than
+ * {@code max-pending} plus one per request thread that is between adding its completion and taking it
+ * back out. A clean shutdown flushes everything. A lost completion is harmless because clicking the
+ * lesson again re-records it.
+ */
+@Component
+public class LessonProgressBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LessonProgressBuffer.class);
+
+    private final LessonCompletionStore completionStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Stripe[] stripes;
+    private final long flushIntervalMillis;
+    private final int flushSize;
+    private final int maxPending;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder backpressureWaits = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final Object flushSignal = new Object();
+    private volatile boolean running;
+    private Thread flusher;
+
+    public LessonProgressBuffer(LessonCompletionStore completionStore, PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${progress.write-behind.stripes:16}") int stripeCount,
+                                @Value("${progress.write-behind.flush-interval-ms:500}") long flushIntervalMillis,
+                                @Value("${progress.write-behind.flush-size:500}") int flushSize,
+                                @Value("${progress.write-behind.max-pending:50000}") int maxPending) {
+        this.completionStore = completionStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushSize = flushSize;
+        this.maxPending = maxPending;
+    }
+
+    public void add(String userId, String lessonId) {
+        Stripe stripe = stripeFor(userId);
+        Key key = new Key(lessonId, userId);
+        boolean added;
+        synchronized (stripe) {
+            added = !stripe.inFlight.containsKey(key) && stripe.pending.putIfAbsent(key, LocalDateTime.now()) == null;
+        }
+        if (!added) {
+            accepted.increment();
+            coalesced.increment();
+            return;
+        }
+
+        int size = pending.incrementAndGet();
+        if (size > maxPending) {
+            backpressureWaits.increment();
+            flush();
+            if (pending.get() > maxPending && withdraw(stripe, key)) {
+                shed.increment();
+                throw new ServiceOverloadedException("Progress updates are backed up, please retry shortly", 1);
+            }
+        } else if (size >= flushSize) {
+            synchronized (flushSignal) {
+                flushSignal.notifyAll();
+            }
+        }
+        accepted.increment();
+    }
+
+    // Takes back a completion that has not been handed to a flush yet
+    private boolean withdraw(Stripe stripe, Key key) {
+        synchronized (stripe) {
+            if (stripe.pending.remove(key) == null) {
+                return false;
+            }
+        }
+        pending.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Lessons among {@code lessonIds} the user has completed that may not have been written yet.
+     */
+    public Set<String> pendingLessonIds(String userId, Collection<String> lessonIds) {
+        Stripe stripe = stripeFor(userId);
+        Set<String> result = new HashSet<>();
+        synchronized (stripe) {
+            for (String lessonId : lessonIds) {
+                Key key = new Key(lessonId, userId);
+                if (stripe.pending.containsKey(key) || stripe.inFlight.containsKey(key)) {
+                    result.add(lessonId);
+                }
+            }
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "lesson-progress-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = flusher;
+        }
+        if (current != null) {
+            current.interrupt();
+            current.join(5_000);
+        }
+        flush();
+    }
+
+    /**
+     * Writes everything pending on the calling thread. Stripes are drained one at a time, so this runs
+     * concurrently with {@link #add} and with other flushes; a stripe another thread is writing is waited
+     * for, so on return everything added before the call has been written or put back after a failure.
+     * Returns early, with the interrupt flag set, if the thread is interrupted.
+     */
+    public void flush() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                while (!stripe.inFlight.isEmpty()) {
+                    try {
+                        stripe.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            flushStripe(stripe);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", pending.get());
+        stats.put("stripes", stripes.length);
+        stats.put("accepted", accepted.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("flushed", flushed.sum());
+        stats.put("flushes", flushes.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("backpressureWaits", backpressureWaits.sum());
+        stats.put("shed", shed.sum());
+        return stats;
+    }
+
+    private void flushLoop() {
+        boolean progressed = true;
+        while (running) {
+            try {
+                synchronized (flushSignal) {
+                    // After a round that wrote nothing, wait out the interval instead of retrying a failing database in a loop
+                    if (pending.get() < flushSize || !progressed) {
+                        flushSignal.wait(flushIntervalMillis);
+                    }
+                }
+                long before = flushed.sum();
+                flush();
+                progressed = flushed.sum() > before;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Lesson progress flush failed", e);
+            }
+        }
+    }
+
+    private void flushStripe(Stripe stripe) {
+        Map<Key, LocalDateTime> batch;
+        synchronized (stripe) {
+            // A stripe is flushed by one thread at a time; completions added meanwhile wait for the next round.
+            if (stripe.pending.isEmpty() || !stripe.inFlight.isEmpty()) {
+                return;
+            }
+            batch = new TreeMap<>(stripe.pending);
+            stripe.inFlight.putAll(batch);
+            stripe.pending.clear();
+        }
+
+        Map<Key, LocalDateTime> requeued = new TreeMap<>();
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            // Retry row by row so a single bad row (e.g. a lesson deleted meanwhile) is dropped instead of
+            // blocking the batch; anything else puts the rest back for the next round.
+            List<Map.Entry<Key, LocalDateTime>> rows = new ArrayList<>(batch.entrySet());
+            for (int i = 0; i < rows.size(); i++) {
+                Map.Entry<Key, LocalDateTime> row = rows.get(i);
+                try {
+                    write(Map.of(row.getKey(), row.getValue()));
+                } catch (DataIntegrityViolationException rowError) {
+                    dropped.increment();
+                    log.warn("Dropping lesson completion {} for user {}: {}", row.getKey().lessonId(),
+                            row.getKey().userId(), rowError.getMessage());
+                } catch (RuntimeException rowError) {
+                    rows.subList(i, rows.size()).forEach(rest -> requeued.put(rest.getKey(), rest.getValue()));
+                    log.warn("Lesson progress flush failed; {} completions will be retried", requeued.size(), rowError);
+                    break;
+                }
+            }
+        } finally {
+            synchronized (stripe) {
+                stripe.inFlight.keySet().removeAll(batch.keySet());
+                requeued.forEach(stripe.pending::putIfAbsent);
+                stripe.notifyAll();
+            }
+            pending.addAndGet(requeued.size() - batch.size());
+        }
+        flushed.add(batch.size() - requeued.size());
+        flushes.increment();
+    }
+
+    private void write(Map<Key, LocalDateTime> batch) {
+        List<LessonCompletion> completions = batch.entrySet().stream()
+                .map(entry -> new LessonCompletion(entry.getKey().userId(), entry.getKey().lessonId(), entry.getValue()))
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (LessonCompletion completion : completionStore.record(completions)) {
+                eventPublisher.publishEvent(new LessonCompletedEvent(completion.userId(), completion.lessonId()));
+            }
+        });
+    }
+
+    private Stripe stripeFor(String userId) {
+        return stripes[Math.floorMod(userId.hashCode(), stripes.length)];
+    }
+
+    private static final class Stripe {
+        private final Map<Key, LocalDateTime> pending = new LinkedHashMap<>();
+        private final Map<Key, LocalDateTime> inFlight = new LinkedHashMap<>();
+    }
+
+    // Ordered by lesson then user, matching the unique key, so concurrent flushes lock rows in the same order
+    private record Key(String lessonId, String userId) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byLesson = lessonId.compareTo(other.lessonId);
+            return byLesson != 0 ? byLesson : userId.compareTo(other.userId);
+        }
+    }
+}
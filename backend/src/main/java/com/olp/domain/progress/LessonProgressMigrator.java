@@ -0,0 +1,205 @@
+package com.olp.domain.progress;
+
+import com.olp.domain.certificate.CertificateIssuer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copies {@code lesson_progress} rows into {@code lesson_completion} bitmaps, walking users in id order
+ * in chunks of {@code progress.storage.migration-chunk-size}. Each chunk is merged in its own
+ * transaction. The copy only ever adds bits, so it can be stopped and run again at any time.
+ *
+ * <p>Rollout: run it once while {@code progress.storage.mode=rows}, switch to {@code bitmap} and restart,
+ * then run it again to pick up completions written to rows in between. Until that second pass ends,
+ * bitmap reads can miss those completions. So when a pass that ran against the live bitmap store adds
+ * anything, it rebuilds the {@code course_progress} rows of the affected courses and queues the
+ * completed enrollments that still lack a certificate again. It does not publish
+ * {@link LessonCompletedEvent}s: the copied completions were already counted against
+ * {@code remaining_requirements} when they were first recorded.
+ */
+@Component
+public class LessonProgressMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(LessonProgressMigrator.class);
+
+    private static final String COUNT_USERS = "SELECT COUNT(*) FROM users";
+    private static final String NEXT_USERS = "SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String COMPLETED_ROWS =
+            "SELECT lp.user_id, lp.lesson_id, lp.completed_at, l.course_id FROM lesson_progress lp " +
+            "JOIN lessons l ON l.id = lp.lesson_id WHERE lp.completed = TRUE AND lp.user_id IN (%s)";
+    private static final String TABLE_SIZES =
+            "SELECT table_name, table_rows, data_length, index_length FROM information_schema.tables " +
+            "WHERE table_schema = DATABASE() AND table_name IN ('lesson_progress', 'lesson_completion')";
+    private static final String SAMPLE_USERS = "SELECT user_id FROM enrollments WHERE course_id = ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RowLessonCompletionStore rowStore;
+    private final BitmapLessonCompletionStore bitmapStore;
+    private final LessonCompletionStore completionStore;
+    private final CourseProgressTracker progressTracker;
+    private final CertificateIssuer certificateIssuer;
+    private final int chunkSize;
+
+    private final AtomicLong usersDone = new AtomicLong();
+    private final AtomicLong rowsCopied = new AtomicLong();
+    private volatile long usersTotal;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String lastError;
+    private Thread worker;
+
+    public LessonProgressMigrator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  RowLessonCompletionStore rowStore, BitmapLessonCompletionStore bitmapStore,
+                                  LessonCompletionStore completionStore, CourseProgressTracker progressTracker,
+                                  CertificateIssuer certificateIssuer,
+                                  @Value("${progress.storage.migration-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowStore = rowStore;
+        this.bitmapStore = bitmapStore;
+        this.completionStore = completionStore;
+        this.progressTracker = progressTracker;
+        this.certificateIssuer = certificateIssuer;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Starts a copy in the background unless one is already running, and returns its status.
+     */
+    public synchronized Map<String, Object> start() {
+        if (worker == null || !worker.isAlive()) {
+            usersDone.set(0);
+            rowsCopied.set(0);
+            startedAt = LocalDateTime.now();
+            finishedAt = null;
+            lastError = null;
+            worker = new Thread(this::run, "lesson-progress-migrator");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        return getStatus();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        Thread current = worker;
+        status.put("running", current != null && current.isAlive());
+        status.put("usersDone", usersDone.get());
+        status.put("usersTotal", usersTotal);
+        status.put("rowsCopied", rowsCopied.get());
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    /**
+     * Row count and on-disk size of both tables, as estimated by InnoDB.
+     */
+    public Map<String, Object> getTableSizes() {
+        Map<String, Object> sizes = new LinkedHashMap<>();
+        jdbcTemplate.query(TABLE_SIZES, rs -> {
+            Map<String, Object> table = new LinkedHashMap<>();
+            table.put("rows", rs.getLong("table_rows"));
+            table.put("dataBytes", rs.getLong("data_length"));
+            table.put("indexBytes", rs.getLong("index_length"));
+            sizes.put(rs.getString("table_name"), table);
+        });
+        return sizes;
+    }
+
+    /**
+     * Reads the completions of up to {@code sampleSize} students of the course from both stores, and
+     * reports how long each took and whether they agree. Only reads, so it is safe on live data.
+     */
+    public Map<String, Object> compareReads(String courseId, int sampleSize) {
+        List<String> userIds = jdbcTemplate.queryForList(SAMPLE_USERS, String.class, courseId, sampleSize);
+
+        long start = System.nanoTime();
+        Map<String, Set<String>> fromRows = rowStore.findCompletedLessonIds(courseId, userIds);
+        long rowNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        Map<String, Set<String>> fromBitmaps = bitmapStore.findCompletedLessonIds(courseId, userIds);
+        long bitmapNanos = System.nanoTime() - start;
+
+        long mismatched = userIds.stream()
+                .filter(userId -> !fromRows.getOrDefault(userId, Set.of()).equals(fromBitmaps.getOrDefault(userId, Set.of())))
+                .count();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("users", userIds.size());
+        result.put("rowsMillis", rowNanos / 1_000_000.0);
+        result.put("bitmapMillis", bitmapNanos / 1_000_000.0);
+        result.put("mismatchedUsers", mismatched);
+        return result;
+    }
+
+    private void run() {
+        try {
+            Long total = jdbcTemplate.queryForObject(COUNT_USERS, Long.class);
+            usersTotal = total != null ? total : 0;
+            String after = "";
+            Set<String> changedCourses = new HashSet<>();
+            while (true) {
+                List<String> userIds = jdbcTemplate.queryForList(NEXT_USERS, String.class, after, chunkSize);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                changedCourses.addAll(copy(userIds));
+                usersDone.addAndGet(userIds.size());
+                after = userIds.get(userIds.size() - 1);
+            }
+            log.info("Copied {} lesson_progress rows for {} users into lesson_completion", rowsCopied.get(), usersDone.get());
+            if (completionStore == bitmapStore && !changedCourses.isEmpty()) {
+                // Progress rows and eligibility checks read the bitmaps, which were short until now
+                changedCourses.forEach(progressTracker::rebuild);
+                certificateIssuer.requeueUnissued();
+                log.info("Rebuilt course progress of {} courses after the copy", changedCourses.size());
+            }
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.warn("Lesson progress migration stopped after {} users", usersDone.get(), e);
+        } finally {
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    // Returns the courses in which the copy added completions the bitmaps did not have yet
+    private Set<String> copy(List<String> userIds) {
+        String sql = String.format(COMPLETED_ROWS, String.join(", ", Collections.nCopies(userIds.size(), "?")));
+        List<LessonCompletion> completions = new ArrayList<>();
+        Map<String, String> courseByLesson = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            LocalDateTime completedAt = rs.getTimestamp("completed_at") != null
+                    ? rs.getTimestamp("completed_at").toLocalDateTime() : LocalDateTime.now();
+            completions.add(new LessonCompletion(rs.getString("user_id"), rs.getString("lesson_id"), completedAt));
+            courseByLesson.put(rs.getString("lesson_id"), rs.getString("course_id"));
+        }, userIds.toArray());
+        if (completions.isEmpty()) {
+            return Set.of();
+        }
+        List<LessonCompletion> added = transactionTemplate.execute(status -> bitmapStore.record(completions));
+        rowsCopied.addAndGet(completions.size());
+        Set<String> changedCourses = new HashSet<>();
+        if (added != null) {
+            added.forEach(completion -> changedCourses.add(courseByLesson.get(completion.lessonId())));
+        }
+        return changedCourses;
+    }
+}
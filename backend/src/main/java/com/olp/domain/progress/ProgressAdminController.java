@@ -0,0 +1,71 @@
+package com.olp.domain.progress;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/progress")
+public class ProgressAdminController {
+
+    private final LessonProgressBuffer progressBuffer;
+    private final CourseProgressTracker progressTracker;
+    private final LessonCompletionStore completionStore;
+    private final LessonProgressMigrator migrator;
+    private final VideoWatchTracker videoWatchTracker;
+
+    public ProgressAdminController(LessonProgressBuffer progressBuffer, CourseProgressTracker progressTracker,
+                                   LessonCompletionStore completionStore, LessonProgressMigrator migrator,
+                                   VideoWatchTracker videoWatchTracker) {
+        this.progressBuffer = progressBuffer;
+        this.progressTracker = progressTracker;
+        this.completionStore = completionStore;
+        this.migrator = migrator;
+        this.videoWatchTracker = videoWatchTracker;
+    }
+
+    @GetMapping("/write-behind/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getWriteBehindStats() {
+        return ResponseEntity.ok(progressBuffer.getStats());
+    }
+
+    @GetMapping("/course-progress/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCourseProgressStats() {
+        return ResponseEntity.ok(progressTracker.getStats());
+    }
+
+    @GetMapping("/video/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getVideoStats() {
+        return ResponseEntity.ok(videoWatchTracker.getStats());
+    }
+
+    @GetMapping("/storage/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStorageStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("store", completionStore.getClass().getSimpleName());
+        stats.put("storeStats", completionStore.getStats());
+        stats.put("tables", migrator.getTableSizes());
+        stats.put("migration", migrator.getStatus());
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/storage/migrate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> migrateStorage() {
+        return ResponseEntity.accepted().body(migrator.start());
+    }
+
+    @GetMapping("/storage/compare")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> compareStorage(@RequestParam String courseId,
+                                                              @RequestParam(defaultValue = "500") int users) {
+        return ResponseEntity.ok(migrator.compareReads(courseId, Math.min(users, 5000)));
+    }
+}
@@ -2,6 +2,7 @@ package com.olp.domain.progress;
 
 import com.olp.domain.progress.ProgressResponse;
 import com.olp.domain.progress.ProgressService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -27,4 +28,16 @@ public class ProgressController {
         progressService.markLessonComplete(lessonId);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    @PostMapping("/lesson/{lessonId}/heartbeat")
+    public ResponseEntity<Void> recordVideoHeartbeat(@PathVariable String lessonId,
+                                                     @Valid @RequestBody VideoHeartbeatRequest request) {
+        progressService.recordVideoHeartbeat(lessonId, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/lesson/{lessonId}/video")
+    public ResponseEntity<VideoProgressResponse> getVideoProgress(@PathVariable String lessonId) {
+        return ResponseEntity.ok(progressService.getVideoProgress(lessonId));
+    }
+}
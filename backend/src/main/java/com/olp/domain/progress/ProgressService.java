@@ -1,110 +1,110 @@
 package com.olp.domain.progress;
 
 import com.olp.domain.progress.ProgressResponse;
-import com.olp.domain.lesson.Lesson;
-import com.olp.domain.progress.LessonProgress;
-import com.olp.domain.user.User;
-import com.olp.domain.quiz.SectionQuiz;
-import com.olp.domain.quiz.QuizAttempt;
-import com.olp.domain.progress.LessonProgressRepository;
 import com.olp.domain.lesson.LessonRepository;
-import com.olp.domain.user.UserRepository;
-import com.olp.domain.quiz.SectionQuizRepository;
-import com.olp.domain.quiz.QuizAttemptRepository;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ProgressService {
 
     private final LessonRepository lessonRepository;
-    private final LessonProgressRepository progressRepository;
-    private final UserRepository userRepository;
-    private final SectionQuizRepository quizRepository;
-    private final QuizAttemptRepository attemptRepository;
-
-    public ProgressService(LessonRepository lessonRepository, LessonProgressRepository progressRepository, 
-                          UserRepository userRepository, SectionQuizRepository quizRepository, 
-                          QuizAttemptRepository attemptRepository) {
+    private final CurrentUser currentUser;
+    private final CourseProgressTracker progressTracker;
+    private final LessonProgressBuffer progressBuffer;
+    private final VideoWatchTracker videoWatchTracker;
+
+    public ProgressService(LessonRepository lessonRepository, CurrentUser currentUser,
+                          CourseProgressTracker progressTracker, LessonProgressBuffer progressBuffer,
+                          VideoWatchTracker videoWatchTracker) {
         this.lessonRepository = lessonRepository;
-        this.progressRepository = progressRepository;
-        this.userRepository = userRepository;
-        this.quizRepository = quizRepository;
-        this.attemptRepository = attemptRepository;
+        this.currentUser = currentUser;
+        this.progressTracker = progressTracker;
+        this.progressBuffer = progressBuffer;
+        this.videoWatchTracker = videoWatchTracker;
     }
 
     public ProgressResponse getCourseProgress(String courseId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<Lesson> lessons = lessonRepository.findByCourseIdOrderBySortOrder(courseId);
-        List<String> lessonIds = lessons.stream().map(Lesson::getId).collect(Collectors.toList());
-        
-        List<LessonProgress> completedProgress = progressRepository.findByUserIdAndLessonIdIn(user.getId(), lessonIds);
-        long completedLessons = completedProgress.stream().filter(LessonProgress::getCompleted).count();
-
-        // Get quizzes for the course sections
-        List<SectionQuiz> quizzes = quizRepository.findByCourseId(courseId);
-        List<String> quizIds = quizzes.stream().map(SectionQuiz::getId).collect(Collectors.toList());
-        
-        // Count passed quizzes (score >= 50%)
-        long passedQuizzes = 0;
-        if (!quizIds.isEmpty()) {
-            List<QuizAttempt> attempts = attemptRepository.findByUserIdAndQuizIdIn(user.getId(), quizIds);
-            passedQuizzes = attempts.stream()
-                .filter(attempt -> (double) attempt.getScore() / attempt.getTotalQuestions() * 100 >= 50.0)
-                .map(QuizAttempt::getQuizId)
-                .distinct()
-                .count();
-        }
+        AuthenticatedUser user = currentUser.get();
+        return toResponse(user.getId(), courseId, progressTracker.get(user.getId(), courseId).orElse(null));
+    }
 
-        int totalItems = lessons.size() + quizzes.size();
-        int completedItems = (int) (completedLessons + passedQuizzes);
+    /**
+     * Progress of one user in several courses, read with one query for the rows that already exist. Used
+     * by callers that have already resolved the user.
+     */
+    public Map<String, ProgressResponse> getCourseProgress(String userId, Collection<String> courseIds) {
+        Map<String, CourseProgress> rows = progressTracker.getAll(userId, courseIds);
+        Map<String, ProgressResponse> responses = new HashMap<>();
+        for (String courseId : courseIds) {
+            responses.put(courseId, toResponse(userId, courseId, rows.get(courseId)));
+        }
+        return responses;
+    }
 
+    private ProgressResponse toResponse(String userId, String courseId, CourseProgress progress) {
         ProgressResponse response = new ProgressResponse();
         response.setCourseId(courseId);
+        if (progress == null) {
+            response.setCompletedLessons(0);
+            response.setTotalLessons(0);
+            response.setProgressPercent(0.0);
+            response.setCompletedLessonIds(List.of());
+            return response;
+        }
+
+        List<String> lessonIds = progressTracker.lessonIdsByOrdinal(courseId);
+        List<String> completedLessonIds = new ArrayList<>();
+        LessonBitmap.forEach(progress.lessonBitmap(), ordinal -> {
+            if (ordinal < lessonIds.size() && lessonIds.get(ordinal) != null) {
+                completedLessonIds.add(lessonIds.get(ordinal));
+            }
+        });
+
+        // Completions still in the write-behind buffer count as done for the student who made them
+        Set<String> pending = progressBuffer.pendingLessonIds(userId,
+                lessonIds.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+        pending.removeAll(completedLessonIds);
+        completedLessonIds.addAll(pending);
+
+        int totalItems = progress.totalLessons() + progress.totalQuizzes();
+        int completedItems = Math.min(totalItems, progress.completedLessons() + pending.size() + progress.passedQuizzes());
+
         response.setCompletedLessons(completedItems);
         response.setTotalLessons(totalItems);
         response.setProgressPercent(totalItems > 0 ? (double) completedItems / totalItems * 100 : 0.0);
-        response.setCompletedLessonIds(completedProgress.stream()
-            .filter(LessonProgress::getCompleted)
-            .map(LessonProgress::getLessonId)
-            .collect(Collectors.toList()));
+        response.setCompletedLessonIds(completedLessonIds);
 
         return response;
     }
 
     public void markLessonComplete(String lessonId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // Check if lesson belongs to a section with a quiz
-        Lesson lesson = lessonRepository.findById(lessonId)
-                .orElseThrow(() -> new RuntimeException("Lesson not found"));
-        
-        if (lesson.getSectionId() != null) {
-            // Check if section has a quiz and if it's passed
-            // This will be implemented when quiz integration is complete
-        }
+        AuthenticatedUser user = currentUser.get();
 
-        List<LessonProgress> existingProgress = progressRepository.findByUserIdAndLessonIdIn(user.getId(), List.of(lessonId));
-        LessonProgress progress = existingProgress.isEmpty() ? new LessonProgress() : existingProgress.get(0);
-        
-        if (progress.getId() == null) {
-            progress.setId(java.util.UUID.randomUUID().toString());
-            progress.setUserId(user.getId());
-            progress.setLessonId(lessonId);
+        if (!lessonRepository.existsById(lessonId)) {
+            throw new RuntimeException("Lesson not found");
         }
-        
-        progress.setCompleted(true);
-        progress.setCompletedAt(java.time.LocalDateTime.now());
-        progressRepository.save(progress);
+        progressBuffer.add(user.getId(), lessonId);
+    }
+
+    public void recordVideoHeartbeat(String lessonId, VideoHeartbeatRequest request) {
+        AuthenticatedUser user = currentUser.get();
+        videoWatchTracker.heartbeat(user.getId(), lessonId, request.getPosition(), request.getDuration());
+    }
+
+    public VideoProgressResponse getVideoProgress(String lessonId) {
+        AuthenticatedUser user = currentUser.get();
+        return videoWatchTracker.getProgress(user.getId(), lessonId);
     }
-}
\ No newline at end of file
+}
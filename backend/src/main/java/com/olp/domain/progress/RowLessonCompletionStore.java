@@ -0,0 +1,127 @@
+package com.olp.domain.progress;
+
+import com.olp.shared.id.UuidV7;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link LessonCompletionStore} over {@code lesson_progress}, one row per user and lesson.
+ */
+@Component
+public class RowLessonCompletionStore implements LessonCompletionStore {
+
+    private static final int USER_CHUNK_SIZE = 500;
+
+    // completed_at keeps the first completion time; it is assigned before completed changes
+    private static final String UPSERT_PROGRESS =
+            "INSERT INTO lesson_progress (id, lesson_id, user_id, completed, completed_at) VALUES (?, ?, ?, TRUE, ?) " +
+            "ON DUPLICATE KEY UPDATE completed_at = IF(completed, completed_at, VALUES(completed_at)), completed = TRUE";
+    private static final String LOCK_COMPLETED =
+            "SELECT lesson_id, user_id FROM lesson_progress WHERE completed = TRUE AND (lesson_id, user_id) IN (%s) FOR UPDATE";
+    private static final String COMPLETED_BY_USERS =
+            "SELECT lp.user_id, lp.lesson_id FROM lesson_progress lp JOIN lessons l ON l.id = lp.lesson_id " +
+            "WHERE l.course_id = ? AND lp.completed = TRUE AND lp.user_id IN (%s)";
+    private static final String LOCK_COMPLETED_BY_USER =
+            "SELECT lp.lesson_id FROM lesson_progress lp JOIN lessons l ON l.id = lp.lesson_id " +
+            "WHERE l.course_id = ? AND lp.user_id = ? AND lp.completed = TRUE LOCK IN SHARE MODE";
+
+    // Unique key order, so concurrent writers lock rows in the same order
+    private static final Comparator<LessonCompletion> KEY_ORDER =
+            Comparator.comparing(LessonCompletion::lessonId).thenComparing(LessonCompletion::userId);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder readNanos = new LongAdder();
+
+    public RowLessonCompletionStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<LessonCompletion> record(Collection<LessonCompletion> completions) {
+        if (completions.isEmpty()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        Map<String, LessonCompletion> byKey = new TreeMap<>();
+        completions.stream().sorted(KEY_ORDER).forEach(completion ->
+                byKey.putIfAbsent(completion.lessonId() + "/" + completion.userId(), completion));
+        List<LessonCompletion> rows = byKey.values().stream().sorted(KEY_ORDER).toList();
+
+        Object[] args = new Object[rows.size() * 2];
+        for (int i = 0; i < rows.size(); i++) {
+            args[2 * i] = rows.get(i).lessonId();
+            args[2 * i + 1] = rows.get(i).userId();
+        }
+        String sql = String.format(LOCK_COMPLETED, String.join(", ", Collections.nCopies(rows.size(), "(?, ?)")));
+        Set<String> alreadyCompleted = new HashSet<>();
+        jdbcTemplate.query(sql, rs -> {
+            alreadyCompleted.add(rs.getString("lesson_id") + "/" + rs.getString("user_id"));
+        }, args);
+
+        jdbcTemplate.batchUpdate(UPSERT_PROGRESS, rows.stream()
+                .map(row -> new Object[]{UuidV7.toBytes(UuidV7.next()), row.lessonId(), row.userId(),
+                        Timestamp.valueOf(row.completedAt())})
+                .toList());
+
+        List<LessonCompletion> first = rows.stream()
+                .filter(row -> !alreadyCompleted.contains(row.lessonId() + "/" + row.userId()))
+                .toList();
+        writes.add(rows.size());
+        writeNanos.add(System.nanoTime() - start);
+        return first;
+    }
+
+    @Override
+    public Map<String, Set<String>> findCompletedLessonIds(String courseId, Collection<String> userIds) {
+        long start = System.nanoTime();
+        List<String> users = new ArrayList<>(new HashSet<>(userIds));
+        Map<String, Set<String>> result = new HashMap<>();
+        for (int from = 0; from < users.size(); from += USER_CHUNK_SIZE) {
+            List<String> chunk = users.subList(from, Math.min(from + USER_CHUNK_SIZE, users.size()));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = courseId;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.query(String.format(COMPLETED_BY_USERS, String.join(", ", Collections.nCopies(chunk.size(), "?"))), rs -> {
+                result.computeIfAbsent(rs.getString("user_id"), id -> new HashSet<>()).add(rs.getString("lesson_id"));
+            }, args);
+        }
+        reads.add(users.size());
+        readNanos.add(System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public Set<String> lockCompletedLessonIds(String userId, String courseId) {
+        return new HashSet<>(jdbcTemplate.queryForList(LOCK_COMPLETED_BY_USER, String.class, courseId, userId));
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rowsWritten", writes.sum());
+        stats.put("writeMillis", writeNanos.sum() / 1_000_000.0);
+        stats.put("usersRead", reads.sum());
+        stats.put("readMillis", readNanos.sum() / 1_000_000.0);
+        return stats;
+    }
+}
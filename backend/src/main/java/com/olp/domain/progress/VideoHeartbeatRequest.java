@@ -0,0 +1,20 @@
+package com.olp.domain.progress;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public class VideoHeartbeatRequest {
+    @NotNull(message = "Position is required")
+    @PositiveOrZero(message = "Position must not be negative")
+    private Double position;
+
+    @NotNull(message = "Duration is required")
+    @Positive(message = "Duration must be positive")
+    private Double duration;
+
+    public Double getPosition() { return position; }
+    public void setPosition(Double position) { this.position = position; }
+    public Double getDuration() { return duration; }
+    public void setDuration(Double duration) { this.duration = duration; }
+}
@@ -0,0 +1,23 @@
+package com.olp.domain.progress;
+
+public class VideoProgressResponse {
+    private String lessonId;
+    private Double positionSeconds;
+    private Double durationSeconds;
+    private Double watchedSeconds;
+    private Double watchedPercent;
+    private Boolean completed;
+
+    public String getLessonId() { return lessonId; }
+    public void setLessonId(String lessonId) { this.lessonId = lessonId; }
+    public Double getPositionSeconds() { return positionSeconds; }
+    public void setPositionSeconds(Double positionSeconds) { this.positionSeconds = positionSeconds; }
+    public Double getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(Double durationSeconds) { this.durationSeconds = durationSeconds; }
+    public Double getWatchedSeconds() { return watchedSeconds; }
+    public void setWatchedSeconds(Double watchedSeconds) { this.watchedSeconds = watchedSeconds; }
+    public Double getWatchedPercent() { return watchedPercent; }
+    public void setWatchedPercent(Double watchedPercent) { this.watchedPercent = watchedPercent; }
+    public Boolean getCompleted() { return completed; }
+    public void setCompleted(Boolean completed) { this.completed = completed; }
+}
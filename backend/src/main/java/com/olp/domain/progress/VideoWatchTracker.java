@@ -0,0 +1,487 @@
+package com.olp.domain.progress;
+
+import com.olp.shared.exception.ServiceOverloadedException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates video player heartbeats in memory. Each (user, lesson) being watched has a {@link WatchState}
+ * holding the latest position and the union of watched intervals, so a heartbeat is a map lookup and a
+ * few comparisons under that state's lock. A flusher thread upserts the states that changed into
+ * {@code video_progress} every {@code progress.video.flush-interval-ms}, in batches of
+ * {@code flush-size}, and evicts states that have been idle for {@code idle-evict-ms}.
+ *
+ * <p>Only playback is credited: the advance between two heartbeats counts as watched when it is no more
+ * than the elapsed wall time at {@code max-playback-rate} and no longer than
+ * {@code max-heartbeat-gap-seconds}. Seeks and stale heartbeats only move the position. Once the watched
+ * intervals cover {@code complete-fraction} of the duration, the lesson is completed through the
+ * {@link LessonProgressBuffer}, once per state.
+ *
+ * <p>Crash safety: a crash loses at most one flush interval of watch time; the student resumes a few
+ * seconds earlier. Beyond {@code max-sessions} active states, new sessions are turned away with a 503
+ * rather than growing the heap.
+ */
+@Component
+public class VideoWatchTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoWatchTracker.class);
+
+    // Intervals are kept in tenths of a second
+    private static final double TICKS_PER_SECOND = 10.0;
+    private static final int MAX_INTERVALS = 1024;
+    private static final double MAX_DURATION_SECONDS = 24 * 60 * 60;
+    private static final double SLACK_SECONDS = 2.0;
+
+    private static final String LOAD_STATE =
+            "SELECT l.id, vp.position_seconds, vp.duration_seconds, vp.watched_intervals FROM lessons l " +
+            "LEFT JOIN video_progress vp ON vp.lesson_id = l.id AND vp.user_id = ? WHERE l.id = ?";
+    private static final String UPSERT_STATE =
+            "INSERT INTO video_progress (user_id, lesson_id, position_seconds, duration_seconds, watched_seconds, " +
+            "watched_intervals, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "position_seconds = VALUES(position_seconds), duration_seconds = VALUES(duration_seconds), " +
+            "watched_seconds = VALUES(watched_seconds), watched_intervals = VALUES(watched_intervals), " +
+            "updated_at = VALUES(updated_at)";
+
+    private static final Comparator<Snapshot> KEY_ORDER =
+            Comparator.comparing((Snapshot snapshot) -> snapshot.key().userId())
+                    .thenComparing(snapshot -> snapshot.key().lessonId());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LessonProgressBuffer progressBuffer;
+    private final long flushIntervalMillis;
+    private final int flushSize;
+    private final double completeFraction;
+    private final double maxPlaybackRate;
+    private final double maxHeartbeatGapSeconds;
+    private final long idleEvictNanos;
+    private final int maxSessions;
+
+    private final Map<Key, WatchState> sessions = new ConcurrentHashMap<>();
+    private final LongAdder heartbeats = new LongAdder();
+    private final LongAdder uncredited = new LongAdder();
+    private final LongAdder loaded = new LongAdder();
+    private final LongAdder completions = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running;
+    private Thread flusher;
+
+    public VideoWatchTracker(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             LessonProgressBuffer progressBuffer,
+                             @Value("${progress.video.flush-interval-ms:10000}") long flushIntervalMillis,
+                             @Value("${progress.video.flush-size:500}") int flushSize,
+                             @Value("${progress.video.complete-fraction:0.9}") double completeFraction,
+                             @Value("${progress.video.max-playback-rate:2.0}") double maxPlaybackRate,
+                             @Value("${progress.video.max-heartbeat-gap-seconds:30}") double maxHeartbeatGapSeconds,
+                             @Value("${progress.video.idle-evict-ms:600000}") long idleEvictMillis,
+                             @Value("${progress.video.max-sessions:200000}") int maxSessions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.progressBuffer = progressBuffer;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushSize = Math.max(1, flushSize);
+        this.completeFraction = completeFraction;
+        this.maxPlaybackRate = maxPlaybackRate;
+        this.maxHeartbeatGapSeconds = maxHeartbeatGapSeconds;
+        this.idleEvictNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictMillis);
+        this.maxSessions = maxSessions;
+    }
+
+    public void heartbeat(String userId, String lessonId, double position, double duration) {
+        if (!Double.isFinite(position) || !Double.isFinite(duration) || position < 0
+                || duration <= 0 || duration > MAX_DURATION_SECONDS) {
+            throw new RuntimeException("Invalid video position");
+        }
+        heartbeats.increment();
+        Key key = new Key(userId, lessonId);
+        while (true) {
+            WatchState state = sessions.get(key);
+            if (state == null) {
+                if (sessions.size() >= maxSessions) {
+                    rejected.increment();
+                    throw new ServiceOverloadedException("Too many active video sessions", 30);
+                }
+                WatchState fresh = load(key);
+                loaded.increment();
+                state = sessions.putIfAbsent(key, fresh);
+                if (state == null) {
+                    state = fresh;
+                }
+            }
+            Boolean completedNow = apply(state, Math.min(position, duration), duration);
+            if (completedNow == null) {
+                // Evicted between lookup and lock; the flusher already wrote it, so load it again
+                continue;
+            }
+            if (completedNow) {
+                try {
+                    progressBuffer.add(userId, lessonId);
+                } catch (ServiceOverloadedException e) {
+                    // Not recorded; let the retried heartbeat complete the lesson again
+                    synchronized (state) {
+                        state.completed = false;
+                    }
+                    throw e;
+                }
+                completions.increment();
+            }
+            return;
+        }
+    }
+
+    /**
+     * The student's position and watched time for a lesson, from memory when it is being watched.
+     */
+    public VideoProgressResponse getProgress(String userId, String lessonId) {
+        Key key = new Key(userId, lessonId);
+        WatchState state = sessions.get(key);
+        if (state == null) {
+            state = load(key);
+        }
+        VideoProgressResponse response = new VideoProgressResponse();
+        response.setLessonId(lessonId);
+        synchronized (state) {
+            double watched = state.watchedTicks / TICKS_PER_SECOND;
+            response.setPositionSeconds(state.position);
+            response.setDurationSeconds(state.duration);
+            response.setWatchedSeconds(watched);
+            response.setWatchedPercent(state.duration > 0 ? Math.min(100.0, watched / state.duration * 100) : 0.0);
+            response.setCompleted(state.completed);
+        }
+        return response;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "video-progress-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = flusher;
+        }
+        if (current != null) {
+            current.interrupt();
+            current.join(5_000);
+        }
+        flush();
+    }
+
+    /**
+     * Writes every changed state and evicts idle ones. Heartbeats keep landing while this runs; whatever
+     * arrives after a state was copied is written on the next round.
+     */
+    public synchronized void flush() {
+        long now = System.nanoTime();
+        List<Snapshot> batch = new ArrayList<>();
+        for (Map.Entry<Key, WatchState> entry : sessions.entrySet()) {
+            WatchState state = entry.getValue();
+            synchronized (state) {
+                if (state.evicted) {
+                    continue;
+                }
+                if (state.dirty) {
+                    state.dirty = false;
+                    batch.add(new Snapshot(entry.getKey(), state, state.position, state.duration,
+                            state.watchedTicks / TICKS_PER_SECOND, state.encodeIntervals()));
+                } else if (now - state.lastTouchedNanos > idleEvictNanos) {
+                    state.evicted = true;
+                    sessions.remove(entry.getKey(), state);
+                    evicted.increment();
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Primary key order, so concurrent writers lock rows in the same order
+        batch.sort(KEY_ORDER);
+        for (int from = 0; from < batch.size(); from += flushSize) {
+            writeChunk(batch.subList(from, Math.min(from + flushSize, batch.size())));
+        }
+        flushes.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeSessions", sessions.size());
+        stats.put("heartbeats", heartbeats.sum());
+        stats.put("uncreditedAdvances", uncredited.sum());
+        stats.put("sessionsLoaded", loaded.sum());
+        stats.put("completions", completions.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("rowsFlushed", flushed.sum());
+        stats.put("flushes", flushes.sum());
+        stats.put("evicted", evicted.sum());
+        stats.put("dropped", dropped.sum());
+        return stats;
+    }
+
+    // Returns whether this heartbeat completed the lesson, or null when the state was evicted meanwhile
+    private Boolean apply(WatchState state, double position, double duration) {
+        synchronized (state) {
+            if (state.evicted) {
+                return null;
+            }
+            long now = System.nanoTime();
+            if (state.lastHeartbeatNanos != 0) {
+                double advance = position - state.lastPosition;
+                double elapsed = (now - state.lastHeartbeatNanos) / 1e9;
+                if (advance > 0 && advance <= Math.min(elapsed * maxPlaybackRate + SLACK_SECONDS, maxHeartbeatGapSeconds)) {
+                    state.addInterval((int) Math.floor(state.lastPosition * TICKS_PER_SECOND),
+                            (int) Math.ceil(position * TICKS_PER_SECOND));
+                } else if (advance != 0) {
+                    uncredited.increment();
+                }
+            }
+            state.position = position;
+            state.duration = duration;
+            state.lastPosition = position;
+            state.lastHeartbeatNanos = now;
+            state.lastTouchedNanos = now;
+            state.dirty = true;
+            if (!state.completed && state.reached(completeFraction)) {
+                state.completed = true;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private WatchState load(Key key) {
+        List<WatchState> rows = jdbcTemplate.query(LOAD_STATE, (rs, rowNum) -> {
+            WatchState state = new WatchState();
+            double duration = rs.getDouble("duration_seconds");
+            if (!rs.wasNull()) {
+                state.position = rs.getDouble("position_seconds");
+                state.duration = duration;
+                state.decodeIntervals(rs.getBytes("watched_intervals"));
+            }
+            return state;
+        }, key.userId(), key.lessonId());
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Lesson not found");
+        }
+        WatchState state = rows.get(0);
+        // Already past the threshold on an earlier visit; the completion was recorded then
+        state.completed = state.reached(completeFraction);
+        state.lastTouchedNanos = System.nanoTime();
+        return state;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMillis);
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Video progress flush failed", e);
+            }
+        }
+    }
+
+    private void writeChunk(List<Snapshot> chunk) {
+        try {
+            write(chunk);
+            flushed.add(chunk.size());
+        } catch (RuntimeException e) {
+            // Retry row by row so a lesson deleted meanwhile is dropped instead of blocking the chunk;
+            // anything else marks the rest dirty again for the next round.
+            for (int i = 0; i < chunk.size(); i++) {
+                Snapshot row = chunk.get(i);
+                try {
+                    write(List.of(row));
+                    flushed.increment();
+                } catch (DataIntegrityViolationException rowError) {
+                    dropped.increment();
+                    synchronized (row.state()) {
+                        row.state().evicted = true;
+                        sessions.remove(row.key(), row.state());
+                    }
+                    log.warn("Dropping video progress of lesson {} for user {}: {}", row.key().lessonId(),
+                            row.key().userId(), rowError.getMessage());
+                } catch (RuntimeException rowError) {
+                    chunk.subList(i, chunk.size()).forEach(rest -> {
+                        synchronized (rest.state()) {
+                            rest.state().dirty = true;
+                        }
+                    });
+                    log.warn("Video progress flush failed; {} rows will be retried", chunk.size() - i, rowError);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void write(List<Snapshot> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_STATE, rows.stream()
+                .map(row -> new Object[]{row.key().userId(), row.key().lessonId(), row.position(), row.duration(),
+                        row.watchedSeconds(), row.intervals(), now})
+                .toList()));
+    }
+
+    private record Key(String userId, String lessonId) {
+    }
+
+    private record Snapshot(Key key, WatchState state, double position, double duration, double watchedSeconds,
+                            byte[] intervals) {
+    }
+
+    /**
+     * Position and watched intervals of one student in one lesson. Guarded by its own monitor.
+     */
+    private static final class WatchState {
+        private double position;
+        private double duration;
+        // Sorted, disjoint, flattened [start, end) pairs in ticks
+        private int[] intervals = new int[4];
+        private int length;
+        private long watchedTicks;
+        private double lastPosition;
+        private long lastHeartbeatNanos;
+        private long lastTouchedNanos;
+        private boolean dirty;
+        private boolean completed;
+        private boolean evicted;
+
+        boolean reached(double fraction) {
+            return duration > 0 && watchedTicks >= fraction * duration * TICKS_PER_SECOND;
+        }
+
+        void addInterval(int start, int end) {
+            if (end <= start) {
+                return;
+            }
+            // Continuous playback extends the last interval in place
+            if (length > 0 && start >= intervals[length - 2] && start <= intervals[length - 1]) {
+                if (end > intervals[length - 1]) {
+                    watchedTicks += end - intervals[length - 1];
+                    intervals[length - 1] = end;
+                }
+                return;
+            }
+            int[] merged = new int[Math.max(4, length + 2)];
+            int size = 0;
+            boolean placed = false;
+            for (int i = 0; i < length; i += 2) {
+                int s = intervals[i];
+                int e = intervals[i + 1];
+                if (e < start) {
+                    merged[size++] = s;
+                    merged[size++] = e;
+                } else if (s > end) {
+                    if (!placed) {
+                        merged[size++] = start;
+                        merged[size++] = end;
+                        placed = true;
+                    }
+                    merged[size++] = s;
+                    merged[size++] = e;
+                } else {
+                    start = Math.min(start, s);
+                    end = Math.max(end, e);
+                }
+            }
+            if (!placed) {
+                merged[size++] = start;
+                merged[size++] = end;
+            }
+            intervals = merged;
+            length = size;
+            if (length / 2 > MAX_INTERVALS) {
+                closeSmallestGap();
+            }
+            recount();
+        }
+
+        // Bounds the state of a student who skips around; the gap closed is credited as watched
+        private void closeSmallestGap() {
+            int best = 2;
+            for (int i = 4; i < length; i += 2) {
+                if (intervals[i] - intervals[i - 1] < intervals[best] - intervals[best - 1]) {
+                    best = i;
+                }
+            }
+            intervals[best - 1] = intervals[best + 1];
+            System.arraycopy(intervals, best + 2, intervals, best, length - best - 2);
+            length -= 2;
+        }
+
+        private void recount() {
+            watchedTicks = 0;
+            for (int i = 0; i < length; i += 2) {
+                watchedTicks += intervals[i + 1] - intervals[i];
+            }
+        }
+
+        // Varint (gap from the previous end, length) pairs
+        byte[] encodeIntervals() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 2);
+            int previousEnd = 0;
+            for (int i = 0; i < length; i += 2) {
+                LessonBitmapCodec.writeVarint(out, intervals[i] - previousEnd);
+                LessonBitmapCodec.writeVarint(out, intervals[i + 1] - intervals[i]);
+                previousEnd = intervals[i + 1];
+            }
+            return out.toByteArray();
+        }
+
+        void decodeIntervals(byte[] encoded) {
+            if (encoded == null) {
+                return;
+            }
+            int[] position = {0};
+            int previousEnd = 0;
+            while (position[0] < encoded.length) {
+                int start = previousEnd + LessonBitmapCodec.readVarint(encoded, position);
+                int end = start + LessonBitmapCodec.readVarint(encoded, position);
+                if (length == intervals.length) {
+                    intervals = Arrays.copyOf(intervals, length * 2);
+                }
+                intervals[length++] = start;
+                intervals[length++] = end;
+                previousEnd = end;
+            }
+            recount();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.olp.domain.quiz;
+
+/**
+ * Bit-packed encoding of the options chosen in one attempt. Each question gets a fixed-width slot
+ * holding 0 for "unanswered" or 1 + the option's position within that question, with the width chosen
+ * from the question with the most options (a 50-question, four-option quiz packs into 19 bytes of
+ * slots). A four-byte header records the format version, slot width and question count so stored
+ * sheets can be decoded without guessing.
+ */
+public final class AnswerSheetCodec {
+
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4;
+
+    private AnswerSheetCodec() {
+    }
+
+    public static byte[] encode(QuizAnswerKey key, int[] selections) {
+        int questions = key.getTotalQuestions();
+        int width = slotWidth(key.maxOptionCount());
+        byte[] sheet = new byte[HEADER_BYTES + (questions * width + 7) / 8];
+        sheet[0] = (byte) VERSION;
+        sheet[1] = (byte) width;
+        sheet[2] = (byte) (questions >>> 8);
+        sheet[3] = (byte) questions;
+
+        long bit = (long) HEADER_BYTES * 8;
+        for (int q = 0; q < questions; q++) {
+            int slot = selections[q] < 0 ? 0 : selections[q] - key.optionStart(q) + 1;
+            for (int b = width - 1; b >= 0; b--, bit++) {
+                if (((slot >>> b) & 1) != 0) {
+                    sheet[(int) (bit >>> 3)] |= (byte) (0x80 >>> (bit & 7));
+                }
+            }
+        }
+        return sheet;
+    }
+
+    /**
+     * Returns the selected option ordinal per question, {@code -1} for unanswered questions.
+     */
+    public static int[] decode(QuizAnswerKey key, byte[] sheet) {
+        if (sheet.length < HEADER_BYTES || sheet[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported answer sheet format");
+        }
+        int width = sheet[1];
+        int questions = ((sheet[2] & 0xFF) << 8) | (sheet[3] & 0xFF);
+        if (questions != key.getTotalQuestions()) {
+            throw new IllegalArgumentException("Answer sheet has " + questions + " questions but quiz "
+                    + key.getQuizId() + " has " + key.getTotalQuestions());
+        }
+
+        int[] selections = new int[questions];
+        long bit = (long) HEADER_BYTES * 8;
+        for (int q = 0; q < questions; q++) {
+            int slot = 0;
+            for (int b = 0; b < width; b++, bit++) {
+                slot = (slot << 1) | ((sheet[(int) (bit >>> 3)] >>> (7 - (bit & 7))) & 1);
+            }
+            selections[q] = slot == 0 || slot > key.optionCount(q) ? -1 : key.optionStart(q) + slot - 1;
+        }
+        return selections;
+    }
+
+    private static int slotWidth(int maxOptions) {
+        // Enough bits for the values 0..maxOptions.
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(maxOptions));
+    }
+}
@@ -0,0 +1,479 @@
+package com.olp.domain.quiz;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olp.shared.exception.ServiceOverloadedException;
+import com.olp.shared.id.UuidV7;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exam-mode quiz submission. Accepting a submission records the raw answers in {@code quiz_submission}
+ * before the request returns. Submissions arriving together are written by one recorder thread as a
+ * single multi-row insert, so a burst at quiz close costs one commit per batch instead of one commit and
+ * one pooled connection per student. Grading happens on {@code quiz.submission.workers} background threads that
+ * drain the in-memory queue in batches and write the resulting attempts with one JDBC batch per
+ * drain. At most {@code quiz.submission.queue-capacity} submissions may be waiting; beyond that new
+ * submissions are refused with 503 before anything is written.
+ *
+ * <p>Every pending submission is leased to the instance that queued it for
+ * {@code quiz.submission.lease-seconds}, and the instance renews its leases while they wait. Submissions
+ * whose lease ran out were left behind by an instance that stopped or crashed; the other instances claim
+ * them in batches and grade them. A submission is graded exactly once: the attempt is only written by the
+ * transaction that moves the row out of {@code PENDING}, so a late duplicate from an instance that lost
+ * its lease is dropped.
+ */
+@Service
+public class ExamSubmissionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExamSubmissionService.class);
+
+    private static final String INSERT_SUBMISSION =
+            "INSERT INTO quiz_submission (id, quiz_id, user_id, answers, status, submitted_at, claimed_by, lease_until) " +
+            "VALUES (?, ?, ?, ?, 'PENDING', ?, ?, DATE_ADD(NOW(3), INTERVAL ? SECOND))";
+    private static final String MARK_GRADED =
+            "UPDATE quiz_submission SET status = 'GRADED', attempt_id = ?, score = ?, total_questions = ?, passed = ?, graded_at = ? " +
+            "WHERE id = ? AND status = 'PENDING'";
+    private static final String MARK_FAILED =
+            "UPDATE quiz_submission SET status = 'FAILED', error = ?, graded_at = ? WHERE id = ? AND status = 'PENDING'";
+    private static final String RENEW_LEASES =
+            "UPDATE quiz_submission SET lease_until = DATE_ADD(NOW(3), INTERVAL ? SECOND) WHERE claimed_by = ? AND status = 'PENDING'";
+    private static final String RELEASE_LEASES =
+            "UPDATE quiz_submission SET lease_until = NOW(3) WHERE claimed_by = ? AND status = 'PENDING'";
+    private static final String SELECT_EXPIRED =
+            "SELECT id, quiz_id, user_id, answers, submitted_at FROM quiz_submission " +
+            "WHERE status = 'PENDING' AND lease_until < NOW(3) ORDER BY lease_until LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String CLAIM =
+            "UPDATE quiz_submission SET claimed_by = ?, lease_until = DATE_ADD(NOW(3), INTERVAL ? SECOND) WHERE id = ?";
+    private static final String SELECT_SUBMISSION =
+            "SELECT quiz_id, user_id, status, score, total_questions, passed, submitted_at, graded_at, error " +
+            "FROM quiz_submission WHERE id = ?";
+
+    private static final TypeReference<Map<String, String>> ANSWERS_TYPE = new TypeReference<>() {};
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final QuizAnswerKeyCache answerKeyCache;
+    private final QuizAttemptWriter attemptWriter;
+    private final QuizAttemptSummaryRepository summaryRepository;
+    private final CurrentUser currentUser;
+    private final ObjectMapper objectMapper;
+
+    private final int workerCount;
+    private final int batchSize;
+    private final int retryAfterSeconds;
+    private final int leaseSeconds;
+    private final String owner = UuidV7.next();
+    private final BlockingQueue<PendingSubmission> queue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Recording> recordings = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder graded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    public ExamSubmissionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 QuizAnswerKeyCache answerKeyCache, QuizAttemptWriter attemptWriter,
+                                 QuizAttemptSummaryRepository summaryRepository, CurrentUser currentUser, ObjectMapper objectMapper,
+                                 @Value("${quiz.submission.workers:2}") int workerCount,
+                                 @Value("${quiz.submission.queue-capacity:5000}") int queueCapacity,
+                                 @Value("${quiz.submission.batch-size:100}") int batchSize,
+                                 @Value("${quiz.submission.retry-after-seconds:5}") int retryAfterSeconds,
+                                 @Value("${quiz.submission.lease-seconds:60}") int leaseSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.answerKeyCache = answerKeyCache;
+        this.attemptWriter = attemptWriter;
+        this.summaryRepository = summaryRepository;
+        this.currentUser = currentUser;
+        this.objectMapper = objectMapper;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.leaseSeconds = Math.max(3, leaseSeconds);
+        this.capacity = new Semaphore(queueCapacity);
+    }
+
+    public Map<String, Object> accept(String quizId, Map<String, String> answers) {
+        AuthenticatedUser user = currentUser.get();
+        String answersJson = writeAnswers(answers);
+        if (!capacity.tryAcquire()) {
+            shed.increment();
+            throw new ServiceOverloadedException("Too many quiz submissions in progress, please retry shortly", retryAfterSeconds);
+        }
+
+        PendingSubmission submission = new PendingSubmission(UuidV7.next(), quizId, user.getId(), answers, LocalDateTime.now());
+        Object[] row = {UuidV7.toBytes(submission.id()), quizId, user.getId(), answersJson,
+                Timestamp.valueOf(submission.submittedAt()), owner, leaseSeconds};
+        if (running) {
+            awaitRecorded(new Recording(submission, row, new CompletableFuture<>()));
+        } else {
+            // Not started yet or shutting down: there is no recorder thread, so write the row here.
+            try {
+                jdbcTemplate.update(INSERT_SUBMISSION, row);
+            } catch (RuntimeException e) {
+                capacity.release();
+                throw e;
+            }
+            queue.add(submission);
+        }
+        accepted.increment();
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("submissionId", submission.id());
+        result.put("status", "PENDING");
+        return result;
+    }
+
+    private void awaitRecorded(Recording recording) {
+        recordings.add(recording);
+        try {
+            recording.done().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while recording the quiz submission");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+        }
+    }
+
+    public Map<String, Object> getSubmission(String submissionId) {
+        AuthenticatedUser user = currentUser.get();
+        byte[] id;
+        try {
+            id = UuidV7.toBytes(submissionId);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Submission not found");
+        }
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_SUBMISSION, id);
+        if (rows.isEmpty() || !user.getId().equals(rows.get(0).get("user_id"))) {
+            throw new RuntimeException("Submission not found");
+        }
+        Map<String, Object> row = rows.get(0);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("submissionId", submissionId);
+        result.put("quizId", row.get("quiz_id"));
+        result.put("status", row.get("status"));
+        result.put("submittedAt", row.get("submitted_at"));
+        if ("GRADED".equals(row.get("status"))) {
+            int correctAnswers = ((Number) row.get("score")).intValue();
+            int totalQuestions = ((Number) row.get("total_questions")).intValue();
+            double percentage = (double) correctAnswers / totalQuestions * 100;
+            result.put("score", Math.round(percentage));
+            result.put("correctAnswers", correctAnswers);
+            result.put("totalQuestions", totalQuestions);
+            result.put("percentage", Math.round(percentage));
+            result.put("passed", row.get("passed"));
+            result.put("gradedAt", row.get("graded_at"));
+            result.put("attemptCount", summaryRepository.findByUserIdAndQuizId(user.getId(), (String) row.get("quiz_id"))
+                    .map(QuizAttemptSummary::getAttemptCount).orElse(0));
+        } else if ("FAILED".equals(row.get("status"))) {
+            result.put("error", row.get("error"));
+        }
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("workers", workerCount);
+        stats.put("queueDepth", queue.size());
+        stats.put("availableCapacity", capacity.availablePermits());
+        stats.put("accepted", accepted.sum());
+        stats.put("shed", shed.sum());
+        stats.put("graded", graded.sum());
+        stats.put("failed", failed.sum());
+        stats.put("recovered", recovered.sum());
+        stats.put("duplicatesDropped", duplicates.sum());
+        return stats;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread recorder = new Thread(this::record, "quiz-submission-recorder");
+        recorder.setDaemon(true);
+        recorder.start();
+        workers.add(recorder);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::drain, "quiz-submission-worker-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        Thread leases = new Thread(this::maintainLeases, "quiz-submission-leases");
+        leases.setDaemon(true);
+        leases.start();
+        workers.add(leases);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        workers.forEach(Thread::interrupt);
+        // Hand whatever is still queued here to the other instances straight away instead of after the lease.
+        try {
+            jdbcTemplate.update(RELEASE_LEASES, owner);
+        } catch (RuntimeException e) {
+            log.warn("Could not release quiz submission leases; they will expire in {}s", leaseSeconds, e);
+        }
+    }
+
+    private void record() {
+        List<Recording> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Recording first = recordings.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                recordings.drainTo(batch, batchSize - 1);
+                jdbcTemplate.batchUpdate(INSERT_SUBMISSION, batch.stream().map(Recording::row).toList());
+                batch.forEach(recording -> queue.add(recording.submission()));
+                batch.forEach(recording -> recording.done().complete(null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                // Nothing of a failed batch was queued, so its permits are returned here.
+                capacity.release(batch.size());
+                batch.forEach(recording -> recording.done().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        RuntimeException stopped = new ServiceOverloadedException("Quiz submissions are not being accepted right now", retryAfterSeconds);
+        recordings.drainTo(batch);
+        capacity.release(batch.size());
+        batch.forEach(recording -> recording.done().completeExceptionally(stopped));
+    }
+
+    private void maintainLeases() {
+        long intervalMillis = TimeUnit.SECONDS.toMillis(leaseSeconds) / 3;
+        while (running) {
+            try {
+                jdbcTemplate.update(RENEW_LEASES, leaseSeconds, owner);
+                recoverExpired();
+            } catch (RuntimeException e) {
+                log.error("Failed to renew or recover quiz submission leases", e);
+            }
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void recoverExpired() {
+        int claimed;
+        do {
+            int permits = Math.min(capacity.availablePermits(), batchSize);
+            if (permits == 0 || !capacity.tryAcquire(permits)) {
+                return;
+            }
+            claimed = 0;
+            try {
+                List<PendingSubmission> submissions = claimExpired(permits);
+                claimed = submissions.size();
+                queue.addAll(submissions);
+            } finally {
+                capacity.release(permits - claimed);
+            }
+            if (claimed > 0) {
+                log.info("Claimed {} quiz submissions whose lease had expired", claimed);
+                recovered.add(claimed);
+            }
+        } while (claimed == batchSize && running);
+    }
+
+    private List<PendingSubmission> claimExpired(int limit) {
+        // SKIP LOCKED lets several instances recover a large backlog side by side without waiting on each other.
+        return transactionTemplate.execute(status -> {
+            List<PendingSubmission> expired = jdbcTemplate.query(SELECT_EXPIRED, (rs, rowNum) -> new PendingSubmission(
+                    UuidV7.fromBytes(rs.getBytes("id")),
+                    rs.getString("quiz_id"),
+                    rs.getString("user_id"),
+                    readAnswers(rs.getString("answers")),
+                    rs.getTimestamp("submitted_at").toLocalDateTime()), limit);
+            if (!expired.isEmpty()) {
+                jdbcTemplate.batchUpdate(CLAIM, expired.stream()
+                        .map(submission -> new Object[]{owner, leaseSeconds, UuidV7.toBytes(submission.id())})
+                        .toList());
+            }
+            return expired;
+        });
+    }
+
+    private void drain() {
+        List<PendingSubmission> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingSubmission first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                gradeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to grade a batch of {} quiz submissions", batch.size(), e);
+            } finally {
+                capacity.release(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void gradeBatch(List<PendingSubmission> batch) {
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            // Retry one by one so a single bad row cannot hold back the rest of the batch.
+            log.warn("Batch write of {} quiz submissions failed, retrying individually", batch.size(), e);
+            for (PendingSubmission submission : batch) {
+                try {
+                    write(List.of(submission));
+                } catch (RuntimeException single) {
+                    markFailed(submission, single);
+                }
+            }
+        }
+    }
+
+    private void write(List<PendingSubmission> submissions) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<QuizAttempt> attempts = new ArrayList<>();
+        List<Object[]> gradedRows = new ArrayList<>();
+        List<Object[]> failedRows = new ArrayList<>();
+
+        for (PendingSubmission submission : submissions) {
+            QuizAnswerKey answerKey;
+            try {
+                answerKey = answerKeyCache.get(submission.quizId());
+            } catch (RuntimeException e) {
+                failedRows.add(new Object[]{errorMessage(e), now, UuidV7.toBytes(submission.id())});
+                continue;
+            }
+            int[] selections = answerKey.selections(submission.answers());
+            int correctAnswers = answerKey.score(selections);
+
+            QuizAttempt attempt = new QuizAttempt();
+            attempt.setId(UuidV7.next());
+            attempt.setQuizId(submission.quizId());
+            attempt.setUserId(submission.userId());
+            attempt.setScore(correctAnswers);
+            attempt.setTotalQuestions(answerKey.getTotalQuestions());
+            attempt.setPassed(answerKey.isPassing(correctAnswers));
+            attempt.setAttemptedAt(submission.submittedAt());
+            attempt.setAnswers(AnswerSheetCodec.encode(answerKey, selections));
+            attempts.add(attempt);
+            gradedRows.add(new Object[]{UuidV7.toBytes(attempt.getId()), attempt.getScore(), attempt.getTotalQuestions(),
+                    attempt.getPassed(), now, UuidV7.toBytes(submission.id())});
+        }
+
+        Integer written = transactionTemplate.execute(status -> {
+            // Mark first: the row lock makes a second instance grading the same submission wait for this
+            // commit and then match nothing, so only the attempts of rows moved out of PENDING here are written.
+            List<QuizAttempt> claimed = new ArrayList<>(attempts.size());
+            if (!gradedRows.isEmpty()) {
+                int[] counts = jdbcTemplate.batchUpdate(MARK_GRADED, gradedRows);
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0) {
+                        claimed.add(attempts.get(i));
+                    }
+                }
+            }
+            attemptWriter.insertAll(claimed);
+            if (!failedRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(MARK_FAILED, failedRows);
+            }
+            return claimed.size();
+        });
+        graded.add(written);
+        duplicates.add(gradedRows.size() - written);
+        failed.add(failedRows.size());
+    }
+
+    private void markFailed(PendingSubmission submission, RuntimeException e) {
+        log.warn("Quiz submission {} could not be graded", submission.id(), e);
+        try {
+            jdbcTemplate.update(MARK_FAILED, errorMessage(e), Timestamp.valueOf(LocalDateTime.now()),
+                    UuidV7.toBytes(submission.id()));
+            failed.increment();
+        } catch (RuntimeException updateFailure) {
+            log.error("Could not mark quiz submission {} as failed; it will be retried once this instance stops renewing its lease", submission.id(), updateFailure);
+        }
+    }
+
+    private String writeAnswers(Map<String, String> answers) {
+        try {
+            return objectMapper.writeValueAsString(answers);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid quiz answers");
+        }
+    }
+
+    private Map<String, String> readAnswers(String json) {
+        try {
+            return objectMapper.readValue(json, ANSWERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored quiz answers are not valid JSON", e);
+        }
+    }
+
+    private static String errorMessage(RuntimeException e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private record Recording(PendingSubmission submission, Object[] row, CompletableFuture<Void> done) {
+    }
+
+    private record PendingSubmission(String id, String quizId, String userId, Map<String, String> answers,
+                                     LocalDateTime submittedAt) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.olp.domain.quiz;
+
+import com.olp.domain.user.User;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Classical item analysis for section quizzes, maintained incrementally. Every recorded attempt adds
+ * to running sums per quiz (attempts, total score, total squared score), per question (correct
+ * answers and the total score of the students who got it right) and per option (times selected).
+ * Difficulty, point-biserial discrimination and distractor frequencies are derived from those sums
+ * on read, so serving a report never rescans attempt history.
+ *
+ * <p>Only attempts recorded with an answer sheet contribute; attempts from before answer sheets were
+ * stored are not included.
+ */
+@Service
+public class ItemAnalysisService {
+
+    private static final String UPSERT_TOTALS =
+            "INSERT INTO quiz_item_totals (quiz_id, attempt_count, score_sum, score_sq_sum) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE attempt_count = attempt_count + VALUES(attempt_count), " +
+            "score_sum = score_sum + VALUES(score_sum), score_sq_sum = score_sq_sum + VALUES(score_sq_sum)";
+    private static final String UPSERT_QUESTION =
+            "INSERT INTO quiz_item_stats (quiz_id, question_ordinal, correct_count, correct_score_sum) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE correct_count = correct_count + VALUES(correct_count), " +
+            "correct_score_sum = correct_score_sum + VALUES(correct_score_sum)";
+    private static final String UPSERT_OPTION =
+            "INSERT INTO quiz_option_stats (quiz_id, option_ordinal, selected_count) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE selected_count = selected_count + VALUES(selected_count)";
+    private static final String QUIZ_INSTRUCTOR_SQL =
+            "SELECT c.instructor_id FROM section_quiz q JOIN sections s ON s.id = q.section_id " +
+            "JOIN courses c ON c.id = s.course_id WHERE q.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuizAnswerKeyCache answerKeyCache;
+    private final SectionQuizRepository quizRepository;
+    private final QuizQuestionRepository questionRepository;
+    private final CurrentUser currentUser;
+
+    public ItemAnalysisService(JdbcTemplate jdbcTemplate, QuizAnswerKeyCache answerKeyCache,
+                               SectionQuizRepository quizRepository, QuizQuestionRepository questionRepository,
+                               CurrentUser currentUser) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.answerKeyCache = answerKeyCache;
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.currentUser = currentUser;
+    }
+
+    /**
+     * Adds a batch of freshly inserted attempts to the running sums. Deltas are combined per quiz first
+     * and written in key order, so concurrent batches touch shared rows in the same order.
+     */
+    void record(List<QuizAttempt> attempts) {
+        Map<String, QuizDelta> deltas = new TreeMap<>();
+        for (QuizAttempt attempt : attempts) {
+            if (attempt.getAnswers() == null) {
+                continue;
+            }
+            QuizAnswerKey key = answerKeyCache.get(attempt.getQuizId());
+            int[] selections = AnswerSheetCodec.decode(key, attempt.getAnswers());
+            deltas.computeIfAbsent(attempt.getQuizId(), id -> new QuizDelta(key)).add(selections, attempt.getScore());
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> totals = new ArrayList<>();
+        List<Object[]> questions = new ArrayList<>();
+        List<Object[]> options = new ArrayList<>();
+        deltas.forEach((quizId, delta) -> {
+            totals.add(new Object[]{quizId, delta.attempts, delta.scoreSum, delta.scoreSqSum});
+            for (int q = 0; q < delta.correct.length; q++) {
+                if (delta.correct[q] > 0) {
+                    questions.add(new Object[]{quizId, q, delta.correct[q], delta.correctScoreSum[q]});
+                }
+            }
+            for (int o = 0; o < delta.selected.length; o++) {
+                if (delta.selected[o] > 0) {
+                    options.add(new Object[]{quizId, o, delta.selected[o]});
+                }
+            }
+        });
+        jdbcTemplate.batchUpdate(UPSERT_TOTALS, totals);
+        if (!questions.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_QUESTION, questions);
+        }
+        if (!options.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_OPTION, options);
+        }
+    }
+
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    public Map<String, Object> getAnalysis(String quizId) {
+        AuthenticatedUser user = currentUser.get();
+        SectionQuiz quiz = quizRepository.findById(quizId).orElseThrow(() -> new RuntimeException("Quiz not found"));
+        if (user.getRole() != User.Role.ADMIN) {
+            String instructorId = jdbcTemplate.queryForObject(QUIZ_INSTRUCTOR_SQL, String.class, quizId);
+            if (!user.getId().equals(instructorId)) {
+                throw new RuntimeException("Access denied");
+            }
+        }
+
+        QuizAnswerKey key = answerKeyCache.get(quizId);
+        long attempts = 0;
+        long scoreSum = 0;
+        long scoreSqSum = 0;
+        List<Map<String, Object>> totalsRows = jdbcTemplate.queryForList(
+                "SELECT attempt_count, score_sum, score_sq_sum FROM quiz_item_totals WHERE quiz_id = ?", quizId);
+        if (!totalsRows.isEmpty()) {
+            attempts = ((Number) totalsRows.get(0).get("attempt_count")).longValue();
+            scoreSum = ((Number) totalsRows.get(0).get("score_sum")).longValue();
+            scoreSqSum = ((Number) totalsRows.get(0).get("score_sq_sum")).longValue();
+        }
+
+        long[] correct = new long[key.getTotalQuestions()];
+        long[] correctScoreSum = new long[key.getTotalQuestions()];
+        jdbcTemplate.query("SELECT question_ordinal, correct_count, correct_score_sum FROM quiz_item_stats WHERE quiz_id = ?",
+                rs -> {
+                    int q = rs.getInt(1);
+                    if (q < correct.length) {
+                        correct[q] = rs.getLong(2);
+                        correctScoreSum[q] = rs.getLong(3);
+                    }
+                }, quizId);
+        long[] selected = new long[key.getTotalOptions()];
+        jdbcTemplate.query("SELECT option_ordinal, selected_count FROM quiz_option_stats WHERE quiz_id = ?",
+                rs -> {
+                    int o = rs.getInt(1);
+                    if (o < selected.length) {
+                        selected[o] = rs.getLong(2);
+                    }
+                }, quizId);
+
+        Map<String, String> questionText = new HashMap<>();
+        Map<String, String> optionText = new HashMap<>();
+        for (Object[] row : questionRepository.findWithOptionsByQuizId(quizId)) {
+            questionText.put((String) row[0], (String) row[1]);
+            if (row[3] != null) {
+                optionText.put((String) row[3], (String) row[4]);
+            }
+        }
+
+        double mean = attempts > 0 ? (double) scoreSum / attempts : 0.0;
+        double stdDev = attempts > 0 ? Math.sqrt(Math.max(0.0, (double) scoreSqSum / attempts - mean * mean)) : 0.0;
+
+        List<Map<String, Object>> questions = new ArrayList<>();
+        for (int q = 0; q < key.getTotalQuestions(); q++) {
+            long answered = 0;
+            List<Map<String, Object>> options = new ArrayList<>();
+            for (int o = key.optionStart(q); o < key.optionStart(q) + key.optionCount(q); o++) {
+                answered += selected[o];
+                Map<String, Object> option = new LinkedHashMap<>();
+                option.put("optionId", key.optionId(o));
+                option.put("text", optionText.get(key.optionId(o)));
+                option.put("correct", key.isCorrect(o));
+                option.put("selectedCount", selected[o]);
+                option.put("frequency", attempts > 0 ? (double) selected[o] / attempts : null);
+                options.add(option);
+            }
+
+            Map<String, Object> question = new LinkedHashMap<>();
+            question.put("questionId", key.questionId(q));
+            question.put("question", questionText.get(key.questionId(q)));
+            question.put("correctCount", correct[q]);
+            question.put("omittedCount", attempts - answered);
+            question.put("difficulty", attempts > 0 ? (double) correct[q] / attempts : null);
+            question.put("discrimination", pointBiserial(attempts, scoreSum, stdDev, correct[q], correctScoreSum[q]));
+            question.put("options", options);
+            questions.add(question);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("quizId", quizId);
+        result.put("title", quiz.getTitle());
+        result.put("attempts", attempts);
+        result.put("meanScore", mean);
+        result.put("scoreStdDev", stdDev);
+        result.put("questions", questions);
+        return result;
+    }
+
+    /**
+     * Point-biserial correlation between answering the question correctly and the total score,
+     * or {@code null} when it is undefined (no spread in scores, or everyone/no one answered correctly).
+     */
+    private static Double pointBiserial(long attempts, long scoreSum, double stdDev, long correct, long correctScoreSum) {
+        if (stdDev == 0.0 || correct == 0 || correct == attempts) {
+            return null;
+        }
+        double p = (double) correct / attempts;
+        double meanCorrect = (double) correctScoreSum / correct;
+        double meanIncorrect = (double) (scoreSum - correctScoreSum) / (attempts - correct);
+        return (meanCorrect - meanIncorrect) / stdDev * Math.sqrt(p * (1 - p));
+    }
+
+    private static final class QuizDelta {
+        private long attempts;
+        private long scoreSum;
+        private long scoreSqSum;
+        private final long[] correct;
+        private final long[] correctScoreSum;
+        private final long[] selected;
+        private final QuizAnswerKey key;
+
+        QuizDelta(QuizAnswerKey key) {
+            this.key = key;
+            this.correct = new long[key.getTotalQuestions()];
+            this.correctScoreSum = new long[key.getTotalQuestions()];
+            this.selected = new long[key.getTotalOptions()];
+        }
+
+        void add(int[] selections, int score) {
+            attempts++;
+            scoreSum += score;
+            scoreSqSum += (long) score * score;
+            for (int q = 0; q < selections.length; q++) {
+                int option = selections[q];
+                if (option < 0) {
+                    continue;
+                }
+                selected[option]++;
+                if (key.isCorrect(option)) {
+                    correct[q]++;
+                    correctScoreSum[q] += score;
+                }
+            }
+        }
+    }
+}
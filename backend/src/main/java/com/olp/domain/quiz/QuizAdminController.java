@@ -0,0 +1,24 @@
+package com.olp.domain.quiz;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/quiz")
+public class QuizAdminController {
+
+    private final ExamSubmissionService examSubmissionService;
+
+    public QuizAdminController(ExamSubmissionService examSubmissionService) {
+        this.examSubmissionService = examSubmissionService;
+    }
+
+    @GetMapping("/submissions/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getSubmissionStats() {
+        return ResponseEntity.ok(examSubmissionService.getStats());
+    }
+}
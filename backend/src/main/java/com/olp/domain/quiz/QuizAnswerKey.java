@@ -0,0 +1,167 @@
+package com.olp.domain.quiz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, pre-compiled answer key for one quiz. Questions are numbered in id order and options are
+ * numbered question by question, so the options of question {@code q} occupy the ordinals
+ * {@code optionStart[q]} to {@code optionStart[q + 1] - 1}. {@code optionQuestion[o]} is the question an
+ * option belongs to and {@code optionCorrect[o]} whether its text matches that question's correct
+ * answer, so grading a submission is a pair of hash lookups per answer and never touches the database.
+ *
+ * <p>Quizzes are only ever created or deleted, never edited, so these ordinals are stable for the
+ * lifetime of a quiz and can be persisted (see {@link AnswerSheetCodec}).
+ */
+public final class QuizAnswerKey {
+
+    private static final double PASS_PERCENTAGE = 60;
+
+    private final String quizId;
+    private final String[] questionIds;
+    private final String[] optionIds;
+    private final Map<String, Integer> questionIndex;
+    private final Map<String, Integer> optionIndex;
+    private final int[] optionStart;
+    private final int[] optionQuestion;
+    private final boolean[] optionCorrect;
+
+    private QuizAnswerKey(String quizId, String[] questionIds, String[] optionIds, Map<String, Integer> questionIndex,
+                          Map<String, Integer> optionIndex, int[] optionStart, int[] optionQuestion,
+                          boolean[] optionCorrect) {
+        this.quizId = quizId;
+        this.questionIds = questionIds;
+        this.optionIds = optionIds;
+        this.questionIndex = questionIndex;
+        this.optionIndex = optionIndex;
+        this.optionStart = optionStart;
+        this.optionQuestion = optionQuestion;
+        this.optionCorrect = optionCorrect;
+    }
+
+    static QuizAnswerKey compile(String quizId, List<QuizQuestion> questions, List<QuizOption> options) {
+        List<QuizQuestion> orderedQuestions = questions.stream().sorted(Comparator.comparing(QuizQuestion::getId)).toList();
+
+        Map<String, Integer> questionIndex = new HashMap<>();
+        String[] questionIds = new String[orderedQuestions.size()];
+        for (int q = 0; q < orderedQuestions.size(); q++) {
+            questionIds[q] = orderedQuestions.get(q).getId();
+            questionIndex.put(questionIds[q], q);
+        }
+
+        List<QuizOption> orderedOptions = new ArrayList<>();
+        for (QuizOption option : options) {
+            if (questionIndex.containsKey(option.getQuestionId())) {
+                orderedOptions.add(option);
+            }
+        }
+        orderedOptions.sort(Comparator.comparing((QuizOption option) -> questionIndex.get(option.getQuestionId()))
+                .thenComparing(QuizOption::getId));
+
+        Map<String, Integer> optionIndex = new HashMap<>();
+        String[] optionIds = new String[orderedOptions.size()];
+        int[] optionStart = new int[orderedQuestions.size() + 1];
+        int[] optionQuestion = new int[orderedOptions.size()];
+        boolean[] optionCorrect = new boolean[orderedOptions.size()];
+        for (int o = 0; o < orderedOptions.size(); o++) {
+            QuizOption option = orderedOptions.get(o);
+            int q = questionIndex.get(option.getQuestionId());
+            optionIds[o] = option.getId();
+            optionIndex.put(option.getId(), o);
+            optionQuestion[o] = q;
+            optionCorrect[o] = orderedQuestions.get(q).getCorrectAnswer().equals(option.getOptionText());
+            optionStart[q + 1] = o + 1;
+        }
+        // Questions without options have an empty range starting where the previous one ended.
+        for (int q = 1; q <= orderedQuestions.size(); q++) {
+            optionStart[q] = Math.max(optionStart[q], optionStart[q - 1]);
+        }
+
+        return new QuizAnswerKey(quizId, questionIds, optionIds, Map.copyOf(questionIndex), Map.copyOf(optionIndex),
+                optionStart, optionQuestion, optionCorrect);
+    }
+
+    /**
+     * Resolves a submission mapping question id to selected option id into the selected option ordinal
+     * per question, {@code -1} where nothing valid was chosen. Unknown ids and options that belong to a
+     * different question count as unanswered.
+     */
+    public int[] selections(Map<String, String> answers) {
+        int[] selections = new int[questionIds.length];
+        Arrays.fill(selections, -1);
+        for (Map.Entry<String, String> answer : answers.entrySet()) {
+            Integer question = questionIndex.get(answer.getKey());
+            Integer option = answer.getValue() != null ? optionIndex.get(answer.getValue()) : null;
+            if (question != null && option != null && optionQuestion[option] == question) {
+                selections[question] = option;
+            }
+        }
+        return selections;
+    }
+
+    public int score(int[] selections) {
+        int correct = 0;
+        for (int option : selections) {
+            if (option >= 0 && optionCorrect[option]) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    public int score(Map<String, String> answers) {
+        return score(selections(answers));
+    }
+
+    public double percentage(int correct) {
+        return (double) correct / getTotalQuestions() * 100;
+    }
+
+    public boolean isPassing(int correct) {
+        return percentage(correct) >= PASS_PERCENTAGE;
+    }
+
+    public String getQuizId() {
+        return quizId;
+    }
+
+    public int getTotalQuestions() {
+        return questionIds.length;
+    }
+
+    public int getTotalOptions() {
+        return optionIds.length;
+    }
+
+    public String questionId(int question) {
+        return questionIds[question];
+    }
+
+    public String optionId(int option) {
+        return optionIds[option];
+    }
+
+    public int optionStart(int question) {
+        return optionStart[question];
+    }
+
+    public int optionCount(int question) {
+        return optionStart[question + 1] - optionStart[question];
+    }
+
+    public int maxOptionCount() {
+        int max = 0;
+        for (int q = 0; q < questionIds.length; q++) {
+            max = Math.max(max, optionCount(q));
+        }
+        return max;
+    }
+
+    public boolean isCorrect(int option) {
+        return optionCorrect[option];
+    }
+}
@@ -0,0 +1,93 @@
+package com.olp.domain.quiz;
+
+import com.olp.domain.course.CourseChangedEvent;
+import com.olp.domain.course.Section;
+import com.olp.domain.course.SectionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds a compiled {@link QuizAnswerKey} per quiz. A key is built on first submission with two queries
+ * to find the quiz's course, one for the questions and one for their options, then reused until the
+ * quiz or its course changes. Once {@code quiz.answer-key-cache.max-entries} keys are held, arbitrary
+ * ones are dropped to make room for the next.
+ */
+@Component
+public class QuizAnswerKeyCache {
+
+    private final SectionQuizRepository quizRepository;
+    private final SectionRepository sectionRepository;
+    private final QuizQuestionRepository questionRepository;
+    private final QuizOptionRepository optionRepository;
+    private final int maxEntries;
+    private final Map<String, CachedKey> keys = new ConcurrentHashMap<>();
+    // Bumped before a course's keys are dropped, so a key compiled across the drop is not kept
+    private final AtomicLong courseEvictions = new AtomicLong();
+
+    public QuizAnswerKeyCache(SectionQuizRepository quizRepository, SectionRepository sectionRepository,
+                              QuizQuestionRepository questionRepository, QuizOptionRepository optionRepository,
+                              @Value("${quiz.answer-key-cache.max-entries:1000}") int maxEntries) {
+        this.quizRepository = quizRepository;
+        this.sectionRepository = sectionRepository;
+        this.questionRepository = questionRepository;
+        this.optionRepository = optionRepository;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    public QuizAnswerKey get(String quizId) {
+        CachedKey cached = keys.get(quizId);
+        if (cached != null) {
+            return cached.key();
+        }
+        makeRoom();
+        long evictions = courseEvictions.get();
+        // A concurrent onQuizChanged for this quiz waits for the compile and then removes its result
+        cached = keys.computeIfAbsent(quizId, this::compile);
+        if (courseEvictions.get() != evictions) {
+            keys.remove(quizId, cached);
+        }
+        return cached.key();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        keys.remove(event.quizId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        // Deleting a section or course cascades to its quiz without a QuizChangedEvent
+        courseEvictions.incrementAndGet();
+        keys.values().removeIf(cached -> cached.courseId().equals(event.courseId()));
+    }
+
+    private void makeRoom() {
+        Iterator<CachedKey> iterator = keys.values().iterator();
+        while (keys.size() >= maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private CachedKey compile(String quizId) {
+        String courseId = quizRepository.findById(quizId)
+                .flatMap(quiz -> sectionRepository.findById(quiz.getSectionId()))
+                .map(Section::getCourseId)
+                .orElseThrow(() -> new RuntimeException("Quiz not found"));
+        List<QuizQuestion> questions = questionRepository.findByQuizId(quizId);
+        List<QuizOption> options = questions.isEmpty()
+                ? List.of()
+                : optionRepository.findByQuestionIdIn(questions.stream().map(QuizQuestion::getId).toList());
+        return new CachedKey(courseId, QuizAnswerKey.compile(quizId, questions, options));
+    }
+
+    private record CachedKey(String courseId, QuizAnswerKey key) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.olp.domain.quiz;
 
+import com.olp.shared.id.UuidBinaryConverter;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -7,7 +8,8 @@ import java.time.LocalDateTime;
 @Table(name = "quiz_attempt")
 public class QuizAttempt {
     @Id
-    @Column(length = 36, columnDefinition = "CHAR(36)")
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(columnDefinition = "BINARY(16)")
     private String id;
 
     @Column(name = "quiz_id", nullable = false, length = 36)
@@ -28,6 +30,10 @@ public class QuizAttempt {
     @Column(name = "attempted_at")
     private LocalDateTime attemptedAt;
 
+    // Selected options encoded with AnswerSheetCodec; null for attempts recorded before it existed
+    @Column(name = "answers")
+    private byte[] answers;
+
     public QuizAttempt() {
         this.attemptedAt = LocalDateTime.now();
     }
@@ -46,4 +52,6 @@ public class QuizAttempt {
     public void setPassed(Boolean passed) { this.passed = passed; }
     public LocalDateTime getAttemptedAt() { return attemptedAt; }
     public void setAttemptedAt(LocalDateTime attemptedAt) { this.attemptedAt = attemptedAt; }
+    public byte[] getAnswers() { return answers; }
+    public void setAnswers(byte[] answers) { this.answers = answers; }
 }
\ No newline at end of file
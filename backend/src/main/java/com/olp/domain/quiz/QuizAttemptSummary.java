@@ -0,0 +1,92 @@
+package com.olp.domain.quiz;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One row per (user, quiz) summarising every attempt, maintained by {@link QuizAttemptWriter} in the
+ * same transaction as the attempt insert.
+ */
+@Entity
+@Table(name = "quiz_attempt_summary")
+@IdClass(QuizAttemptSummary.Key.class)
+public class QuizAttemptSummary {
+    @Id
+    @Column(name = "user_id", length = 36)
+    private String userId;
+
+    @Id
+    @Column(name = "quiz_id", length = 36)
+    private String quizId;
+
+    @Column(name = "attempt_count", nullable = false)
+    private Integer attemptCount;
+
+    @Column(name = "best_percentage", nullable = false)
+    private Double bestPercentage;
+
+    @Column(nullable = false)
+    private Boolean passed;
+
+    @Column(name = "last_score", nullable = false)
+    private Integer lastScore;
+
+    @Column(name = "last_total_questions", nullable = false)
+    private Integer lastTotalQuestions;
+
+    @Column(name = "last_passed", nullable = false)
+    private Boolean lastPassed;
+
+    @Column(name = "last_attempted_at", nullable = false)
+    private LocalDateTime lastAttemptedAt;
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public String getQuizId() { return quizId; }
+    public void setQuizId(String quizId) { this.quizId = quizId; }
+    public Integer getAttemptCount() { return attemptCount; }
+    public void setAttemptCount(Integer attemptCount) { this.attemptCount = attemptCount; }
+    public Double getBestPercentage() { return bestPercentage; }
+    public void setBestPercentage(Double bestPercentage) { this.bestPercentage = bestPercentage; }
+    public Boolean getPassed() { return passed; }
+    public void setPassed(Boolean passed) { this.passed = passed; }
+    public Integer getLastScore() { return lastScore; }
+    public void setLastScore(Integer lastScore) { this.lastScore = lastScore; }
+    public Integer getLastTotalQuestions() { return lastTotalQuestions; }
+    public void setLastTotalQuestions(Integer lastTotalQuestions) { this.lastTotalQuestions = lastTotalQuestions; }
+    public Boolean getLastPassed() { return lastPassed; }
+    public void setLastPassed(Boolean lastPassed) { this.lastPassed = lastPassed; }
+    public LocalDateTime getLastAttemptedAt() { return lastAttemptedAt; }
+    public void setLastAttemptedAt(LocalDateTime lastAttemptedAt) { this.lastAttemptedAt = lastAttemptedAt; }
+
+    public double getLastPercentage() {
+        return lastTotalQuestions > 0 ? (double) lastScore / lastTotalQuestions * 100 : 0.0;
+    }
+
+    public static class Key implements Serializable {
+        private String userId;
+        private String quizId;
+
+        public Key() {}
+
+        public Key(String userId, String quizId) {
+            this.userId = userId;
+            this.quizId = quizId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(quizId, key.quizId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, quizId);
+        }
+    }
+}
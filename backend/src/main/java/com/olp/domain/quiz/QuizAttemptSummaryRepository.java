@@ -0,0 +1,14 @@
+package com.olp.domain.quiz;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuizAttemptSummaryRepository extends JpaRepository<QuizAttemptSummary, QuizAttemptSummary.Key> {
+    Optional<QuizAttemptSummary> findByUserIdAndQuizId(String userId, String quizId);
+    List<QuizAttemptSummary> findByUserIdAndQuizIdIn(String userId, Collection<String> quizIds);
+}
@@ -0,0 +1,142 @@
+package com.olp.domain.quiz;
+
+import com.olp.shared.id.UuidV7;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inserts quiz attempts with plain JDBC so a batch of graded submissions is written as one
+ * multi-row statement, and folds them into the per-user {@link QuizAttemptSummary} rows and the item
+ * analysis sums in the same transaction. Joins the caller's transaction when there is one.
+ *
+ * <p>A {@link QuizPassedEvent} is published for every user who passes a quiz for the first time. The
+ * summary rows involved are locked before the upsert, so two batches cannot both count the same pass.
+ */
+@Component
+public class QuizAttemptWriter {
+
+    private static final String INSERT_ATTEMPT =
+            "INSERT INTO quiz_attempt (id, quiz_id, user_id, score, total_questions, passed, attempted_at, answers) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // MySQL applies the assignments left to right, so last_attempted_at is compared before it is moved forward.
+    private static final String UPSERT_SUMMARY =
+            "INSERT INTO quiz_attempt_summary (user_id, quiz_id, attempt_count, best_percentage, passed, " +
+            "last_score, last_total_questions, last_passed, last_attempted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "attempt_count = attempt_count + VALUES(attempt_count), " +
+            "best_percentage = GREATEST(best_percentage, VALUES(best_percentage)), " +
+            "passed = passed OR VALUES(passed), " +
+            "last_score = IF(VALUES(last_attempted_at) >= last_attempted_at, VALUES(last_score), last_score), " +
+            "last_total_questions = IF(VALUES(last_attempted_at) >= last_attempted_at, VALUES(last_total_questions), last_total_questions), " +
+            "last_passed = IF(VALUES(last_attempted_at) >= last_attempted_at, VALUES(last_passed), last_passed), " +
+            "last_attempted_at = GREATEST(last_attempted_at, VALUES(last_attempted_at))";
+
+    private static final String LOCK_PASSED =
+            "SELECT user_id, quiz_id FROM quiz_attempt_summary WHERE passed = TRUE AND (user_id, quiz_id) IN (%s) FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemAnalysisService itemAnalysisService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public QuizAttemptWriter(JdbcTemplate jdbcTemplate, ItemAnalysisService itemAnalysisService,
+                             ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.itemAnalysisService = itemAnalysisService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void insert(QuizAttempt attempt) {
+        insertAll(List.of(attempt));
+    }
+
+    public void insertAll(List<QuizAttempt> attempts) {
+        if (attempts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ATTEMPT, attempts.stream()
+                .map(attempt -> new Object[]{
+                        UuidV7.toBytes(attempt.getId()),
+                        attempt.getQuizId(),
+                        attempt.getUserId(),
+                        attempt.getScore(),
+                        attempt.getTotalQuestions(),
+                        attempt.getPassed(),
+                        Timestamp.valueOf(attempt.getAttemptedAt()),
+                        attempt.getAnswers()
+                })
+                .toList());
+        upsertSummaries(attempts);
+        itemAnalysisService.record(attempts);
+    }
+
+    private void upsertSummaries(List<QuizAttempt> attempts) {
+        // Combine attempts by the same user on the same quiz, and write rows in key order to avoid lock cycles.
+        Map<String, SummaryDelta> deltas = new TreeMap<>();
+        for (QuizAttempt attempt : attempts) {
+            deltas.computeIfAbsent(attempt.getUserId() + "|" + attempt.getQuizId(), key -> new SummaryDelta()).add(attempt);
+        }
+
+        List<QuizAttempt> passing = deltas.values().stream().filter(delta -> delta.passed).map(delta -> delta.last).toList();
+        Set<String> alreadyPassed = lockPassed(passing);
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        for (SummaryDelta delta : deltas.values()) {
+            QuizAttempt last = delta.last;
+            rows.add(new Object[]{last.getUserId(), last.getQuizId(), delta.count, delta.bestPercentage, delta.passed,
+                    last.getScore(), last.getTotalQuestions(), last.getPassed(), Timestamp.valueOf(last.getAttemptedAt())});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SUMMARY, rows);
+
+        for (QuizAttempt attempt : passing) {
+            if (!alreadyPassed.contains(attempt.getUserId() + "|" + attempt.getQuizId())) {
+                eventPublisher.publishEvent(new QuizPassedEvent(attempt.getUserId(), attempt.getQuizId()));
+            }
+        }
+    }
+
+    private Set<String> lockPassed(List<QuizAttempt> passing) {
+        Set<String> passed = new HashSet<>();
+        if (passing.isEmpty()) {
+            return passed;
+        }
+        Object[] args = new Object[passing.size() * 2];
+        for (int i = 0; i < passing.size(); i++) {
+            args[2 * i] = passing.get(i).getUserId();
+            args[2 * i + 1] = passing.get(i).getQuizId();
+        }
+        String sql = String.format(LOCK_PASSED, String.join(", ", Collections.nCopies(passing.size(), "(?, ?)")));
+        jdbcTemplate.query(sql, rs -> {
+            passed.add(rs.getString("user_id") + "|" + rs.getString("quiz_id"));
+        }, args);
+        return passed;
+    }
+
+    private static final class SummaryDelta {
+        private int count;
+        private double bestPercentage;
+        private boolean passed;
+        private QuizAttempt last;
+
+        void add(QuizAttempt attempt) {
+            count++;
+            double percentage = attempt.getTotalQuestions() > 0
+                    ? (double) attempt.getScore() / attempt.getTotalQuestions() * 100 : 0.0;
+            bestPercentage = Math.max(bestPercentage, percentage);
+            passed |= attempt.getPassed();
+            if (last == null || !attempt.getAttemptedAt().isBefore(last.getAttemptedAt())) {
+                last = attempt;
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.olp.domain.quiz;
+
+/**
+ * Published whenever a section quiz is created or deleted, so anything derived from its questions can
+ * be dropped. Carries the section as well because a deleted quiz can no longer be traced back to it.
+ */
+public record QuizChangedEvent(String quizId, String sectionId) {
+}
@@ -0,0 +1,44 @@
+package com.olp.domain.quiz;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the JSON shape of a quiz from the rows of {@link QuizQuestionRepository#findWithOptionsByQuizId},
+ * with or without the correct answers.
+ */
+final class QuizContent {
+
+    private QuizContent() {
+    }
+
+    static Map<String, Object> toMap(SectionQuiz quiz, List<Object[]> rows, boolean includeAnswers) {
+        Map<String, Map<String, Object>> questions = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            String questionId = (String) row[0];
+            Map<String, Object> question = questions.computeIfAbsent(questionId, id -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put("id", id);
+                map.put("question", row[1]);
+                map.put("options", new ArrayList<Map<String, Object>>());
+                if (includeAnswers) {
+                    map.put("correctAnswer", row[2]);
+                }
+                return map;
+            });
+            if (row[3] != null) {
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> options = (List<Map<String, Object>>) question.get("options");
+                options.add(Map.of("id", row[3], "text", row[4]));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", quiz.getId());
+        result.put("title", quiz.getTitle());
+        result.put("questions", new ArrayList<>(questions.values()));
+        return result;
+    }
+}
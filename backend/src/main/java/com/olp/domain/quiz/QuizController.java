@@ -2,32 +2,56 @@ package com.olp.domain.quiz;
 
 import com.olp.domain.quiz.QuizRequest;
 import com.olp.domain.quiz.QuizService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/quiz")
 public class QuizController {
 
     private final QuizService quizService;
+    private final ExamSubmissionService examSubmissionService;
+    private final ItemAnalysisService itemAnalysisService;
 
     @Autowired
-    public QuizController(QuizService quizService) {
+    public QuizController(QuizService quizService, ExamSubmissionService examSubmissionService,
+                          ItemAnalysisService itemAnalysisService) {
         this.quizService = quizService;
+        this.examSubmissionService = examSubmissionService;
+        this.itemAnalysisService = itemAnalysisService;
     }
 
     @PostMapping("/section/{sectionId}")
-    public ResponseEntity<Void> createQuiz(@PathVariable String sectionId, @RequestBody QuizRequest request) {
+    public ResponseEntity<Void> createQuiz(@PathVariable String sectionId, @Valid @RequestBody QuizRequest request) {
         quizService.createQuiz(sectionId, request);
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/section/{sectionId}")
-    public ResponseEntity<Map<String, Object>> getQuiz(@PathVariable String sectionId) {
-        return ResponseEntity.ok(quizService.getQuiz(sectionId));
+    public ResponseEntity<byte[]> getQuiz(@PathVariable String sectionId, WebRequest webRequest) {
+        Optional<StudentQuizViewCache.StudentQuizView> view = quizService.getQuiz(sectionId);
+        if (view.isEmpty()) {
+            return ResponseEntity.ok().build();
+        }
+        if (webRequest.checkNotModified(view.get().etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(view.get().etag())
+                .body(view.get().json());
+    }
+
+    @GetMapping("/section/{sectionId}/authoring")
+    public ResponseEntity<Map<String, Object>> getQuizForAuthoring(@PathVariable String sectionId) {
+        return ResponseEntity.ok(quizService.getQuizForAuthoring(sectionId));
     }
 
     @PostMapping("/{quizId}/submit")
@@ -35,11 +59,31 @@ public class QuizController {
         return ResponseEntity.ok(quizService.submitQuiz(quizId, answers));
     }
 
+    @PostMapping("/{quizId}/submissions")
+    public ResponseEntity<Map<String, Object>> submitExam(@PathVariable String quizId, @RequestBody Map<String, String> answers) {
+        return ResponseEntity.accepted().body(examSubmissionService.accept(quizId, answers));
+    }
+
+    @GetMapping("/submissions/{submissionId}")
+    public ResponseEntity<Map<String, Object>> getSubmission(@PathVariable String submissionId) {
+        return ResponseEntity.ok(examSubmissionService.getSubmission(submissionId));
+    }
+
+    @GetMapping("/{quizId}/analysis")
+    public ResponseEntity<Map<String, Object>> getItemAnalysis(@PathVariable String quizId) {
+        return ResponseEntity.ok(itemAnalysisService.getAnalysis(quizId));
+    }
+
     @GetMapping("/{quizId}/status")
     public ResponseEntity<Map<String, Object>> getQuizStatus(@PathVariable String quizId) {
         return ResponseEntity.ok(quizService.getQuizStatus(quizId));
     }
 
+    @GetMapping("/course/{courseId}/status")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCourseQuizStatus(@PathVariable String courseId) {
+        return ResponseEntity.ok(quizService.getCourseQuizStatus(courseId));
+    }
+
     @DeleteMapping("/section/{sectionId}")
     public ResponseEntity<Void> deleteQuiz(@PathVariable String sectionId) {
         quizService.deleteQuiz(sectionId);
@@ -9,4 +9,5 @@ import java.util.List;
 @Repository
 public interface QuizOptionRepository extends JpaRepository<QuizOption, String> {
     List<QuizOption> findByQuestionId(String questionId);
+    List<QuizOption> findByQuestionIdIn(List<String> questionIds);
 }
\ No newline at end of file
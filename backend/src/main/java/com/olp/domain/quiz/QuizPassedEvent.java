@@ -0,0 +1,8 @@
+package com.olp.domain.quiz;
+
+/**
+ * Published inside the grading transaction the first time a user passes a quiz. Later passing attempts
+ * on the same quiz do not publish it again.
+ */
+public record QuizPassedEvent(String userId, String quizId) {
+}
@@ -2,6 +2,8 @@ package com.olp.domain.quiz;
 
 import com.olp.domain.quiz.QuizQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +11,9 @@ import java.util.List;
 @Repository
 public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, String> {
     List<QuizQuestion> findByQuizId(String quizId);
+
+    // One row per option (or one row with null option columns for a question without options)
+    @Query("SELECT q.id, q.question, q.correctAnswer, o.id, o.optionText FROM QuizQuestion q " +
+           "LEFT JOIN QuizOption o ON o.questionId = q.id WHERE q.quizId = :quizId ORDER BY q.id, o.id")
+    List<Object[]> findWithOptionsByQuizId(@Param("quizId") String quizId);
 }
\ No newline at end of file
@@ -1,14 +1,30 @@
 package com.olp.domain.quiz;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
 import java.util.List;
 
 public class QuizRequest {
+    @Size(max = 255, message = "Quiz title must not exceed 255 characters")
     private String title;
+
+    @NotEmpty(message = "A quiz needs at least one question")
+    @Valid
     private List<QuestionRequest> questions;
 
     public static class QuestionRequest {
+        @NotBlank(message = "Question text is required")
         private String question;
-        private List<String> options;
+
+        @NotEmpty(message = "A question needs at least one option")
+        private List<@NotBlank(message = "Options must not be blank")
+                @Size(max = 255, message = "Options must not exceed 255 characters") String> options;
+
+        @NotBlank(message = "Correct answer is required")
+        @Size(max = 255, message = "Correct answer must not exceed 255 characters")
         private String correctAnswer;
 
         public String getQuestion() { return question; }
@@ -23,4 +39,4 @@ public class QuizRequest {
     public void setTitle(String title) { this.title = title; }
     public List<QuestionRequest> getQuestions() { return questions; }
     public void setQuestions(List<QuestionRequest> questions) { this.questions = questions; }
-}
\ No newline at end of file
+}
@@ -1,9 +1,13 @@
 package com.olp.domain.quiz;
 
 import com.olp.domain.user.User;
-import com.olp.domain.user.UserRepository;
+import com.olp.shared.id.UuidV7;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,21 +16,36 @@ import java.util.*;
 @Service
 public class QuizService {
 
+    private static final String SECTION_INSTRUCTOR_SQL =
+            "SELECT c.instructor_id FROM sections s JOIN courses c ON c.id = s.course_id WHERE s.id = ?";
+
     private final SectionQuizRepository quizRepository;
     private final QuizQuestionRepository questionRepository;
     private final QuizOptionRepository optionRepository;
-    private final QuizAttemptRepository attemptRepository;
-    private final UserRepository userRepository;
+    private final QuizAttemptSummaryRepository summaryRepository;
+    private final CurrentUser currentUser;
+    private final QuizAnswerKeyCache answerKeyCache;
+    private final QuizAttemptWriter attemptWriter;
+    private final StudentQuizViewCache studentQuizViewCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
     public QuizService(SectionQuizRepository quizRepository, QuizQuestionRepository questionRepository, 
-                      QuizOptionRepository optionRepository, QuizAttemptRepository attemptRepository, 
-                      UserRepository userRepository) {
+                      QuizOptionRepository optionRepository, QuizAttemptSummaryRepository summaryRepository,
+                      CurrentUser currentUser, QuizAnswerKeyCache answerKeyCache,
+                      QuizAttemptWriter attemptWriter, StudentQuizViewCache studentQuizViewCache,
+                      ApplicationEventPublisher eventPublisher, JdbcTemplate jdbcTemplate) {
         this.quizRepository = quizRepository;
         this.questionRepository = questionRepository;
         this.optionRepository = optionRepository;
-        this.attemptRepository = attemptRepository;
-        this.userRepository = userRepository;
+        this.summaryRepository = summaryRepository;
+        this.currentUser = currentUser;
+        this.answerKeyCache = answerKeyCache;
+        this.attemptWriter = attemptWriter;
+        this.studentQuizViewCache = studentQuizViewCache;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Transactional
@@ -38,14 +57,14 @@ public class QuizService {
         }
         
         SectionQuiz quiz = new SectionQuiz();
-        quiz.setId(UUID.randomUUID().toString());
+        quiz.setId(UuidV7.next());
         quiz.setSectionId(sectionId);
         quiz.setTitle(request.getTitle());
         quizRepository.save(quiz);
 
         for (QuizRequest.QuestionRequest qReq : request.getQuestions()) {
             QuizQuestion question = new QuizQuestion();
-            question.setId(UUID.randomUUID().toString());
+            question.setId(UuidV7.next());
             question.setQuizId(quiz.getId());
             question.setQuestion(qReq.getQuestion());
             question.setCorrectAnswer(qReq.getCorrectAnswer());
@@ -53,70 +72,59 @@ public class QuizService {
 
             for (String optText : qReq.getOptions()) {
                 QuizOption option = new QuizOption();
-                option.setId(UUID.randomUUID().toString());
+                option.setId(UuidV7.next());
                 option.setQuestionId(question.getId());
                 option.setOptionText(optText);
                 optionRepository.save(option);
             }
         }
+        eventPublisher.publishEvent(new QuizChangedEvent(quiz.getId(), quiz.getSectionId()));
+    }
+
+    public Optional<StudentQuizViewCache.StudentQuizView> getQuiz(String sectionId) {
+        return studentQuizViewCache.get(sectionId);
     }
 
-    public Map<String, Object> getQuiz(String sectionId) {
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    public Map<String, Object> getQuizForAuthoring(String sectionId) {
+        // Anyone can register as an instructor, so the answers are only shown to the course's own instructor and to admins
+        AuthenticatedUser user = currentUser.get();
+        if (user.getRole() != User.Role.ADMIN) {
+            List<String> instructorIds = jdbcTemplate.queryForList(SECTION_INSTRUCTOR_SQL, String.class, sectionId);
+            if (instructorIds.isEmpty()) {
+                throw new RuntimeException("Section not found");
+            }
+            if (!user.getId().equals(instructorIds.get(0))) {
+                throw new RuntimeException("Access denied");
+            }
+        }
+
         SectionQuiz quiz = quizRepository.findBySectionId(sectionId).orElse(null);
         if (quiz == null) return null;
 
-        List<QuizQuestion> questions = questionRepository.findByQuizId(quiz.getId());
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("id", quiz.getId());
-        result.put("title", quiz.getTitle());
-        
-        List<Map<String, Object>> questionList = new ArrayList<>();
-        for (QuizQuestion q : questions) {
-            List<QuizOption> options = optionRepository.findByQuestionId(q.getId());
-            Map<String, Object> qMap = new HashMap<>();
-            qMap.put("id", q.getId());
-            qMap.put("question", q.getQuestion());
-            qMap.put("options", options.stream().map(o -> Map.of("id", o.getId(), "text", o.getOptionText())).toList());
-            qMap.put("correctAnswer", q.getCorrectAnswer());
-            questionList.add(qMap);
-        }
-        result.put("questions", questionList);
-        return result;
+        return QuizContent.toMap(quiz, questionRepository.findWithOptionsByQuizId(quiz.getId()), true);
     }
 
     @Transactional
     public Map<String, Object> submitQuiz(String quizId, Map<String, String> answers) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-
-        SectionQuiz quiz = quizRepository.findById(quizId).orElseThrow(() -> new RuntimeException("Quiz not found"));
-        
-        int correctAnswers = 0;
-        for (QuizQuestion question : quiz.getQuestions()) {
-            String userAnswerId = answers.get(question.getId());
-            if (userAnswerId != null) {
-                QuizOption selectedOption = optionRepository.findById(userAnswerId).orElse(null);
-                if (selectedOption != null && question.getCorrectAnswer().equals(selectedOption.getOptionText())) {
-                    correctAnswers++;
-                }
-            }
-        }
+        AuthenticatedUser user = currentUser.get();
 
-        int totalQuestions = quiz.getQuestions().size();
-        double percentage = (double) correctAnswers / totalQuestions * 100;
-        boolean passed = percentage >= 60;
+        QuizAnswerKey answerKey = answerKeyCache.get(quizId);
+        int[] selections = answerKey.selections(answers);
+        int correctAnswers = answerKey.score(selections);
+        int totalQuestions = answerKey.getTotalQuestions();
+        double percentage = answerKey.percentage(correctAnswers);
+        boolean passed = answerKey.isPassing(correctAnswers);
 
         QuizAttempt attempt = new QuizAttempt();
-        attempt.setId(UUID.randomUUID().toString());
+        attempt.setId(UuidV7.next());
         attempt.setQuizId(quizId);
         attempt.setUserId(user.getId());
         attempt.setScore(correctAnswers);
         attempt.setTotalQuestions(totalQuestions);
         attempt.setPassed(passed);
-        attemptRepository.save(attempt);
-
-        List<QuizAttempt> allAttempts = attemptRepository.findByUserIdAndQuizIdIn(user.getId(), List.of(quizId));
+        attempt.setAnswers(AnswerSheetCodec.encode(answerKey, selections));
+        attemptWriter.insert(attempt);
 
         Map<String, Object> result = new HashMap<>();
         result.put("score", Math.round(percentage));
@@ -124,23 +132,43 @@ public class QuizService {
         result.put("totalQuestions", totalQuestions);
         result.put("percentage", Math.round(percentage));
         result.put("passed", passed);
-        result.put("attemptCount", allAttempts.size());
+        result.put("attemptCount", summaryRepository.findByUserIdAndQuizId(user.getId(), quizId)
+                .map(QuizAttemptSummary::getAttemptCount).orElse(1));
         return result;
     }
 
     public Map<String, Object> getQuizStatus(String quizId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = currentUser.get();
 
-        List<QuizAttempt> attempts = attemptRepository.findByUserIdAndQuizIdIn(user.getId(), List.of(quizId));
-        QuizAttempt latestAttempt = attempts.isEmpty() ? null : attempts.get(attempts.size() - 1);
-        
         Map<String, Object> result = new HashMap<>();
-        if (latestAttempt != null) {
-            double percentage = (double) latestAttempt.getScore() / latestAttempt.getTotalQuestions() * 100;
-            result.put("score", Math.round(percentage));
-            result.put("passed", latestAttempt.getPassed());
-            result.put("attemptCount", attempts.size());
+        summaryRepository.findByUserIdAndQuizId(user.getId(), quizId).ifPresent(summary -> {
+            result.put("score", Math.round(summary.getLastPercentage()));
+            result.put("passed", summary.getLastPassed());
+            result.put("attemptCount", summary.getAttemptCount());
+        });
+        return result;
+    }
+
+    /**
+     * Status of every section quiz in the course keyed by quiz id, in the same shape as
+     * {@link #getQuizStatus(String)} plus the section id, resolved with a single query.
+     */
+    public Map<String, Map<String, Object>> getCourseQuizStatus(String courseId) {
+        AuthenticatedUser user = currentUser.get();
+
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (Object[] row : quizRepository.findStatusByCourseId(courseId, user.getId())) {
+            Map<String, Object> status = new HashMap<>();
+            status.put("sectionId", row[1]);
+            if (row[5] != null) {
+                int score = (Integer) row[2];
+                int totalQuestions = (Integer) row[3];
+                double percentage = totalQuestions > 0 ? (double) score / totalQuestions * 100 : 0.0;
+                status.put("score", Math.round(percentage));
+                status.put("passed", row[4]);
+                status.put("attemptCount", row[5]);
+            }
+            result.put((String) row[0], status);
         }
         return result;
     }
@@ -152,5 +180,6 @@ public class QuizService {
         
         // Delete all questions and options (cascade should handle this)
         quizRepository.delete(quiz);
+        eventPublisher.publishEvent(new QuizChangedEvent(quiz.getId(), quiz.getSectionId()));
     }
 }
\ No newline at end of file
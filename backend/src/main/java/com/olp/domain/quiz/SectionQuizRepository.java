@@ -3,6 +3,7 @@ package com.olp.domain.quiz;
 import com.olp.domain.quiz.SectionQuiz;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +15,11 @@ public interface SectionQuizRepository extends JpaRepository<SectionQuiz, String
     
     @Query("SELECT sq FROM SectionQuiz sq WHERE sq.sectionId IN (SELECT s.id FROM Section s WHERE s.courseId = :courseId)")
     List<SectionQuiz> findByCourseId(String courseId);
+
+    // One row per section quiz in the course, with null summary columns when the user has not attempted it
+    @Query("SELECT sq.id, sq.sectionId, qs.lastScore, qs.lastTotalQuestions, qs.lastPassed, qs.attemptCount " +
+           "FROM SectionQuiz sq JOIN Section s ON s.id = sq.sectionId " +
+           "LEFT JOIN QuizAttemptSummary qs ON qs.quizId = sq.id AND qs.userId = :userId " +
+           "WHERE s.courseId = :courseId ORDER BY s.sortOrder")
+    List<Object[]> findStatusByCourseId(@Param("courseId") String courseId, @Param("userId") String userId);
 }
\ No newline at end of file
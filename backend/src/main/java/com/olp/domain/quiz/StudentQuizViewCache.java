@@ -0,0 +1,93 @@
+package com.olp.domain.quiz;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olp.domain.course.CourseChangedEvent;
+import com.olp.domain.course.Section;
+import com.olp.domain.course.SectionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Serialized student view of each section's quiz: questions and options without the correct answers.
+ * The JSON is built once per quiz version and kept as bytes, together with an ETag derived from its
+ * content, so repeat reads neither query the database nor run Jackson. Each view remembers its course,
+ * so a change to one course only drops that course's quizzes.
+ */
+@Component
+public class StudentQuizViewCache {
+
+    private final SectionQuizRepository quizRepository;
+    private final QuizQuestionRepository questionRepository;
+    private final SectionRepository sectionRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final Map<String, CachedView> viewsBySection = new ConcurrentHashMap<>();
+
+    public StudentQuizViewCache(SectionQuizRepository quizRepository, QuizQuestionRepository questionRepository,
+                                SectionRepository sectionRepository, ObjectMapper objectMapper,
+                                @Value("${quiz.student-view-cache.max-entries:1000}") int maxEntries) {
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.sectionRepository = sectionRepository;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<StudentQuizView> get(String sectionId) {
+        CachedView cached = viewsBySection.get(sectionId);
+        if (cached != null) {
+            return Optional.of(cached.view());
+        }
+        Optional<SectionQuiz> quiz = quizRepository.findBySectionId(sectionId);
+        if (quiz.isEmpty()) {
+            return Optional.empty();
+        }
+        StudentQuizView view = build(quiz.get());
+        // A section deleted meanwhile has no course to be evicted with, so its view is served once and not kept
+        sectionRepository.findById(sectionId).map(Section::getCourseId).ifPresent(courseId -> {
+            if (viewsBySection.size() >= maxEntries) {
+                viewsBySection.clear();
+            }
+            viewsBySection.put(sectionId, new CachedView(courseId, view));
+        });
+        return Optional.of(view);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        viewsBySection.values().removeIf(cached -> cached.view().quizId().equals(event.quizId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        // Deleting a section or course cascades to its quiz without a QuizChangedEvent
+        viewsBySection.values().removeIf(cached -> cached.courseId().equals(event.courseId()));
+    }
+
+    private StudentQuizView build(SectionQuiz quiz) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(
+                    QuizContent.toMap(quiz, questionRepository.findWithOptionsByQuizId(quiz.getId()), false));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize quiz " + quiz.getId(), e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        String etag = "\"" + quiz.getId() + "-" + Long.toHexString(crc.getValue()) + "\"";
+        return new StudentQuizView(quiz.getId(), json, etag);
+    }
+
+    public record StudentQuizView(String quizId, byte[] json, String etag) {
+    }
+
+    private record CachedView(String courseId, StudentQuizView view) {
+    }
+}
@@ -4,7 +4,7 @@ import com.olp.domain.user.ProfileRequest;
 import com.olp.domain.user.ProfileResponse;
 import com.olp.domain.user.User;
 import com.olp.domain.user.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.olp.shared.security.PasswordHasher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,11 +12,13 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProfileService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserCache userCache;
 
-    public ProfileService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public ProfileService(UserRepository userRepository, PasswordHasher passwordHasher, UserCache userCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.userCache = userCache;
     }
 
     public ProfileResponse getProfile(String username) {
@@ -44,6 +46,7 @@ public class ProfileService {
         if (request.getProfilePicture() != null) user.setProfilePicture(request.getProfilePicture());
         
         userRepository.save(user);
+        userCache.evict(user);
         return getProfile(username);
     }
 
@@ -52,11 +55,12 @@ public class ProfileService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        if (!passwordEncoder.matches(currentPassword, user.getPasswordHash())) {
+        if (!passwordHasher.matches(currentPassword, user.getPasswordHash())) {
             throw new RuntimeException("Current password is incorrect");
         }
         
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwordHasher.encode(newPassword));
         userRepository.save(user);
+        userCache.evict(user);
     }
 }
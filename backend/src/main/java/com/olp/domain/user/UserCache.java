@@ -0,0 +1,75 @@
+package com.olp.domain.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of full {@link User} rows for the few code paths that need more than the id and
+ * role carried by the access token (names on certificates, legacy tokens without a user id).
+ * Entries expire after {@code user.cache.ttl-seconds} and are evicted when a profile changes.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, String> idByUsername = new ConcurrentHashMap<>();
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${user.cache.ttl-seconds:60}") long ttlSeconds,
+                     @Value("${user.cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<User> findById(String id) {
+        Entry entry = byId.get(id);
+        long now = System.currentTimeMillis();
+        if (entry != null && entry.expiresAt() > now) {
+            return Optional.of(entry.user());
+        }
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(value -> put(value, now));
+        return user;
+    }
+
+    public Optional<User> findByUsername(String username) {
+        String id = idByUsername.get(username);
+        if (id != null) {
+            Entry entry = byId.get(id);
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                return Optional.of(entry.user());
+            }
+        }
+        Optional<User> user = userRepository.findByUsername(username);
+        user.ifPresent(value -> put(value, System.currentTimeMillis()));
+        return user;
+    }
+
+    public void evict(User user) {
+        byId.remove(user.getId());
+        idByUsername.remove(user.getUsername());
+    }
+
+    private void put(User user, long now) {
+        if (byId.size() >= maxEntries) {
+            byId.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (byId.size() >= maxEntries) {
+                byId.clear();
+                idByUsername.clear();
+            }
+        }
+        byId.put(user.getId(), new Entry(user, now + ttlMillis));
+        idByUsername.put(user.getUsername(), user.getId());
+    }
+
+    private record Entry(User user, long expiresAt) {
+    }
+}
@@ -6,12 +6,12 @@ import com.olp.domain.course.Course;
 import com.olp.domain.course.CourseRepository;
 import com.olp.domain.lesson.Lesson;
 import com.olp.domain.lesson.LessonRepository;
+import com.olp.shared.id.UuidV7;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
-import java.util.UUID;
 
 @Component
 public class DataSeeder implements CommandLineRunner {
@@ -56,7 +56,7 @@ public class DataSeeder implements CommandLineRunner {
 
     private User createUser(String username, String email, String password, User.Role role) {
         User user = new User();
-        user.setId(UUID.randomUUID().toString());
+        user.setId(UuidV7.next());
         user.setUsername(username);
         user.setEmail(email);
         user.setPasswordHash(passwordEncoder.encode(password));
@@ -66,7 +66,7 @@ public class DataSeeder implements CommandLineRunner {
 
     private Course createCourse(String instructorId, String title, String description, boolean published, Set<String> tags) {
         Course course = new Course();
-        course.setId(UUID.randomUUID().toString());
+        course.setId(UuidV7.next());
         course.setInstructorId(instructorId);
         course.setTitle(title);
         course.setDescription(description);
@@ -77,7 +77,7 @@ public class DataSeeder implements CommandLineRunner {
 
     private Lesson createLesson(String courseId, String title, String content, String videoUrl, int sortOrder) {
         Lesson lesson = new Lesson();
-        lesson.setId(UUID.randomUUID().toString());
+        lesson.setId(UuidV7.next());
         lesson.setCourseId(courseId);
         lesson.setTitle(title);
         lesson.setContent(content);
@@ -0,0 +1,19 @@
+package com.olp.shared.exception;
+
+/**
+ * Thrown when a bounded worker pool refuses new work. Mapped to {@code 503 Service Unavailable} with a
+ * {@code Retry-After} header so clients back off instead of piling more requests onto the queue.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
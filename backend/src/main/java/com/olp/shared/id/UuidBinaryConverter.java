@@ -0,0 +1,22 @@
+package com.olp.shared.id;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps a string UUID attribute onto a {@code BINARY(16)} column so entities and the API keep using
+ * the canonical 36-character form while the table stores 16 bytes per key.
+ */
+@Converter
+public class UuidBinaryConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return attribute == null ? null : UuidV7.toBytes(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return dbData == null ? null : UuidV7.fromBytes(dbData);
+    }
+}
@@ -0,0 +1,36 @@
+package com.olp.shared.security;
+
+import com.olp.domain.user.User;
+
+import java.security.Principal;
+
+/**
+ * Principal placed in the security context by {@link JwtAuthenticationFilter}, carrying the id and
+ * role from the access token so services do not have to load the user row to authorize a call.
+ */
+public final class AuthenticatedUser implements Principal {
+
+    private final String id;
+    private final String username;
+    private final User.Role role;
+
+    public AuthenticatedUser(String id, String username, User.Role role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    public String getId() { return id; }
+    public String getUsername() { return username; }
+    public User.Role getRole() { return role; }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
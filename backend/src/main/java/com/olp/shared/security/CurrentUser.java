@@ -0,0 +1,34 @@
+package com.olp.shared.security;
+
+import com.olp.domain.user.User;
+import com.olp.domain.user.UserCache;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the caller of the current request. The id and role come straight from the access token;
+ * only tokens issued before the user id claim existed fall back to a (cached) user lookup.
+ */
+@Component
+public class CurrentUser {
+
+    private final UserCache userCache;
+
+    public CurrentUser(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    public AuthenticatedUser get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new RuntimeException("User not found");
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        User user = userCache.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+    }
+}
@@ -1,5 +1,6 @@
 package com.olp.shared.security;
 
+import com.olp.domain.user.User;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,14 +32,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             
-            if (jwtUtil.isTokenValid(token)) {
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
-                
-                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-                var authentication = new UsernamePasswordAuthenticationToken(username, null, authorities);
+            jwtUtil.verify(token).ifPresent(verified -> {
+                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + verified.role()));
+                // Tokens issued before the uid claim only carry the username; CurrentUser resolves those.
+                Object principal = verified.userId() != null && verified.role() != null
+                        ? new AuthenticatedUser(verified.userId(), verified.username(), User.Role.valueOf(verified.role()))
+                        : verified.username();
+                var authentication = new UsernamePasswordAuthenticationToken(principal, null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+            });
         }
         
         filterChain.doFilter(request, response);
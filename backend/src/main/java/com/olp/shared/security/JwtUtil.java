@@ -6,35 +6,44 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int accessTokenExpiryMinutes;
+    private final int refreshTokenExpiryDays;
+    private final VerifiedTokenCache cache;
 
-    @Value("${jwt.expiry.access-minutes}")
-    private int accessTokenExpiryMinutes;
-
-    @Value("${jwt.expiry.refresh-days}")
-    private int refreshTokenExpiryDays;
-
-    private SecretKey getSigningKey() {
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiry.access-minutes}") int accessTokenExpiryMinutes,
+                   @Value("${jwt.expiry.refresh-days}") int refreshTokenExpiryDays,
+                   @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries) {
         byte[] keyBytes = secret.getBytes(java.nio.charset.StandardCharsets.UTF_8);
         if (keyBytes.length < 32) {
             throw new IllegalArgumentException("JWT secret must be at least 256 bits (32 bytes)");
         }
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.accessTokenExpiryMinutes = accessTokenExpiryMinutes;
+        this.refreshTokenExpiryDays = refreshTokenExpiryDays;
+        this.cache = new VerifiedTokenCache(cacheMaxEntries);
     }
 
-    public String generateAccessToken(String username, String role) {
+    public String generateAccessToken(String userId, String username, String role) {
         return Jwts.builder()
                 .subject(username)
+                .claim("uid", userId)
                 .claim("role", role)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + accessTokenExpiryMinutes * 60 * 1000L))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -43,32 +52,52 @@ public class JwtUtil {
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + refreshTokenExpiryDays * 24 * 60 * 60 * 1000L))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
-    }
+    /**
+     * Verifies an access token, reusing the claims of an earlier verification of the same token
+     * until it expires.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        Instant now = Instant.now();
+        String key = cache.digest(token);
+        VerifiedToken cached = cache.get(key, now);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
 
-    public String extractRole(String token) {
-        return extractClaims(token).get("role", String.class);
+        Optional<VerifiedToken> verified = parse(token);
+        verified.ifPresent(value -> cache.put(key, value, now));
+        return verified;
     }
 
-    public boolean isTokenValid(String token) {
+    /**
+     * Checks the signature and expiry of a token without consulting the cache, for one-off tokens
+     * such as refresh tokens.
+     */
+    public Optional<VerifiedToken> parse(String token) {
         try {
-            extractClaims(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            return Optional.of(new VerifiedToken(claims.get("uid", String.class), claims.getSubject(), claims.get("role", String.class),
+                    expiration != null ? expiration.toInstant() : null));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Map<String, Object> getCacheStats() {
+        long hits = cache.hits();
+        long misses = cache.misses();
+        long lookups = hits + misses;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", cache.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRatio", lookups > 0 ? (double) hits / lookups : 0.0);
+        return stats;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+-- Bit-packed selected options per attempt (see AnswerSheetCodec)
+ALTER TABLE quiz_attempt ADD COLUMN answers VARBINARY(4096) NULL;
+
+-- Running sums for item analysis, updated as attempts are recorded
+CREATE TABLE quiz_item_totals (
+    quiz_id CHAR(36) PRIMARY KEY,
+    attempt_count BIGINT NOT NULL DEFAULT 0,
+    score_sum BIGINT NOT NULL DEFAULT 0,
+    score_sq_sum BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (quiz_id) REFERENCES section_quiz(id) ON DELETE CASCADE
+);
+
+CREATE TABLE quiz_item_stats (
+    quiz_id CHAR(36) NOT NULL,
+    question_ordinal INT NOT NULL,
+    correct_count BIGINT NOT NULL DEFAULT 0,
+    correct_score_sum BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (quiz_id, question_ordinal),
+    FOREIGN KEY (quiz_id) REFERENCES section_quiz(id) ON DELETE CASCADE
+);
+
+CREATE TABLE quiz_option_stats (
+    quiz_id CHAR(36) NOT NULL,
+    option_ordinal INT NOT NULL,
+    selected_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (quiz_id, option_ordinal),
+    FOREIGN KEY (quiz_id) REFERENCES section_quiz(id) ON DELETE CASCADE
+);
@@ -0,0 +1,31 @@
+-- Per user and quiz roll-up of quiz_attempt, kept in step by the application on every insert
+CREATE TABLE quiz_attempt_summary (
+    user_id CHAR(36) NOT NULL,
+    quiz_id CHAR(36) NOT NULL,
+    attempt_count INT NOT NULL,
+    best_percentage DOUBLE NOT NULL,
+    passed BOOLEAN NOT NULL,
+    last_score INT NOT NULL,
+    last_total_questions INT NOT NULL,
+    last_passed BOOLEAN NOT NULL,
+    last_attempted_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, quiz_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (quiz_id) REFERENCES section_quiz(id) ON DELETE CASCADE
+);
+
+INSERT INTO quiz_attempt_summary (user_id, quiz_id, attempt_count, best_percentage, passed,
+                                  last_score, last_total_questions, last_passed, last_attempted_at)
+SELECT r.user_id, r.quiz_id, r.attempt_count, r.best_percentage, r.any_passed,
+       r.score, r.total_questions, r.passed, r.attempted_at
+FROM (
+    SELECT a.user_id, a.quiz_id, a.score, a.total_questions, a.passed,
+           COALESCE(a.attempted_at, CURRENT_TIMESTAMP) AS attempted_at,
+           COUNT(*) OVER w AS attempt_count,
+           COALESCE(MAX(a.score * 100.0 / NULLIF(a.total_questions, 0)) OVER w, 0) AS best_percentage,
+           MAX(a.passed) OVER w AS any_passed,
+           ROW_NUMBER() OVER (PARTITION BY a.user_id, a.quiz_id ORDER BY a.attempted_at DESC, a.id DESC) AS rn
+    FROM quiz_attempt a
+    WINDOW w AS (PARTITION BY a.user_id, a.quiz_id)
+) r
+WHERE r.rn = 1;
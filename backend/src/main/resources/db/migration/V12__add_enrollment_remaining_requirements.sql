@@ -0,0 +1,19 @@
+-- Certificates are issued at most once per user and course; keep the earliest of any duplicates
+DELETE c FROM certificate c
+JOIN certificate keep ON keep.user_id = c.user_id AND keep.course_id = c.course_id
+    AND (keep.issue_date < c.issue_date OR (keep.issue_date = c.issue_date AND keep.id < c.id));
+
+ALTER TABLE certificate ADD CONSTRAINT uk_certificate_user_course UNIQUE (user_id, course_id);
+
+-- Lessons not yet completed plus section quizzes not yet passed, maintained on every completion
+ALTER TABLE enrollments ADD COLUMN remaining_requirements INT NULL;
+
+UPDATE enrollments e SET remaining_requirements =
+    (SELECT COUNT(*) FROM lessons l JOIN sections s ON s.id = l.section_id
+     WHERE s.course_id = e.course_id
+       AND NOT EXISTS (SELECT 1 FROM lesson_progress lp
+                       WHERE lp.lesson_id = l.id AND lp.user_id = e.user_id AND lp.completed = TRUE))
+  + (SELECT COUNT(*) FROM section_quiz q JOIN sections s ON s.id = q.section_id
+     WHERE s.course_id = e.course_id
+       AND NOT EXISTS (SELECT 1 FROM quiz_attempt_summary qs
+                       WHERE qs.quiz_id = q.id AND qs.user_id = e.user_id AND qs.passed = TRUE));
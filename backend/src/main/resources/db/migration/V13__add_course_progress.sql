@@ -0,0 +1,28 @@
+-- Stable per-course lesson ordinals: assigned once, never reused, independent of sort_order
+ALTER TABLE lessons ADD COLUMN ordinal INT NULL;
+ALTER TABLE courses ADD COLUMN next_lesson_ordinal INT NOT NULL DEFAULT 0;
+
+UPDATE lessons l
+JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY course_id ORDER BY sort_order, id) - 1 AS ordinal FROM lessons) o
+    ON o.id = l.id
+SET l.ordinal = o.ordinal;
+
+UPDATE courses c SET next_lesson_ordinal = (SELECT COUNT(*) FROM lessons l WHERE l.course_id = c.id);
+
+ALTER TABLE lessons ADD CONSTRAINT uk_lessons_course_ordinal UNIQUE (course_id, ordinal);
+
+-- Per user and course progress roll-up. Rows are created on first use and kept in step by the
+-- application; bit n of lesson_bitmap is set when the lesson with ordinal n is completed.
+CREATE TABLE course_progress (
+    user_id CHAR(36) NOT NULL,
+    course_id CHAR(36) NOT NULL,
+    completed_lessons INT NOT NULL,
+    passed_quizzes INT NOT NULL,
+    total_lessons INT NOT NULL,
+    total_quizzes INT NOT NULL,
+    lesson_bitmap VARBINARY(8192) NOT NULL,
+    PRIMARY KEY (user_id, course_id),
+    KEY idx_course_progress_course (course_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE
+);
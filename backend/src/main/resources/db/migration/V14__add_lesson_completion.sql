@@ -0,0 +1,16 @@
+-- Bitmap storage for lesson completions (progress.storage.mode=bitmap): one row per user and course.
+-- lesson_progress stays the source until LessonProgressMigrator has copied it and the setting is switched.
+CREATE TABLE lesson_completion (
+    user_id CHAR(36) NOT NULL,
+    course_id CHAR(36) NOT NULL,
+    lesson_bitmap VARBINARY(8192) NOT NULL,
+    completion_times BLOB NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, course_id),
+    KEY idx_lesson_completion_course (course_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE
+);
+
+-- course_progress bitmaps switch to the compressed encoding; rows are rebuilt on the next read
+DELETE FROM course_progress;
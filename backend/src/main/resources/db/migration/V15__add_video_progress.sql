@@ -0,0 +1,14 @@
+-- Last watch position and watched intervals per user and lesson, written in batches by VideoWatchTracker.
+-- watched_intervals holds varint (gap, length) pairs in tenths of a second.
+CREATE TABLE video_progress (
+    user_id CHAR(36) NOT NULL,
+    lesson_id CHAR(36) NOT NULL,
+    position_seconds DOUBLE NOT NULL,
+    duration_seconds DOUBLE NOT NULL,
+    watched_seconds DOUBLE NOT NULL,
+    watched_intervals BLOB NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, lesson_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (lesson_id) REFERENCES lessons(id) ON DELETE CASCADE
+);
@@ -0,0 +1,13 @@
+-- Pending submissions are leased to the instance grading them. Instances renew their leases while the
+-- submissions wait in memory; a submission whose lease ran out belongs to an instance that went away
+-- and is picked up by another one.
+ALTER TABLE quiz_submission
+    ADD COLUMN claimed_by CHAR(36) NULL,
+    ADD COLUMN lease_until TIMESTAMP(3) NULL;
+
+UPDATE quiz_submission SET lease_until = submitted_at WHERE status = 'PENDING';
+
+ALTER TABLE quiz_submission
+    DROP INDEX idx_quiz_submission_status_submitted,
+    ADD INDEX idx_quiz_submission_status_lease (status, lease_until),
+    ADD INDEX idx_quiz_submission_claimed_by (claimed_by, status);
@@ -0,0 +1,3 @@
+-- Seek indexes for cursor pagination; published listings use idx_courses_published_created
+CREATE INDEX idx_courses_instructor_created ON courses (instructor_id, created_at, id);
+CREATE INDEX idx_enrollments_user_enrolled ON enrollments (user_id, enrolled_at, id);
@@ -0,0 +1,2 @@
+-- Roster pages, cursors and exports walk a course's enrollments in enrollment order
+CREATE INDEX idx_enrollments_course_enrolled ON enrollments (course_id, enrolled_at, id);
@@ -0,0 +1,11 @@
+-- Store lesson_progress and quiz_attempt primary keys as BINARY(16) instead of CHAR(36).
+-- No foreign keys reference these ids, so each table can be converted on its own.
+ALTER TABLE lesson_progress ADD COLUMN id_bin BINARY(16);
+UPDATE lesson_progress SET id_bin = UNHEX(REPLACE(id, '-', ''));
+ALTER TABLE lesson_progress DROP PRIMARY KEY, DROP COLUMN id;
+ALTER TABLE lesson_progress CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (id);
+
+ALTER TABLE quiz_attempt ADD COLUMN id_bin BINARY(16);
+UPDATE quiz_attempt SET id_bin = UNHEX(REPLACE(id, '-', ''));
+ALTER TABLE quiz_attempt DROP PRIMARY KEY, DROP COLUMN id;
+ALTER TABLE quiz_attempt CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (id);
@@ -0,0 +1,18 @@
+-- Raw exam submissions, recorded before grading so none are lost if the grader falls behind or restarts
+CREATE TABLE quiz_submission (
+    id BINARY(16) PRIMARY KEY,
+    quiz_id CHAR(36) NOT NULL,
+    user_id CHAR(36) NOT NULL,
+    answers TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempt_id BINARY(16),
+    score INT,
+    total_questions INT,
+    passed BOOLEAN,
+    error VARCHAR(255),
+    submitted_at TIMESTAMP(3) NOT NULL,
+    graded_at TIMESTAMP(3) NULL,
+    FOREIGN KEY (quiz_id) REFERENCES section_quiz(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_quiz_submission_status_submitted (status, submitted_at)
+);
@@ -0,0 +1,173 @@
+package com.olp.domain.certificate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.olp.domain.certificate.CertificateNumberGenerator.PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CertificateNumberGeneratorTest {
+
+    @Test
+    void generatedNumbersAreValid() {
+        CertificateNumberGenerator generator = new CertificateNumberGenerator(5);
+        for (int i = 0; i < 1_000; i++) {
+            String number = generator.next();
+            assertThat(number).startsWith(PREFIX).hasSize(PREFIX.length() + 14);
+            assertThat(CertificateNumberGenerator.isValid(number)).isTrue();
+        }
+    }
+
+    @Test
+    void extremeValuesEncodeToValidNumbers() {
+        assertThat(CertificateNumberGenerator.encode(0)).isEqualTo("00000000000000");
+        assertThat(CertificateNumberGenerator.isValid(PREFIX + CertificateNumberGenerator.encode(0))).isTrue();
+
+        String max = CertificateNumberGenerator.encode(Long.MAX_VALUE);
+        assertThat(max).startsWith("7ZZZZZZZZZZZZ");
+        assertThat(CertificateNumberGenerator.isValid(PREFIX + max)).isTrue();
+    }
+
+    @Test
+    void everyCheckSymbolIsReachable() {
+        Set<Character> checks = new HashSet<>();
+        for (long value = 0; value < 37; value++) {
+            String encoded = CertificateNumberGenerator.encode(value);
+            checks.add(encoded.charAt(encoded.length() - 1));
+            assertThat(CertificateNumberGenerator.isValid(PREFIX + encoded)).isTrue();
+        }
+        assertThat(checks).hasSize(37).contains('*', '~', '$', '=', 'U');
+    }
+
+    @Test
+    void wrongCheckSymbolIsRejected() {
+        String number = PREFIX + CertificateNumberGenerator.encode(123_456_789L);
+        char check = number.charAt(number.length() - 1);
+        for (char other : "0123456789ABCDEFGHJKMNPQRSTVWXYZ*~$=U".toCharArray()) {
+            if (other != check) {
+                assertThat(CertificateNumberGenerator.isValid(number.substring(0, number.length() - 1) + other)).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void mistypedDigitIsRejected() {
+        String number = PREFIX + CertificateNumberGenerator.encode(987_654_321L);
+        int last = number.length() - 2;
+        char digit = number.charAt(last);
+        String mistyped = number.substring(0, last) + (digit == '9' ? '8' : '9') + number.charAt(last + 1);
+
+        assertThat(CertificateNumberGenerator.isValid(mistyped)).isFalse();
+    }
+
+    @Test
+    void leadingDigitAboveSevenIsRejected() {
+        // A leading 8 would need a 66th bit; the check symbol alone must not let it through
+        String digits = "8" + CertificateNumberGenerator.encode(0).substring(1, 13);
+        for (char check : "0123456789ABCDEFGHJKMNPQRSTVWXYZ*~$=U".toCharArray()) {
+            assertThat(CertificateNumberGenerator.isValid(PREFIX + digits + check)).isFalse();
+        }
+    }
+
+    @Test
+    void lowerCaseAndAliasesAreAccepted() {
+        String number = PREFIX + CertificateNumberGenerator.encode(0x0123_4567_89ABL);
+
+        assertThat(CertificateNumberGenerator.isValid(number.toLowerCase())).isTrue();
+        assertThat(CertificateNumberGenerator.isValid(number.replace('0', 'O'))).isTrue();
+        assertThat(CertificateNumberGenerator.isValid(number.replace('1', 'I'))).isTrue();
+        assertThat(CertificateNumberGenerator.isValid(number.replace('1', 'l'))).isTrue();
+    }
+
+    @Test
+    void malformedNumbersAreRejected() {
+        String encoded = CertificateNumberGenerator.encode(42);
+
+        assertThat(CertificateNumberGenerator.isValid(null)).isFalse();
+        assertThat(CertificateNumberGenerator.isValid("")).isFalse();
+        assertThat(CertificateNumberGenerator.isValid(encoded)).isFalse();
+        assertThat(CertificateNumberGenerator.isValid("RSCOX-" + encoded)).isFalse();
+        assertThat(CertificateNumberGenerator.isValid(PREFIX + encoded.substring(1))).isFalse();
+        assertThat(CertificateNumberGenerator.isValid(PREFIX + encoded + "0")).isFalse();
+        assertThat(CertificateNumberGenerator.isValid(PREFIX + "U" + encoded.substring(1))).isFalse();
+    }
+
+    @Test
+    void valuesStrictlyIncreaseAndCarryTheNode() {
+        CertificateNumberGenerator generator = new CertificateNumberGenerator(1023);
+        long previous = -1;
+        // Enough calls to exhaust some milliseconds' 4096 sequence values
+        for (int i = 0; i < 20_000; i++) {
+            long value = generator.nextValue();
+            assertThat(value).isGreaterThan(previous);
+            assertThat((value >>> 12) & 1023).isEqualTo(1023);
+            previous = value;
+        }
+    }
+
+    @Test
+    void millionsOfConcurrentlyIssuedValuesAreAllDistinct() throws Exception {
+        // Two instances with their own node ids, each hammered by half of the threads at once
+        CertificateNumberGenerator[] generators = {new CertificateNumberGenerator(1), new CertificateNumberGenerator(2)};
+        int threads = Math.max(8, Runtime.getRuntime().availableProcessors());
+        int perThread = 500_000;
+        long[][] issued = new long[threads][perThread];
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                CertificateNumberGenerator generator = generators[t % generators.length];
+                long[] values = issued[t];
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        values[i] = generator.nextValue();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long[] all = new long[threads * perThread];
+        for (int t = 0; t < threads; t++) {
+            for (int i = 1; i < perThread; i++) {
+                assertThat(issued[t][i]).as("thread %d, value %d", t, i).isGreaterThan(issued[t][i - 1]);
+            }
+            System.arraycopy(issued[t], 0, all, t * perThread, perThread);
+        }
+        Arrays.sort(all);
+        int duplicates = 0;
+        for (int i = 1; i < all.length; i++) {
+            if (all[i] == all[i - 1]) {
+                duplicates++;
+            }
+        }
+        assertThat(all.length).isGreaterThanOrEqualTo(4_000_000);
+        assertThat(duplicates).isZero();
+    }
+
+    @Test
+    void nodeIdOutsideTenBitsIsRejected() {
+        assertThatThrownBy(() -> new CertificateNumberGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CertificateNumberGenerator(1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,53 @@
+package com.olp.domain.certificate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Certificate PDFs rendered per second on one thread from the real template, without the disk cache.
+ * The target is at least 200 per second on one core.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class CertificatePdfBenchmark {
+
+    private CertificatePdfTemplate template;
+    private Map<String, String> fields;
+    private Map<String, String> transliteratedFields;
+
+    @Setup
+    public void parseTemplate() throws IOException {
+        try (InputStream in = new ClassPathResource("certificate/template.txt").getInputStream()) {
+            template = CertificatePdfTemplate.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        fields = Map.of("studentName", "Mitesh Saste", "courseName", "Data Structures and Algorithms in Java",
+                "instructorName", "Priya Kulkarni", "issueDate", "January 15, 2026", "certificateNumber", "RSCOE-00A1B2C3D4E5");
+        transliteratedFields = Map.of("studentName", "Łukasz Dvořák", "courseName", "Java – the “good” parts",
+                "instructorName", "Priya Kulkarni", "issueDate", "January 15, 2026", "certificateNumber", "RSCOE-00A1B2C3D4E5");
+    }
+
+    @Benchmark
+    public byte[] render() {
+        return template.render(fields);
+    }
+
+    @Benchmark
+    public byte[] renderTransliterated() {
+        return template.render(transliteratedFields);
+    }
+}
@@ -0,0 +1,81 @@
+package com.olp.domain.certificate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CertificatePdfRendererTest {
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void secondRenderIsServedFromTheCache() throws Exception {
+        CertificatePdfRenderer renderer = new CertificatePdfRenderer(cacheDir.toString(), 1);
+
+        Resource first = renderer.render("RSCOE-1", fields("Ada Lovelace", "Analytical Engines", "Charles Babbage"));
+        Resource second = renderer.render("RSCOE-1", fields("Ada Lovelace", "Analytical Engines", "Charles Babbage"));
+
+        assertThat(second.getFile()).isEqualTo(first.getFile());
+        assertThat(renderer.getStats()).containsEntry("renders", 1L).containsEntry("hits", 1L);
+    }
+
+    @Test
+    void everyPrintedNameAndTitleIsChecked() {
+        CertificatePdfRenderer renderer = rendererQuietly();
+
+        assertThatThrownBy(() -> renderer.render("RSCOE-1", fields("मितेश", "Java", "Ada")))
+                .hasMessageContaining("the student name");
+        assertThatThrownBy(() -> renderer.render("RSCOE-2", fields("Ada", "数据结构", "Ada")))
+                .hasMessageContaining("the course title");
+        assertThatThrownBy(() -> renderer.render("RSCOE-3", fields("Ada", "数据结构", "王老师")))
+                .hasMessage("The PDF certificate cannot show the characters in the course title and the instructor name; "
+                        + "download the certificate as an image instead");
+        assertThat(renderer.getStats()).containsEntry("refused", 3L).containsEntry("renders", 0L);
+        assertThat(renderer.render("RSCOE-4", fields("Antonín Dvořák", "Java", "Ada")).exists()).isTrue();
+    }
+
+    @Test
+    void cacheOverItsLimitDropsTheLeastRecentlyUsedFiles() throws Exception {
+        // 1.5 MB of files last used a day ago, oldest first
+        Instant dayAgo = Instant.now().minus(Duration.ofDays(1));
+        for (int i = 0; i < 6; i++) {
+            Path file = cacheDir.resolve("RSCOE-" + i + "-0.pdf");
+            Files.write(file, new byte[256 * 1024]);
+            Files.setLastModifiedTime(file, FileTime.from(dayAgo.plusSeconds(i)));
+        }
+        Path recent = cacheDir.resolve("RSCOE-recent-0.pdf");
+        Files.write(recent, new byte[256 * 1024]);
+
+        CertificatePdfRenderer renderer = new CertificatePdfRenderer(cacheDir.toString(), 1);
+
+        // Trimmed to under 90% of 1 MB: the four oldest files go, the rest stay
+        assertThat(renderer.getStats()).containsEntry("evictions", 4L).containsEntry("cacheBytes", 3L * 256 * 1024);
+        assertThat(cacheDir.resolve("RSCOE-0-0.pdf")).doesNotExist();
+        assertThat(cacheDir.resolve("RSCOE-5-0.pdf")).exists();
+        assertThat(recent).exists();
+    }
+
+    private CertificatePdfRenderer rendererQuietly() {
+        try {
+            return new CertificatePdfRenderer(cacheDir.toString(), 1);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, String> fields(String studentName, String courseName, String instructorName) {
+        return Map.of("studentName", studentName, "courseName", courseName, "instructorName", instructorName,
+                "issueDate", "January 01, 2026", "certificateNumber", "RSCOE-1");
+    }
+}
@@ -0,0 +1,41 @@
+package com.olp.domain.certificate;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CertificatePdfTemplateTest {
+
+    @Test
+    void latin1TextIsPrintedAsIs() {
+        assertThat(CertificatePdfTemplate.printable("José Müller")).isEqualTo("José Müller");
+    }
+
+    @Test
+    void accentsAndPunctuationOutsideLatin1AreSpelledOut() {
+        assertThat(CertificatePdfTemplate.printable("Antonín Dvořák")).isEqualTo("Antonín Dvorák");
+        assertThat(CertificatePdfTemplate.printable("Łukasz Świątek")).isEqualTo("Lukasz Swiatek");
+        assertThat(CertificatePdfTemplate.printable("Java – the “good” parts…")).isEqualTo("Java - the \"good\" parts...");
+        // Decomposed input is recomposed first, so é stays é
+        assertThat(CertificatePdfTemplate.printable("René")).isEqualTo("René");
+    }
+
+    @Test
+    void scriptsWithoutALatinFormAreReported() {
+        assertThat(CertificatePdfTemplate.printable("मितेश साष्टे")).isNull();
+        assertThat(CertificatePdfTemplate.printable("王小明")).isNull();
+        assertThat(CertificatePdfTemplate.printable("Course 🚀")).isNull();
+    }
+
+    @Test
+    void renderedTextUsesThePrintableForm() {
+        CertificatePdfTemplate template = CertificatePdfTemplate.parse("{{text F1 12 left 90 100 studentName}}");
+
+        String pdf = new String(template.render(Map.of("studentName", "Antonín Dvořák (Jr.)")), StandardCharsets.ISO_8859_1);
+
+        assertThat(pdf).startsWith("%PDF-1.4").endsWith("%%EOF\n").contains("(Antonín Dvorák \\(Jr.\\)) Tj");
+    }
+}
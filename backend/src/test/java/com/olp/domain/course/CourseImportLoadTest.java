@@ -0,0 +1,143 @@
+package com.olp.domain.course;
+
+import com.olp.domain.lesson.LessonRequest;
+import com.olp.domain.quiz.QuizRequest;
+import com.olp.domain.quiz.QuizService;
+import com.olp.domain.user.User;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.support.IntegrationTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports a 300-lesson course with a ten-question quiz per section through the bulk import and through
+ * the existing create-course plus create-quiz path, and compares the median wall time of each. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class CourseImportLoadTest extends IntegrationTest {
+
+    private static final int SECTIONS = 15;
+    private static final int LESSONS_PER_SECTION = 20;
+    private static final int QUESTIONS_PER_QUIZ = 10;
+    private static final int OPTIONS_PER_QUESTION = 4;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private CourseImportService courseImportService;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Test
+    void bulkImportIsAnOrderOfMagnitudeFasterThanRowByRowCreation() {
+        AuthenticatedUser instructor = createUser(User.Role.INSTRUCTOR);
+        signIn(instructor);
+
+        // One untimed round of each warms up the statement caches and the JIT
+        importCourse();
+        createCourseRowByRow();
+
+        long[] imports = new long[ROUNDS];
+        long[] rowByRow = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            imports[i] = importCourse();
+            rowByRow[i] = createCourseRowByRow();
+        }
+        double importMs = median(imports);
+        double rowByRowMs = median(rowByRow);
+        System.out.printf("Course with %d lessons and %d quiz questions: bulk import %.1f ms, row by row %.1f ms (%.1fx)%n",
+                SECTIONS * LESSONS_PER_SECTION, SECTIONS * QUESTIONS_PER_QUIZ, importMs, rowByRowMs, rowByRowMs / importMs);
+
+        assertThat(rowByRowMs / importMs).isGreaterThanOrEqualTo(10);
+    }
+
+    private long importCourse() {
+        CourseImportRequest request = new CourseImportRequest();
+        request.setTitle("Imported course");
+        List<CourseImportRequest.SectionImport> sections = new ArrayList<>();
+        for (int s = 0; s < SECTIONS; s++) {
+            CourseImportRequest.SectionImport section = new CourseImportRequest.SectionImport();
+            section.setTitle("Section " + (s + 1));
+            section.setLessons(lessons(s));
+            section.setQuiz(quiz());
+            sections.add(section);
+        }
+        request.setSections(sections);
+
+        long start = System.nanoTime();
+        CourseImportResponse response = courseImportService.importCourse(request);
+        long elapsed = System.nanoTime() - start;
+        assertThat(response.getLessons()).isEqualTo(SECTIONS * LESSONS_PER_SECTION);
+        assertThat(response.getOptions()).isEqualTo(SECTIONS * QUESTIONS_PER_QUIZ * OPTIONS_PER_QUESTION);
+        return elapsed;
+    }
+
+    private long createCourseRowByRow() {
+        CourseRequest request = new CourseRequest();
+        request.setTitle("Created course");
+        List<SectionRequest> sections = new ArrayList<>();
+        for (int s = 0; s < SECTIONS; s++) {
+            SectionRequest section = new SectionRequest();
+            section.setTitle("Section " + (s + 1));
+            section.setSortOrder(s + 1);
+            section.setLessons(lessons(s));
+            sections.add(section);
+        }
+        request.setSections(sections);
+
+        long start = System.nanoTime();
+        CourseResponse course = courseService.createCourse(request);
+        for (SectionResponse section : course.getSections()) {
+            quizService.createQuiz(section.getId(), quiz());
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(course.getLessonCount()).isEqualTo(SECTIONS * LESSONS_PER_SECTION);
+        return elapsed;
+    }
+
+    private static List<LessonRequest> lessons(int section) {
+        List<LessonRequest> lessons = new ArrayList<>();
+        for (int l = 0; l < LESSONS_PER_SECTION; l++) {
+            LessonRequest lesson = new LessonRequest();
+            lesson.setTitle("Lesson " + (section + 1) + "." + (l + 1));
+            lesson.setContent("Lesson body ".repeat(40));
+            lesson.setVideoUrl("https://videos.example.com/" + section + "/" + l + ".mp4");
+            lesson.setSortOrder(l + 1);
+            lessons.add(lesson);
+        }
+        return lessons;
+    }
+
+    private static QuizRequest quiz() {
+        List<QuizRequest.QuestionRequest> questions = new ArrayList<>();
+        for (int q = 0; q < QUESTIONS_PER_QUIZ; q++) {
+            QuizRequest.QuestionRequest question = new QuizRequest.QuestionRequest();
+            question.setQuestion("Question " + (q + 1));
+            List<String> options = new ArrayList<>();
+            for (int o = 0; o < OPTIONS_PER_QUESTION; o++) {
+                options.add("Option " + (o + 1));
+            }
+            question.setOptions(options);
+            question.setCorrectAnswer("Option 1");
+            questions.add(question);
+        }
+        QuizRequest quiz = new QuizRequest();
+        quiz.setTitle("Section quiz");
+        quiz.setQuestions(questions);
+        return quiz;
+    }
+
+    private static double median(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1e6;
+    }
+}
@@ -0,0 +1,94 @@
+package com.olp.domain.course;
+
+import com.olp.domain.lesson.LessonRequest;
+import com.olp.domain.quiz.QuizRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseImportRequestTest {
+
+    private static ValidatorFactory factory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void createValidator() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        factory.close();
+    }
+
+    @Test
+    void wellFormedDocumentPasses() {
+        assertThat(validator.validate(request(question("2 + 2?", "4", "3", "4")))).isEmpty();
+    }
+
+    @Test
+    void malformedSectionQuizIsRejected() {
+        CourseImportRequest request = request(question(" ", null, "3", null, "x".repeat(256)));
+
+        assertThat(paths(request)).containsExactlyInAnyOrder(
+                "sections[0].quiz.questions[0].question",
+                "sections[0].quiz.questions[0].correctAnswer",
+                "sections[0].quiz.questions[0].options[1].<list element>",
+                "sections[0].quiz.questions[0].options[2].<list element>");
+    }
+
+    @Test
+    void quizWithoutQuestionsOrOptionsIsRejected() {
+        CourseImportRequest empty = request();
+        QuizRequest.QuestionRequest noOptions = question("2 + 2?", "4");
+        noOptions.setOptions(null);
+
+        assertThat(paths(empty)).containsExactly("sections[0].quiz.questions");
+        assertThat(paths(request(noOptions))).containsExactly("sections[0].quiz.questions[0].options");
+    }
+
+    private static List<String> paths(CourseImportRequest request) {
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getPropertyPath)
+                .map(Object::toString)
+                .toList();
+    }
+
+    private static CourseImportRequest request(QuizRequest.QuestionRequest... questions) {
+        QuizRequest quiz = new QuizRequest();
+        quiz.setTitle("Section quiz");
+        quiz.setQuestions(List.of(questions));
+
+        LessonRequest lesson = new LessonRequest();
+        lesson.setTitle("Lesson 1");
+        lesson.setSortOrder(1);
+
+        CourseImportRequest.SectionImport section = new CourseImportRequest.SectionImport();
+        section.setTitle("Section 1");
+        section.setLessons(List.of(lesson));
+        section.setQuiz(quiz);
+
+        CourseImportRequest request = new CourseImportRequest();
+        request.setTitle("Imported course");
+        request.setSections(List.of(section));
+        return request;
+    }
+
+    private static QuizRequest.QuestionRequest question(String text, String correctAnswer, String... options) {
+        QuizRequest.QuestionRequest question = new QuizRequest.QuestionRequest();
+        question.setQuestion(text);
+        question.setCorrectAnswer(correctAnswer);
+        question.setOptions(Arrays.asList(options));
+        return question;
+    }
+}
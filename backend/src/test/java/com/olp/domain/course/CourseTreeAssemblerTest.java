@@ -0,0 +1,88 @@
+package com.olp.domain.course;
+
+import com.olp.domain.user.User;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.support.IntegrationTest;
+import com.olp.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseTreeAssemblerTest extends IntegrationTest {
+
+    private static final int PAGE = 10;
+
+    @Autowired
+    private CourseTreeAssembler courseTreeAssembler;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private AuthenticatedUser instructor;
+    private List<Course> courses;
+
+    @BeforeEach
+    void createCourses() {
+        // Three instructors and uneven trees, so every batched lookup has several keys to resolve
+        List<AuthenticatedUser> instructors = List.of(createUser(User.Role.INSTRUCTOR),
+                createUser(User.Role.INSTRUCTOR), createUser(User.Role.INSTRUCTOR));
+        instructor = instructors.get(0);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < PAGE; i++) {
+            CourseResponse course = createPublishedCourse(instructors.get(i % 3), 1 + i % 3, 2 + i % 2);
+            CourseRequest tags = new CourseRequest();
+            tags.setTitle(course.getTitle());
+            tags.setTags(Set.of("tag-a", "tag-" + i));
+            courseService.updateCourse(course.getId(), tags);
+            ids.add(course.getId());
+        }
+        courses = courseRepository.findAllById(ids);
+    }
+
+    @ParameterizedTest
+    @EnumSource(CourseView.class)
+    void assemblingAPageCostsTheSameQueriesForOneOrManyCourses(CourseView view) {
+        int one = queries(() -> courseTreeAssembler.assemble(courses.subList(0, 1), view));
+        List<CourseResponse> assembled = new ArrayList<>();
+        int many = queries(() -> assembled.addAll(courseTreeAssembler.assemble(courses, view)));
+
+        // Instructors, tags, then sections and lessons or their two counts
+        assertThat(one).isEqualTo(4);
+        assertThat(many).isEqualTo(one);
+        assertThat(assembled).hasSize(PAGE).allSatisfy(course -> {
+            assertThat(course.getInstructorName()).isNotNull();
+            assertThat(course.getTags()).contains("tag-a");
+            assertThat(course.getLessonCount()).isPositive();
+        });
+    }
+
+    @ParameterizedTest
+    @EnumSource(CourseView.class)
+    void instructorPagesCostTheSameQueriesForOneOrManyCourses(CourseView view) {
+        signIn(instructor);
+        Sort newest = Sort.by(Sort.Direction.DESC, "createdAt");
+
+        // The instructor owns four of the courses; both pages are full, so both also run the count query
+        int one = queries(() -> courseService.getInstructorCourses(view, PageRequest.of(0, 1, newest)));
+        int many = queries(() -> courseService.getInstructorCourses(view, PageRequest.of(0, 4, newest)));
+
+        assertThat(courseService.getInstructorCourses(view, PageRequest.of(0, 4, newest)).getContent()).hasSize(4);
+        assertThat(many).isEqualTo(one);
+    }
+
+    private static int queries(Supplier<?> call) {
+        QueryCounter.reset();
+        call.get();
+        return QueryCounter.count();
+    }
+}
@@ -0,0 +1,84 @@
+package com.olp.domain.enrollment;
+
+import com.olp.domain.certificate.CertificateRepository;
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.progress.LessonProgressBuffer;
+import com.olp.domain.progress.ProgressService;
+import com.olp.domain.user.User;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnrollmentRequirementTrackerTest extends IntegrationTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private LessonProgressBuffer progressBuffer;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Test
+    void deletingTheLastMissingLessonCompletesTheEnrollment() {
+        AuthenticatedUser instructor = createUser(User.Role.INSTRUCTOR);
+        AuthenticatedUser student = createUser(User.Role.STUDENT);
+        CourseResponse course = createPublishedCourse(instructor, 2, 1);
+        List<String> lessons = lessonIds(course);
+
+        signIn(student);
+        enrollmentService.enrollInCourse(course.getId());
+        progressService.markLessonComplete(lessons.get(0));
+        progressService.markLessonComplete(lessons.get(1));
+        progressBuffer.flush();
+        assertThat(remaining(course.getId(), student.getId())).isEqualTo(1);
+
+        // deleteLesson is @Transactional, so the recount runs after its commit
+        signIn(instructor);
+        courseService.deleteLesson(course.getId(), lessons.get(2));
+
+        assertThat(remaining(course.getId(), student.getId())).isZero();
+        await("the certificate", () -> !certificateRepository.findByUserIdAndCourseId(student.getId(), course.getId()).isEmpty());
+    }
+
+    @Test
+    void deletingASectionRecountsEveryEnrollment() {
+        AuthenticatedUser instructor = createUser(User.Role.INSTRUCTOR);
+        AuthenticatedUser first = createUser(User.Role.STUDENT);
+        AuthenticatedUser second = createUser(User.Role.STUDENT);
+        CourseResponse course = createPublishedCourse(instructor, 1, 3);
+        List<String> lessons = lessonIds(course);
+
+        signIn(first);
+        enrollmentService.enrollInCourse(course.getId());
+        progressService.markLessonComplete(lessons.get(0));
+        signIn(second);
+        enrollmentService.enrollInCourse(course.getId());
+        progressBuffer.flush();
+        assertThat(remaining(course.getId(), first.getId())).isEqualTo(3);
+        assertThat(remaining(course.getId(), second.getId())).isEqualTo(4);
+
+        signIn(instructor);
+        courseService.deleteSection(course.getId(), course.getSections().get(1).getId());
+
+        assertThat(remaining(course.getId(), first.getId())).isZero();
+        assertThat(remaining(course.getId(), second.getId())).isEqualTo(1);
+        await("the certificate", () -> !certificateRepository.findByUserIdAndCourseId(first.getId(), course.getId()).isEmpty());
+        assertThat(certificateRepository.findByUserIdAndCourseId(second.getId(), course.getId())).isEmpty();
+    }
+
+    private int remaining(String courseId, String userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT remaining_requirements FROM enrollments WHERE course_id = ? AND user_id = ?",
+                Integer.class, courseId, userId);
+    }
+}
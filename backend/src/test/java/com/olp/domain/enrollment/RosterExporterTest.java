@@ -0,0 +1,76 @@
+package com.olp.domain.enrollment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.user.User;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RosterExporterTest extends IntegrationTest {
+
+    @Autowired
+    private RosterExporter rosterExporter;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private CourseResponse course;
+
+    @BeforeEach
+    void enrollStudents() {
+        course = createPublishedCourse(createUser(User.Role.INSTRUCTOR), 1);
+        enroll("=HYPERLINK(\"http://x\",\"y\")", "Smith, Jr.");
+        enroll("+1", "@SUM(A1:A2)");
+        enroll("-2", "O'Brien");
+    }
+
+    @Test
+    void csvCellsThatLookLikeFormulasArePrefixed() throws IOException {
+        List<String> lines = export(RosterFormat.CSV).lines().toList();
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(1)).contains(",\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",\"Smith, Jr.\",");
+        assertThat(lines.get(2)).contains(",'+1,'@SUM(A1:A2),");
+        assertThat(lines.get(3)).contains(",'-2,O'Brien,");
+    }
+
+    @Test
+    void ndjsonLinesHaveNoSeparatorAndKeepValuesVerbatim() throws IOException {
+        String body = export(RosterFormat.NDJSON);
+        List<String> lines = body.lines().toList();
+
+        assertThat(body).endsWith("}\n");
+        assertThat(lines).hasSize(3).allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("firstName").asText()).isEqualTo("=HYPERLINK(\"http://x\",\"y\")");
+        assertThat(objectMapper.readTree(lines.get(2)).get("firstName").asText()).isEqualTo("-2");
+    }
+
+    private void enroll(String firstName, String lastName) {
+        AuthenticatedUser student = createUser(User.Role.STUDENT);
+        jdbcTemplate.update("UPDATE users SET first_name = ?, last_name = ? WHERE id = ?", firstName, lastName, student.getId());
+        signIn(student);
+        // Enrollment ids are time-ordered, so the export lists students in this order
+        enrollmentService.enrollInCourse(course.getId());
+    }
+
+    private String export(RosterFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        rosterExporter.write(course.getId(), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
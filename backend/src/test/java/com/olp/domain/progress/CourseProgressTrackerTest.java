@@ -0,0 +1,179 @@
+package com.olp.domain.progress;
+
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.lesson.LessonRequest;
+import com.olp.domain.quiz.QuizRequest;
+import com.olp.domain.quiz.QuizService;
+import com.olp.domain.user.User;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseProgressTrackerTest extends IntegrationTest {
+
+    @Autowired
+    private CourseProgressTracker progressTracker;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private LessonProgressBuffer progressBuffer;
+
+    @Autowired
+    private QuizService quizService;
+
+    private AuthenticatedUser instructor;
+    private AuthenticatedUser student;
+    private CourseResponse course;
+    private List<String> lessons;
+
+    @BeforeEach
+    void createCourse() {
+        instructor = createUser(User.Role.INSTRUCTOR);
+        student = createUser(User.Role.STUDENT);
+        course = createPublishedCourse(instructor, 2, 2);
+        lessons = lessonIds(course);
+    }
+
+    @Test
+    void firstReadBuildsTheRow() {
+        signIn(student);
+        ProgressResponse progress = progressService.getCourseProgress(course.getId());
+
+        assertThat(progress.getCompletedLessons()).isZero();
+        assertThat(progress.getTotalLessons()).isEqualTo(4);
+        assertThat(row()).extracting(CourseProgress::totalLessons, CourseProgress::totalQuizzes).containsExactly(4, 0);
+    }
+
+    @Test
+    void completionsUpdateTheRowInPlace() {
+        signIn(student);
+        progressService.getCourseProgress(course.getId());
+        long rowsBuilt = stat("rowsBuilt");
+        long rebuilds = stat("rebuilds");
+        long incrementalUpdates = stat("incrementalUpdates");
+
+        progressService.markLessonComplete(lessons.get(0));
+        progressService.markLessonComplete(lessons.get(2));
+        progressService.markLessonComplete(lessons.get(2));
+        progressBuffer.flush();
+
+        CourseProgress row = row();
+        assertThat(row.completedLessons()).isEqualTo(2);
+        assertThat(row.isCompleted(ordinal(lessons.get(0)))).isTrue();
+        assertThat(row.isCompleted(ordinal(lessons.get(1)))).isFalse();
+        assertThat(row.isCompleted(ordinal(lessons.get(2)))).isTrue();
+        assertThat(stat("incrementalUpdates") - incrementalUpdates).isEqualTo(2);
+        assertThat(stat("rowsBuilt")).isEqualTo(rowsBuilt);
+        assertThat(stat("rebuilds")).isEqualTo(rebuilds);
+        assertThat(progressService.getCourseProgress(course.getId()).getCompletedLessonIds())
+                .containsExactlyInAnyOrder(lessons.get(0), lessons.get(2));
+    }
+
+    @Test
+    void deletingACompletedLessonRebuildsTheRow() {
+        completeAndFlush(lessons.get(0), lessons.get(1));
+
+        // deleteLesson is @Transactional, so the rebuild runs after its commit
+        signIn(instructor);
+        courseService.deleteLesson(course.getId(), lessons.get(1));
+
+        CourseProgress row = row();
+        assertThat(row.totalLessons()).isEqualTo(3);
+        assertThat(row.completedLessons()).isEqualTo(1);
+        assertThat(row.isCompleted(ordinal(lessons.get(0)))).isTrue();
+        assertThat(LessonBitmap.cardinality(row.lessonBitmap())).isEqualTo(1);
+    }
+
+    @Test
+    void deletingASectionRebuildsTheRow() {
+        completeAndFlush(lessons.get(0), lessons.get(3));
+
+        signIn(instructor);
+        courseService.deleteSection(course.getId(), course.getSections().get(1).getId());
+
+        CourseProgress row = row();
+        assertThat(row.totalLessons()).isEqualTo(2);
+        assertThat(row.completedLessons()).isEqualTo(1);
+        assertThat(LessonBitmap.cardinality(row.lessonBitmap())).isEqualTo(1);
+    }
+
+    @Test
+    void addedLessonsAreNumberedAndCounted() {
+        completeAndFlush(lessons.get(0));
+
+        signIn(instructor);
+        LessonRequest request = new LessonRequest();
+        request.setTitle("Added lesson");
+        request.setSectionId(course.getSections().get(0).getId());
+        request.setSortOrder(3);
+        CourseResponse updated = courseService.addLessonToCourse(course.getId(), request);
+        String added = lessonIds(updated).stream().filter(id -> !lessons.contains(id)).findFirst().orElseThrow();
+
+        assertThat(row().totalLessons()).isEqualTo(5);
+        assertThat(progressTracker.lessonIdsByOrdinal(course.getId())).contains(added);
+
+        completeAndFlush(added);
+        CourseProgress row = row();
+        assertThat(row.completedLessons()).isEqualTo(2);
+        assertThat(row.isCompleted(ordinal(added))).isTrue();
+    }
+
+    @Test
+    void creatingAndDeletingAQuizChangesTheQuizTotal() {
+        completeAndFlush(lessons.get(0));
+        String sectionId = course.getSections().get(0).getId();
+
+        quizService.createQuiz(sectionId, quiz());
+        assertThat(row().totalQuizzes()).isEqualTo(1);
+
+        quizService.deleteQuiz(sectionId);
+        assertThat(row().totalQuizzes()).isZero();
+        assertThat(row().completedLessons()).isEqualTo(1);
+    }
+
+    private void completeAndFlush(String... lessonIds) {
+        signIn(student);
+        progressService.getCourseProgress(course.getId());
+        for (String lessonId : lessonIds) {
+            progressService.markLessonComplete(lessonId);
+        }
+        progressBuffer.flush();
+    }
+
+    private CourseProgress row() {
+        return jdbcTemplate.queryForObject(
+                "SELECT user_id, course_id, completed_lessons, passed_quizzes, total_lessons, total_quizzes, lesson_bitmap " +
+                "FROM course_progress WHERE user_id = ? AND course_id = ?",
+                (rs, rowNum) -> new CourseProgress(rs.getString("user_id"), rs.getString("course_id"),
+                        rs.getInt("completed_lessons"), rs.getInt("passed_quizzes"), rs.getInt("total_lessons"),
+                        rs.getInt("total_quizzes"), LessonBitmapCodec.decode(rs.getBytes("lesson_bitmap"))),
+                student.getId(), course.getId());
+    }
+
+    private int ordinal(String lessonId) {
+        return jdbcTemplate.queryForObject("SELECT ordinal FROM lessons WHERE id = ?", Integer.class, lessonId);
+    }
+
+    private long stat(String name) {
+        return (Long) progressTracker.getStats().get(name);
+    }
+
+    private static QuizRequest quiz() {
+        QuizRequest.QuestionRequest question = new QuizRequest.QuestionRequest();
+        question.setQuestion("2 + 2?");
+        question.setOptions(List.of("3", "4"));
+        question.setCorrectAnswer("4");
+        QuizRequest request = new QuizRequest();
+        request.setTitle("Section quiz");
+        request.setQuestions(List.of(question));
+        return request;
+    }
+}
@@ -0,0 +1,171 @@
+package com.olp.domain.progress;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LessonBitmapCodecTest {
+
+    private static final int ARRAY = 0;
+    private static final int BITMAP = 1;
+    private static final int RUN = 2;
+
+    @Test
+    void emptySetEncodesToNothing() {
+        assertThat(LessonBitmapCodec.encode(LessonBitmap.EMPTY)).isEmpty();
+        assertThat(LessonBitmapCodec.encode(new byte[16])).isEmpty();
+        assertThat(LessonBitmapCodec.decode(null)).isEmpty();
+        assertThat(LessonBitmapCodec.decode(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void lessonsCompletedInOrderUseOneRun() {
+        TreeSet<Integer> ordinals = range(0, 200);
+
+        byte[] encoded = LessonBitmapCodec.encode(bitmapOf(ordinals));
+
+        assertThat(encoded).hasSizeLessThanOrEqualTo(6);
+        assertThat(encoded[1]).isEqualTo((byte) RUN);
+        assertThat(roundTrip(ordinals)).isEqualTo(ordinals);
+    }
+
+    @Test
+    void scatteredLessonsUseAnArray() {
+        TreeSet<Integer> ordinals = new TreeSet<>(List.of(0, 100, 5_000, 9_999));
+
+        byte[] encoded = LessonBitmapCodec.encode(bitmapOf(ordinals));
+
+        assertThat(encoded[1]).isEqualTo((byte) ARRAY);
+        assertThat(roundTrip(ordinals)).isEqualTo(ordinals);
+    }
+
+    @Test
+    void denseIrregularLessonsUseARawBitmap() {
+        Random random = new Random(42);
+        TreeSet<Integer> ordinals = new TreeSet<>();
+        for (int ordinal = 0; ordinal < 1_000; ordinal++) {
+            if (random.nextBoolean()) {
+                ordinals.add(ordinal);
+            }
+        }
+
+        byte[] encoded = LessonBitmapCodec.encode(bitmapOf(ordinals));
+
+        assertThat(encoded[1]).isEqualTo((byte) BITMAP);
+        assertThat(encoded.length).isLessThan(1_000 / 8 + 4);
+        assertThat(roundTrip(ordinals)).isEqualTo(ordinals);
+    }
+
+    @Test
+    void ordinalsAboveSixteenBitsGoToLaterContainers() {
+        TreeSet<Integer> ordinals = new TreeSet<>(List.of(3, 65_535, 65_536, 65_537, 131_072, 200_000));
+        ordinals.addAll(range(70_000, 70_050));
+
+        byte[] encoded = LessonBitmapCodec.encode(bitmapOf(ordinals));
+
+        assertThat(keys(encoded)).containsExactly(0, 1, 2, 3);
+        assertThat(roundTrip(ordinals)).isEqualTo(ordinals);
+    }
+
+    @Test
+    void emptyContainersBetweenUsedOnesAreSkipped() {
+        TreeSet<Integer> ordinals = new TreeSet<>(List.of(1, 5 * 65_536 + 7));
+
+        assertThat(keys(LessonBitmapCodec.encode(bitmapOf(ordinals)))).containsExactly(0, 5);
+        assertThat(roundTrip(ordinals)).isEqualTo(ordinals);
+    }
+
+    @Test
+    void randomSetsRoundTrip() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            TreeSet<Integer> ordinals = new TreeSet<>();
+            int size = random.nextInt(300);
+            int bound = 1 + random.nextInt(i % 2 == 0 ? 2_000 : 300_000);
+            for (int j = 0; j < size; j++) {
+                ordinals.add(random.nextInt(bound));
+            }
+            assertThat(roundTrip(ordinals)).isEqualTo(ordinals);
+        }
+    }
+
+    @Test
+    void unknownContainerKindIsRejected() {
+        assertThatThrownBy(() -> LessonBitmapCodec.decode(new byte[]{0, 9, 1, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void varintsRoundTrip() {
+        long[] values = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, 1L << 40, Long.MAX_VALUE};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long value : values) {
+            LessonBitmapCodec.writeVarint(out, value);
+        }
+        byte[] bytes = out.toByteArray();
+        int[] position = {0};
+        for (long value : values) {
+            assertThat(LessonBitmapCodec.readVarLong(bytes, position)).isEqualTo(value);
+        }
+        assertThat(position[0]).isEqualTo(bytes.length);
+    }
+
+    private static TreeSet<Integer> roundTrip(TreeSet<Integer> ordinals) {
+        return ordinalsOf(LessonBitmapCodec.decode(LessonBitmapCodec.encode(bitmapOf(ordinals))));
+    }
+
+    private static byte[] bitmapOf(TreeSet<Integer> ordinals) {
+        byte[] bitmap = LessonBitmap.EMPTY;
+        for (int ordinal : ordinals) {
+            bitmap = LessonBitmap.add(bitmap, ordinal);
+        }
+        return bitmap;
+    }
+
+    private static TreeSet<Integer> ordinalsOf(byte[] bitmap) {
+        TreeSet<Integer> ordinals = new TreeSet<>();
+        LessonBitmap.forEach(bitmap, ordinals::add);
+        return ordinals;
+    }
+
+    private static TreeSet<Integer> range(int from, int to) {
+        TreeSet<Integer> ordinals = new TreeSet<>();
+        for (int ordinal = from; ordinal < to; ordinal++) {
+            ordinals.add(ordinal);
+        }
+        return ordinals;
+    }
+
+    // Container keys in encoded order, walking the documented layout
+    private static List<Integer> keys(byte[] encoded) {
+        List<Integer> keys = new ArrayList<>();
+        int[] position = {0};
+        while (position[0] < encoded.length) {
+            keys.add(LessonBitmapCodec.readVarint(encoded, position));
+            int kind = encoded[position[0]++];
+            int count = LessonBitmapCodec.readVarint(encoded, position);
+            switch (kind) {
+                case ARRAY -> {
+                    for (int i = 0; i < count; i++) {
+                        LessonBitmapCodec.readVarint(encoded, position);
+                    }
+                }
+                case BITMAP -> position[0] += count;
+                case RUN -> {
+                    for (int i = 0; i < 2 * count; i++) {
+                        LessonBitmapCodec.readVarint(encoded, position);
+                    }
+                }
+                default -> throw new AssertionError("Unknown kind " + kind);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,154 @@
+package com.olp.domain.progress;
+
+import com.olp.shared.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LessonProgressBufferTest {
+
+    private final FakeStore store = new FakeStore();
+    private final List<Object> events = new ArrayList<>();
+
+    @Test
+    void repeatedCompletionsAreWrittenOnce() {
+        LessonProgressBuffer buffer = buffer(100);
+        buffer.add("user", "lesson-1");
+        buffer.add("user", "lesson-1");
+        buffer.add("user", "lesson-2");
+        buffer.add("user", "lesson-1");
+
+        buffer.flush();
+
+        assertThat(store.written).extracting(LessonCompletion::lessonId).containsExactlyInAnyOrder("lesson-1", "lesson-2");
+        assertThat(events).hasSize(2);
+        assertThat(buffer.getStats()).containsEntry("coalesced", 2L).containsEntry("flushed", 2L).containsEntry("pending", 0);
+    }
+
+    @Test
+    void pendingCompletionsAreVisibleToTheirUserBeforeTheFlush() {
+        LessonProgressBuffer buffer = buffer(100);
+        buffer.add("user", "lesson-1");
+
+        assertThat(buffer.pendingLessonIds("user", List.of("lesson-1", "lesson-2"))).containsExactly("lesson-1");
+        assertThat(buffer.pendingLessonIds("other", List.of("lesson-1"))).isEmpty();
+
+        buffer.flush();
+        assertThat(buffer.pendingLessonIds("user", List.of("lesson-1"))).isEmpty();
+        assertThat(store.written).hasSize(1);
+    }
+
+    @Test
+    void failedFlushKeepsTheCompletionsForTheNextRound() {
+        LessonProgressBuffer buffer = buffer(100);
+        buffer.add("user", "lesson-1");
+        store.failing = true;
+
+        buffer.flush();
+        assertThat(store.written).isEmpty();
+        assertThat(buffer.pendingLessonIds("user", List.of("lesson-1"))).containsExactly("lesson-1");
+
+        store.failing = false;
+        buffer.flush();
+        assertThat(store.written).extracting(LessonCompletion::lessonId).containsExactly("lesson-1");
+    }
+
+    @Test
+    void rowTheDatabaseRejectsIsDroppedWithoutHoldingBackTheRest() {
+        LessonProgressBuffer buffer = buffer(100);
+        store.rejectedLessonId = "deleted-lesson";
+        buffer.add("user", "lesson-1");
+        buffer.add("user", "deleted-lesson");
+
+        buffer.flush();
+
+        assertThat(store.written).extracting(LessonCompletion::lessonId).containsExactly("lesson-1");
+        assertThat(buffer.getStats()).containsEntry("dropped", 1L).containsEntry("pending", 0);
+    }
+
+    @Test
+    void completionsBeyondTheLimitAreRefusedWhileTheDatabaseIsDown() {
+        LessonProgressBuffer buffer = buffer(3);
+        store.failing = true;
+        for (int i = 1; i <= 3; i++) {
+            buffer.add("user-" + i, "lesson");
+        }
+
+        assertThatThrownBy(() -> buffer.add("user-4", "lesson")).isInstanceOf(ServiceOverloadedException.class);
+        assertThatThrownBy(() -> buffer.add("user-5", "lesson")).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(buffer.getStats()).containsEntry("pending", 3).containsEntry("shed", 2L);
+        assertThat(buffer.pendingLessonIds("user-4", List.of("lesson"))).isEmpty();
+
+        // Once the database is back, the caller that goes over the limit flushes and is accepted
+        store.failing = false;
+        buffer.add("user-4", "lesson");
+        assertThat(buffer.getStats()).containsEntry("pending", 0);
+        assertThat(store.written).hasSize(4);
+    }
+
+    private LessonProgressBuffer buffer(int maxPending) {
+        // Not started, so nothing is written except by flush() and by callers over the limit
+        return new LessonProgressBuffer(store, new NoTransactions(), events::add, 4, 60_000, 1_000, maxPending);
+    }
+
+    private static final class FakeStore implements LessonCompletionStore {
+        private final List<LessonCompletion> written = new ArrayList<>();
+        private volatile boolean failing;
+        private String rejectedLessonId;
+
+        @Override
+        public synchronized List<LessonCompletion> record(Collection<LessonCompletion> completions) {
+            if (failing) {
+                throw new QueryTimeoutException("database unavailable");
+            }
+            if (completions.stream().anyMatch(completion -> completion.lessonId().equals(rejectedLessonId))) {
+                throw new DataIntegrityViolationException("lesson does not exist");
+            }
+            written.addAll(completions);
+            return List.copyOf(completions);
+        }
+
+        @Override
+        public Map<String, Set<String>> findCompletedLessonIds(String courseId, Collection<String> userIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<String> lockCompletedLessonIds(String userId, String courseId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, Object> getStats() {
+            return Map.of();
+        }
+    }
+
+    private static final class NoTransactions implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
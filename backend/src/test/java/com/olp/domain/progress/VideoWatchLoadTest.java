@@ -0,0 +1,116 @@
+package com.olp.domain.progress;
+
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.user.User;
+import com.olp.shared.id.UuidV7;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.support.IntegrationTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 10,000 students each watching one of five lessons, with 16 threads delivering their heartbeats to
+ * the tracker as fast as it takes them for ten seconds while the flusher runs on its normal schedule.
+ * Reports heartbeats per second and the rows written for them. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class VideoWatchLoadTest extends IntegrationTest {
+
+    private static final int STUDENTS = 10_000;
+    private static final int THREADS = 16;
+    private static final long RUN_MILLIS = 10_000;
+    private static final double DURATION_SECONDS = 36_000;
+
+    @Autowired
+    private VideoWatchTracker tracker;
+
+    @Test
+    void tensOfThousandsOfHeartbeatsPerSecondWithoutAWritePerHeartbeat() throws Exception {
+        AuthenticatedUser instructor = createUser(User.Role.INSTRUCTOR);
+        CourseResponse course = createPublishedCourse(instructor, 5);
+        List<String> lessons = lessonIds(course);
+        List<String> students = createStudents();
+
+        // The first heartbeat of a session loads it from the database; the run measures the steady state
+        for (int s = 0; s < STUDENTS; s++) {
+            tracker.heartbeat(students.get(s), lessons.get(s % lessons.size()), 0, DURATION_SECONDS);
+        }
+        tracker.flush();
+        long heartbeatsBefore = stat("heartbeats");
+        long rowsBefore = stat("rowsFlushed");
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService players = Executors.newFixedThreadPool(THREADS);
+        long elapsedNanos;
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            long[] deadline = new long[1];
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(players.submit(() -> {
+                    // Each thread plays its own sessions, so a session's heartbeats arrive in order
+                    double[] positions = new double[STUDENTS / THREADS + 1];
+                    start.await();
+                    while (System.nanoTime() < deadline[0]) {
+                        for (int s = thread, i = 0; s < STUDENTS; s += THREADS, i++) {
+                            positions[i] = Math.min(positions[i] + 1, DURATION_SECONDS);
+                            tracker.heartbeat(students.get(s), lessons.get(s % lessons.size()), positions[i], DURATION_SECONDS);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            deadline[0] = begin + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+            elapsedNanos = System.nanoTime() - begin;
+        } finally {
+            players.shutdownNow();
+        }
+
+        tracker.flush();
+        long heartbeats = stat("heartbeats") - heartbeatsBefore;
+        long rows = stat("rowsFlushed") - rowsBefore;
+        double perSecond = heartbeats / (elapsedNanos / 1e9);
+        System.out.printf("%d heartbeats for %d sessions from %d threads in %.1f s: %.0f heartbeats/s, %d rows written%n",
+                heartbeats, STUDENTS, THREADS, elapsedNanos / 1e9, perSecond, rows);
+
+        assertThat(perSecond).isGreaterThan(20_000);
+        // At most one row per session per flush round: a couple of scheduled flushes plus the final one
+        assertThat(rows).isLessThanOrEqualTo(STUDENTS * (RUN_MILLIS / 10_000 + 2));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM video_progress WHERE lesson_id IN (?, ?, ?, ?, ?)",
+                Integer.class, lessons.toArray())).isEqualTo(STUDENTS);
+    }
+
+    private List<String> createStudents() {
+        List<String> students = new ArrayList<>(STUDENTS);
+        List<Object[]> rows = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            String id = UuidV7.next();
+            String username = "viewer-" + id.substring(19).replace("-", "");
+            students.add(id);
+            rows.add(new Object[]{id, username, username + "@example.com", "-", "STUDENT", "Test", username});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password_hash, role, first_name, last_name) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        return students;
+    }
+
+    private long stat(String name) {
+        return (Long) tracker.getStats().get(name);
+    }
+}
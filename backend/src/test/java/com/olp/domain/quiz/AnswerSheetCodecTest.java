@@ -0,0 +1,134 @@
+package com.olp.domain.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnswerSheetCodecTest {
+
+    @Test
+    void selectionsRoundTripIncludingUnanswered() {
+        QuizAnswerKey key = key(4, 2, 3, 4);
+        int[] selections = {
+                key.optionStart(0) + 3,
+                -1,
+                key.optionStart(2),
+                key.optionStart(3) + 1
+        };
+
+        byte[] sheet = AnswerSheetCodec.encode(key, selections);
+
+        assertThat(AnswerSheetCodec.decode(key, sheet)).containsExactly(selections);
+    }
+
+    @Test
+    void everyOptionOfEveryQuestionRoundTrips() {
+        QuizAnswerKey key = key(1, 2, 3, 4, 5, 7, 8);
+        for (int choice = 0; choice < 8; choice++) {
+            int[] selections = new int[key.getTotalQuestions()];
+            for (int q = 0; q < selections.length; q++) {
+                selections[q] = choice < key.optionCount(q) ? key.optionStart(q) + choice : -1;
+            }
+            assertThat(AnswerSheetCodec.decode(key, AnswerSheetCodec.encode(key, selections))).containsExactly(selections);
+        }
+    }
+
+    @Test
+    void slotWidthFitsTheLargestQuestion() {
+        // 0 for unanswered plus four options needs three bits; fifty questions pack into 19 bytes
+        QuizAnswerKey key = key(repeat(4, 50));
+
+        byte[] sheet = AnswerSheetCodec.encode(key, unanswered(50));
+
+        assertThat(sheet[0]).isEqualTo((byte) 1);
+        assertThat(sheet[1]).isEqualTo((byte) 3);
+        assertThat(sheet).hasSize(4 + 19);
+    }
+
+    @Test
+    void singleOptionQuestionsUseOneBit() {
+        QuizAnswerKey key = key(1, 1, 1);
+
+        byte[] sheet = AnswerSheetCodec.encode(key, new int[]{0, -1, 2});
+
+        assertThat(sheet[1]).isEqualTo((byte) 1);
+        assertThat(AnswerSheetCodec.decode(key, sheet)).containsExactly(0, -1, 2);
+    }
+
+    @Test
+    void questionsWithoutOptionsDecodeAsUnanswered() {
+        QuizAnswerKey key = key(3, 0, 2);
+        int[] selections = {key.optionStart(0) + 2, -1, key.optionStart(2) + 1};
+
+        assertThat(AnswerSheetCodec.decode(key, AnswerSheetCodec.encode(key, selections))).containsExactly(selections);
+    }
+
+    @Test
+    void manyQuestionsUseBothCountBytes() {
+        QuizAnswerKey key = key(repeat(2, 300));
+        int[] selections = new int[300];
+        for (int q = 0; q < selections.length; q++) {
+            selections[q] = q % 3 == 0 ? -1 : key.optionStart(q) + q % 2;
+        }
+
+        byte[] sheet = AnswerSheetCodec.encode(key, selections);
+
+        assertThat(((sheet[2] & 0xFF) << 8) | (sheet[3] & 0xFF)).isEqualTo(300);
+        assertThat(AnswerSheetCodec.decode(key, sheet)).containsExactly(selections);
+    }
+
+    @Test
+    void sheetForADifferentQuizShapeIsRejected() {
+        byte[] sheet = AnswerSheetCodec.encode(key(2, 2), unanswered(2));
+
+        assertThatThrownBy(() -> AnswerSheetCodec.decode(key(2, 2, 2), sheet))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unknownVersionIsRejected() {
+        QuizAnswerKey key = key(2);
+        byte[] sheet = AnswerSheetCodec.encode(key, unanswered(1));
+        sheet[0] = 2;
+
+        assertThatThrownBy(() -> AnswerSheetCodec.decode(key, sheet)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AnswerSheetCodec.decode(key, new byte[2])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // A quiz whose questions have the given option counts; option 0 of each question is correct
+    private static QuizAnswerKey key(int... optionCounts) {
+        List<QuizQuestion> questions = new ArrayList<>();
+        List<QuizOption> options = new ArrayList<>();
+        for (int q = 0; q < optionCounts.length; q++) {
+            QuizQuestion question = new QuizQuestion();
+            question.setId(String.format("q%04d", q));
+            question.setQuizId("quiz");
+            question.setQuestion("Question " + q);
+            question.setCorrectAnswer("option 0");
+            questions.add(question);
+            for (int o = 0; o < optionCounts[q]; o++) {
+                QuizOption option = new QuizOption();
+                option.setId(String.format("q%04d-o%02d", q, o));
+                option.setQuestionId(question.getId());
+                option.setOptionText("option " + o);
+                options.add(option);
+            }
+        }
+        return QuizAnswerKey.compile("quiz", questions, options);
+    }
+
+    private static int[] repeat(int value, int times) {
+        int[] values = new int[times];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    private static int[] unanswered(int questions) {
+        return repeat(-1, questions);
+    }
+}
@@ -0,0 +1,106 @@
+package com.olp.domain.quiz;
+
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.user.User;
+import com.olp.shared.id.UuidV7;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.support.IntegrationTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A quiz closing with 5000 students submitting at once, fired from 200 threads at the service. Reports
+ * the accept latency percentiles and checks that every submission is accepted and graded exactly once.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ExamSubmissionLoadTest extends IntegrationTest {
+
+    private static final int SUBMISSIONS = 5000;
+    private static final int THREADS = 200;
+
+    @Autowired
+    private ExamSubmissionService submissionService;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Test
+    void burstOfSubmissionsAtQuizClose() throws Exception {
+        AuthenticatedUser instructor = createUser(User.Role.INSTRUCTOR);
+        CourseResponse course = createPublishedCourse(instructor, 1);
+        String sectionId = course.getSections().get(0).getId();
+        quizService.createQuiz(sectionId, ExamSubmissionServiceTest.quiz());
+        String quizId = jdbcTemplate.queryForObject("SELECT id FROM section_quiz WHERE section_id = ?", String.class, sectionId);
+        List<AuthenticatedUser> students = createStudents();
+        long gradedBefore = (Long) submissionService.getStats().get("graded");
+
+        long[] latencies = new long[SUBMISSIONS];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < SUBMISSIONS; i++) {
+                int n = i;
+                results.add(clients.submit(() -> {
+                    signIn(students.get(n));
+                    start.await();
+                    long begin = System.nanoTime();
+                    submissionService.accept(quizId, Map.of());
+                    latencies[n] = System.nanoTime() - begin;
+                    return null;
+                }));
+            }
+            long burstStart = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+            long burstMillis = (System.nanoTime() - burstStart) / 1_000_000;
+
+            Arrays.sort(latencies);
+            System.out.printf("%d submissions from %d threads accepted in %d ms: p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    SUBMISSIONS, THREADS, burstMillis, millis(latencies, 0.50), millis(latencies, 0.99),
+                    latencies[SUBMISSIONS - 1] / 1e6);
+        } finally {
+            clients.shutdownNow();
+        }
+
+        await("grading", Duration.ofMinutes(2),
+                () -> (Long) submissionService.getStats().get("graded") - gradedBefore >= SUBMISSIONS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM quiz_attempt WHERE quiz_id = ?", Integer.class, quizId))
+                .isEqualTo(SUBMISSIONS);
+        assertThat(millis(latencies, 0.99)).isLessThan(1000);
+    }
+
+    private List<AuthenticatedUser> createStudents() {
+        List<AuthenticatedUser> students = new ArrayList<>(SUBMISSIONS);
+        List<Object[]> rows = new ArrayList<>(SUBMISSIONS);
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            String id = UuidV7.next();
+            String username = "student-" + id.substring(19).replace("-", "");
+            students.add(new AuthenticatedUser(id, username, User.Role.STUDENT));
+            rows.add(new Object[]{id, username, username + "@example.com", "-", "STUDENT", "Test", username});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password_hash, role, first_name, last_name) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        return students;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+}
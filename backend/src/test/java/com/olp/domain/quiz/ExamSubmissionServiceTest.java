@@ -0,0 +1,201 @@
+package com.olp.domain.quiz;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.user.User;
+import com.olp.shared.id.UuidV7;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.shared.security.CurrentUser;
+import com.olp.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExamSubmissionServiceTest extends IntegrationTest {
+
+    @Autowired
+    private ExamSubmissionService submissionService;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private QuizAnswerKeyCache answerKeyCache;
+
+    @Autowired
+    private QuizAttemptWriter attemptWriter;
+
+    @Autowired
+    private QuizAttemptSummaryRepository summaryRepository;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String quizId;
+
+    @BeforeEach
+    void createQuiz() {
+        AuthenticatedUser instructor = createUser(User.Role.INSTRUCTOR);
+        CourseResponse course = createPublishedCourse(instructor, 1);
+        String sectionId = course.getSections().get(0).getId();
+        quizService.createQuiz(sectionId, quiz());
+        quizId = jdbcTemplate.queryForObject("SELECT id FROM section_quiz WHERE section_id = ?", String.class, sectionId);
+    }
+
+    @Test
+    void acceptedSubmissionIsGradedOnce() {
+        AuthenticatedUser student = createUser(User.Role.STUDENT);
+        signIn(student);
+        String submissionId = (String) submissionService.accept(quizId, Map.of()).get("submissionId");
+
+        await("grading", () -> "GRADED".equals(submissionService.getSubmission(submissionId).get("status")));
+        Map<String, Object> result = submissionService.getSubmission(submissionId);
+        assertThat(result).containsEntry("correctAnswers", 0).containsEntry("totalQuestions", 1).containsEntry("attemptCount", 1);
+        assertThat(attempts(student.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void malformedSubmissionIdIsNotFound() {
+        signIn(createUser(User.Role.STUDENT));
+
+        assertThatThrownBy(() -> submissionService.getSubmission("not-a-submission-id"))
+                .hasMessage("Submission not found");
+    }
+
+    @Test
+    void expiredLeasesAreGradedOnceWhenSeveralInstancesClaimThem() throws Exception {
+        List<AuthenticatedUser> students = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            students.add(createUser(User.Role.STUDENT));
+        }
+        // Left behind by an instance that went away: pending, and leased until a minute ago
+        List<String> submissionIds = new ArrayList<>();
+        Timestamp expired = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1));
+        for (int round = 0; round < 20; round++) {
+            for (AuthenticatedUser student : students) {
+                String id = UuidV7.next();
+                submissionIds.add(id);
+                jdbcTemplate.update("INSERT INTO quiz_submission (id, quiz_id, user_id, answers, status, submitted_at, " +
+                        "claimed_by, lease_until) VALUES (?, ?, ?, '{}', 'PENDING', ?, ?, ?)",
+                        UuidV7.toBytes(id), quizId, student.getId(), expired, UuidV7.next(), expired);
+            }
+        }
+
+        List<ExamSubmissionService> instances = List.of(instance(), instance(), instance());
+        instances.forEach(ExamSubmissionService::start);
+        try {
+            await("recovery", () -> pending(submissionIds) == 0);
+        } finally {
+            instances.forEach(ExamSubmissionService::stop);
+        }
+
+        long recovered = instances.stream().mapToLong(instance -> (Long) instance.getStats().get("recovered")).sum();
+        long graded = instances.stream().mapToLong(instance -> (Long) instance.getStats().get("graded")).sum();
+        assertThat(recovered).isGreaterThanOrEqualTo(graded);
+        for (AuthenticatedUser student : students) {
+            assertThat(attempts(student.getId())).isEqualTo(20);
+            assertThat(summaryRepository.findByUserIdAndQuizId(student.getId(), quizId))
+                    .hasValueSatisfying(summary -> assertThat(summary.getAttemptCount()).isEqualTo(20));
+        }
+    }
+
+    @Test
+    void instanceThatLostItsLeaseDropsItsDuplicateAttempts() throws Exception {
+        AuthenticatedUser student = createUser(User.Role.STUDENT);
+        List<String> submissionIds = new ArrayList<>();
+        Timestamp expired = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1));
+        for (int i = 0; i < 5; i++) {
+            String id = UuidV7.next();
+            submissionIds.add(id);
+            jdbcTemplate.update("INSERT INTO quiz_submission (id, quiz_id, user_id, answers, status, submitted_at, " +
+                    "claimed_by, lease_until) VALUES (?, ?, ?, '{}', 'PENDING', ?, ?, ?)",
+                    UuidV7.toBytes(id), quizId, student.getId(), expired, UuidV7.next(), expired);
+        }
+
+        // The first instance claims the submissions and then stalls before grading them, like a long GC pause
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        QuizAnswerKeyCache stallingKeys = new QuizAnswerKeyCache(null, null, null, null, 1) {
+            @Override
+            public QuizAnswerKey get(String id) {
+                stalled.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return answerKeyCache.get(id);
+            }
+        };
+        ExamSubmissionService stalling = new ExamSubmissionService(jdbcTemplate, transactionManager, stallingKeys,
+                attemptWriter, summaryRepository, currentUser, objectMapper, 1, 100, 10, 5, 3);
+        ExamSubmissionService other = instance();
+        stalling.start();
+        try {
+            assertThat(stalled.await(10, TimeUnit.SECONDS)).isTrue();
+            // Its lease runs out and another instance grades the submissions
+            jdbcTemplate.update("UPDATE quiz_submission SET claimed_by = ?, lease_until = ? WHERE user_id = ?",
+                    UuidV7.next(), expired, student.getId());
+            other.start();
+            await("grading", () -> pending(submissionIds) == 0);
+
+            resume.countDown();
+            await("the stalled batch", () -> (Long) stalling.getStats().get("duplicatesDropped") == 5);
+        } finally {
+            resume.countDown();
+            stalling.stop();
+            other.stop();
+        }
+
+        assertThat(stalling.getStats().get("graded")).isEqualTo(0L);
+        assertThat(attempts(student.getId())).isEqualTo(5);
+        assertThat(summaryRepository.findByUserIdAndQuizId(student.getId(), quizId))
+                .hasValueSatisfying(summary -> assertThat(summary.getAttemptCount()).isEqualTo(5));
+    }
+
+    private ExamSubmissionService instance() {
+        return new ExamSubmissionService(jdbcTemplate, transactionManager, answerKeyCache, attemptWriter,
+                summaryRepository, currentUser, objectMapper, 2, 100, 10, 5, 3);
+    }
+
+    private int pending(List<String> submissionIds) {
+        return submissionIds.stream()
+                .mapToInt(id -> jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM quiz_submission WHERE id = ? AND status = 'PENDING'", Integer.class, UuidV7.toBytes(id)))
+                .sum();
+    }
+
+    private int attempts(String userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM quiz_attempt WHERE user_id = ? AND quiz_id = ?",
+                Integer.class, userId, quizId);
+    }
+
+    static QuizRequest quiz() {
+        QuizRequest.QuestionRequest question = new QuizRequest.QuestionRequest();
+        question.setQuestion("2 + 2?");
+        question.setOptions(List.of("3", "4"));
+        question.setCorrectAnswer("4");
+        QuizRequest request = new QuizRequest();
+        request.setTitle("Exam");
+        request.setQuestions(List.of(question));
+        return request;
+    }
+}
@@ -0,0 +1,105 @@
+package com.olp.domain.quiz;
+
+import com.olp.domain.course.CourseRequest;
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.user.User;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuizAnswerKeyCacheTest extends IntegrationTest {
+
+    @Autowired
+    private QuizAnswerKeyCache cache;
+
+    @Autowired
+    private QuizService quizService;
+
+    private CourseResponse edited;
+    private CourseResponse untouched;
+
+    @BeforeEach
+    void createCourses() {
+        AuthenticatedUser instructor = createUser(User.Role.INSTRUCTOR);
+        edited = createPublishedCourse(instructor, 1, 1);
+        untouched = createPublishedCourse(instructor, 1);
+        quizService.createQuiz(section(edited, 0), ExamSubmissionServiceTest.quiz());
+        quizService.createQuiz(section(edited, 1), ExamSubmissionServiceTest.quiz());
+        quizService.createQuiz(section(untouched, 0), ExamSubmissionServiceTest.quiz());
+    }
+
+    @Test
+    void editingACourseOnlyDropsThatCoursesKeys() {
+        QuizAnswerKey editedKey = cache.get(quizId(edited, 0));
+        QuizAnswerKey untouchedKey = cache.get(quizId(untouched, 0));
+
+        courseService.updateCourse(edited.getId(), rename(edited));
+
+        assertThat(cache.get(quizId(untouched, 0))).isSameAs(untouchedKey);
+        assertThat(cache.get(quizId(edited, 0))).isNotSameAs(editedKey);
+    }
+
+    @Test
+    void deletingASectionDropsItsKey() {
+        String quizId = quizId(edited, 1);
+        cache.get(quizId);
+
+        courseService.deleteSection(edited.getId(), section(edited, 1));
+
+        assertThatThrownBy(() -> cache.get(quizId)).hasMessage("Quiz not found");
+    }
+
+    @Test
+    void concurrentFirstSubmissionsShareOneKey() throws Exception {
+        String quizId = quizId(untouched, 0);
+        // Drop anything cached for this course so the threads race to compile
+        courseService.updateCourse(untouched.getId(), rename(untouched));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<QuizAnswerKey>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.get(quizId);
+                }));
+            }
+            start.countDown();
+            QuizAnswerKey first = results.get(0).get();
+            for (Future<QuizAnswerKey> result : results) {
+                assertThat(result.get()).isSameAs(first);
+            }
+            assertThat(cache.get(quizId)).isSameAs(first);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private String quizId(CourseResponse course, int section) {
+        return jdbcTemplate.queryForObject("SELECT id FROM section_quiz WHERE section_id = ?", String.class,
+                section(course, section));
+    }
+
+    private static CourseRequest rename(CourseResponse course) {
+        CourseRequest request = new CourseRequest();
+        request.setTitle(course.getTitle() + " (renamed)");
+        return request;
+    }
+
+    private static String section(CourseResponse course, int index) {
+        return course.getSections().get(index).getId();
+    }
+}
@@ -0,0 +1,83 @@
+package com.olp.domain.quiz;
+
+import com.olp.shared.id.UuidV7;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submissions of a 50-question, four-option final exam graded per second on one thread against a
+ * compiled {@link QuizAnswerKey}: resolving the answers, scoring them and packing the answer sheet, which
+ * is everything grading does apart from writing the attempt.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class QuizGradingBenchmark {
+
+    private static final int QUESTIONS = 50;
+    private static final int OPTIONS = 4;
+    private static final int SUBMISSIONS = 1024;
+
+    private QuizAnswerKey key;
+    private List<Map<String, String>> submissions;
+    private int next;
+
+    @Setup
+    public void compileKey() {
+        List<QuizQuestion> questions = new ArrayList<>();
+        List<QuizOption> options = new ArrayList<>();
+        for (int q = 0; q < QUESTIONS; q++) {
+            QuizQuestion question = new QuizQuestion();
+            question.setId(UuidV7.next());
+            question.setQuizId("exam");
+            question.setQuestion("Question " + q);
+            question.setCorrectAnswer("Option " + q % OPTIONS);
+            questions.add(question);
+            for (int o = 0; o < OPTIONS; o++) {
+                QuizOption option = new QuizOption();
+                option.setId(UuidV7.next());
+                option.setQuestionId(question.getId());
+                option.setOptionText("Option " + o);
+                options.add(option);
+            }
+        }
+        key = QuizAnswerKey.compile("exam", questions, options);
+
+        // Students skip about one question in ten and pick any option for the rest
+        SplittableRandom random = new SplittableRandom(42);
+        submissions = new ArrayList<>(SUBMISSIONS);
+        for (int s = 0; s < SUBMISSIONS; s++) {
+            Map<String, String> answers = new HashMap<>();
+            for (int q = 0; q < QUESTIONS; q++) {
+                if (random.nextInt(10) > 0) {
+                    answers.put(key.questionId(q), key.optionId(key.optionStart(q) + random.nextInt(OPTIONS)));
+                }
+            }
+            submissions.add(answers);
+        }
+    }
+
+    @Benchmark
+    public byte[] grade(Blackhole blackhole) {
+        Map<String, String> answers = submissions.get(next++ & (SUBMISSIONS - 1));
+        int[] selections = key.selections(answers);
+        int correct = key.score(selections);
+        blackhole.consume(key.isPassing(correct));
+        return AnswerSheetCodec.encode(key, selections);
+    }
+}
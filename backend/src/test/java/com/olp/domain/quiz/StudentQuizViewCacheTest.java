@@ -0,0 +1,65 @@
+package com.olp.domain.quiz;
+
+import com.olp.domain.course.CourseRequest;
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.user.User;
+import com.olp.shared.security.AuthenticatedUser;
+import com.olp.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentQuizViewCacheTest extends IntegrationTest {
+
+    @Autowired
+    private StudentQuizViewCache cache;
+
+    @Autowired
+    private QuizService quizService;
+
+    private CourseResponse edited;
+    private CourseResponse untouched;
+
+    @BeforeEach
+    void createCourses() {
+        AuthenticatedUser instructor = createUser(User.Role.INSTRUCTOR);
+        edited = createPublishedCourse(instructor, 1, 1);
+        untouched = createPublishedCourse(instructor, 1);
+        quizService.createQuiz(section(edited, 0), ExamSubmissionServiceTest.quiz());
+        quizService.createQuiz(section(edited, 1), ExamSubmissionServiceTest.quiz());
+        quizService.createQuiz(section(untouched, 0), ExamSubmissionServiceTest.quiz());
+    }
+
+    @Test
+    void editingACourseOnlyDropsThatCoursesQuizzes() {
+        StudentQuizViewCache.StudentQuizView editedView = cache.get(section(edited, 0)).orElseThrow();
+        StudentQuizViewCache.StudentQuizView untouchedView = cache.get(section(untouched, 0)).orElseThrow();
+
+        CourseRequest rename = new CourseRequest();
+        rename.setTitle("Renamed");
+        courseService.updateCourse(edited.getId(), rename);
+
+        assertThat(cache.get(section(untouched, 0)).orElseThrow()).isSameAs(untouchedView);
+        StudentQuizViewCache.StudentQuizView rebuilt = cache.get(section(edited, 0)).orElseThrow();
+        assertThat(rebuilt).isNotSameAs(editedView);
+        assertThat(rebuilt.etag()).isEqualTo(editedView.etag());
+    }
+
+    @Test
+    void deletingASectionDropsItsQuiz() {
+        String deleted = section(edited, 1);
+        StudentQuizViewCache.StudentQuizView untouchedView = cache.get(section(untouched, 0)).orElseThrow();
+        assertThat(cache.get(deleted)).isPresent();
+
+        courseService.deleteSection(edited.getId(), deleted);
+
+        assertThat(cache.get(deleted)).isEmpty();
+        assertThat(cache.get(section(untouched, 0)).orElseThrow()).isSameAs(untouchedView);
+    }
+
+    private static String section(CourseResponse course, int index) {
+        return course.getSections().get(index).getId();
+    }
+}
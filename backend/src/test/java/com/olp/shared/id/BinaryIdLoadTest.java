@@ -0,0 +1,117 @@
+package com.olp.shared.id;
+
+import com.olp.support.IntegrationTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts the same rows into copies of {@code lesson_progress} and {@code quiz_attempt} keyed the old
+ * way (random UUID strings in {@code CHAR(36)}) and the current way (UUIDv7 in {@code BINARY(16)}),
+ * then reports insert throughput and the data and index size InnoDB ends up with. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BinaryIdLoadTest extends IntegrationTest {
+
+    private static final int ROWS = 300_000;
+    private static final int BATCH = 1000;
+
+    @Test
+    void lessonProgressWithBinaryTimeOrderedKeys() {
+        List<String[]> pairs = itemAndUserPairs();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        compare("lesson_progress",
+                "INSERT INTO %s (id, lesson_id, user_id, completed, completed_at) VALUES (?, ?, ?, TRUE, ?)",
+                i -> new Object[]{pairs.get(i)[0], pairs.get(i)[1], now});
+    }
+
+    @Test
+    void quizAttemptsWithBinaryTimeOrderedKeys() {
+        List<String[]> pairs = itemAndUserPairs();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        compare("quiz_attempt",
+                "INSERT INTO %s (id, quiz_id, user_id, score, total_questions, passed, attempted_at) VALUES (?, ?, ?, 7, 10, TRUE, ?)",
+                i -> new Object[]{pairs.get(i)[0], pairs.get(i)[1], now});
+    }
+
+    private void compare(String table, String insert, IntFunction<Object[]> columns) {
+        String before = "bench_" + table + "_char";
+        String after = "bench_" + table + "_binary";
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + before + ", " + after);
+        // LIKE copies the columns and secondary indexes but not the foreign keys, which both copies skip alike
+        jdbcTemplate.execute("CREATE TABLE " + before + " LIKE " + table);
+        jdbcTemplate.execute("ALTER TABLE " + before + " MODIFY id CHAR(36) NOT NULL");
+        jdbcTemplate.execute("CREATE TABLE " + after + " LIKE " + table);
+        try {
+            double charRate = insert(String.format(insert, before), i -> UUID.randomUUID().toString(), columns);
+            double binaryRate = insert(String.format(insert, after), i -> UuidV7.toBytes(UuidV7.next()), columns);
+            Map<String, Object> charSize = size(before);
+            Map<String, Object> binarySize = size(after);
+
+            System.out.printf("%s, %d rows: CHAR(36) random %.0f rows/s, data %s KB, indexes %s KB; " +
+                            "BINARY(16) UUIDv7 %.0f rows/s, data %s KB, indexes %s KB%n",
+                    table, ROWS, charRate, kb(charSize, "data"), kb(charSize, "indexes"),
+                    binaryRate, kb(binarySize, "data"), kb(binarySize, "indexes"));
+
+            assertThat(kb(binarySize, "indexes")).isLessThan(kb(charSize, "indexes"));
+            assertThat(kb(binarySize, "data")).isLessThan(kb(charSize, "data"));
+            assertThat(binaryRate).isGreaterThan(charRate);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + before + ", " + after);
+        }
+    }
+
+    private double insert(String sql, IntFunction<Object> id, IntFunction<Object[]> columns) {
+        long start = System.nanoTime();
+        for (int from = 0; from < ROWS; from += BATCH) {
+            List<Object[]> rows = new ArrayList<>(BATCH);
+            for (int i = from; i < Math.min(from + BATCH, ROWS); i++) {
+                Object[] rest = columns.apply(i);
+                Object[] row = new Object[rest.length + 1];
+                row[0] = id.apply(i);
+                System.arraycopy(rest, 0, row, 1, rest.length);
+                rows.add(row);
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+        return ROWS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private Map<String, Object> size(String table) {
+        jdbcTemplate.execute("ANALYZE TABLE " + table);
+        return jdbcTemplate.queryForMap("SELECT data_length AS data, index_length AS indexes " +
+                "FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?", table);
+    }
+
+    private static long kb(Map<String, Object> size, String column) {
+        return ((Number) size.get(column)).longValue() / 1024;
+    }
+
+    /**
+     * Distinct (lesson or quiz, user) pairs as they arrive in production: a few thousand users working
+     * through the same few hundred items, so the unique and foreign key indexes see realistic keys.
+     */
+    private static List<String[]> itemAndUserPairs() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            items.add(UuidV7.next());
+        }
+        List<String[]> pairs = new ArrayList<>(ROWS);
+        while (pairs.size() < ROWS) {
+            String user = UuidV7.next();
+            for (int i = 0; i < items.size() && pairs.size() < ROWS; i++) {
+                pairs.add(new String[]{items.get(i), user});
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,66 @@
+package com.olp.shared.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidV7Test {
+
+    @Test
+    void generatesVersionSevenWithTheRfcVariant() {
+        UUID uuid = UuidV7.generate();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void timestampIsTheCurrentMillisecond() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        // A millisecond may be borrowed ahead of the clock when its sequence runs out
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after + 1_000);
+    }
+
+    @Test
+    void idsSortInCreationOrderAsStringsAndBytes() {
+        String previous = UuidV7.next();
+        // Enough ids to exhaust some milliseconds' sequence values
+        for (int i = 0; i < 50_000; i++) {
+            String id = UuidV7.next();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(Arrays.compareUnsigned(UuidV7.toBytes(id), UuidV7.toBytes(previous))).isPositive();
+            previous = id;
+        }
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        for (int i = 0; i < 100; i++) {
+            String id = UuidV7.next();
+            assertThat(UuidV7.fromBytes(UuidV7.toBytes(id))).isEqualTo(id);
+        }
+        String random = UUID.randomUUID().toString();
+        assertThat(UuidV7.fromBytes(UuidV7.toBytes(random))).isEqualTo(random);
+    }
+
+    @Test
+    void bytesAreBigEndian() {
+        byte[] bytes = UuidV7.toBytes("00112233-4455-6677-8899-aabbccddeeff");
+
+        assertThat(bytes).containsExactly(0x00, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, 0x77,
+                0x88, 0x99, 0xAA, 0xBB, 0xCC, 0xDD, 0xEE, 0xFF);
+    }
+
+    @Test
+    void wrongLengthIsRejected() {
+        assertThatThrownBy(() -> UuidV7.fromBytes(new byte[15])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UuidV7.fromBytes(new byte[17])).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.olp.shared.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time the JWT filter adds to a request carrying a bearer token: a repeat request served from the
+ * verified-token cache, a first request that verifies the signature once, and the previous filter's
+ * three parses with a freshly built key and parser each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET =
+            "ThisIsAVerySecureSecretKeyForJWTTokenGenerationWithAtLeast256BitsOfSecurityForHMACSHA256Algorithm";
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter verifyingFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String token;
+
+    @Setup
+    public void createFilters() {
+        JwtUtil cachingJwtUtil = new JwtUtil(SECRET, 15, 7, 10_000);
+        // A zero-entry cache never stores a verification, so every request checks the signature
+        JwtUtil verifyingJwtUtil = new JwtUtil(SECRET, 15, 7, 0);
+        cachingFilter = new JwtAuthenticationFilter(cachingJwtUtil);
+        verifyingFilter = new JwtAuthenticationFilter(verifyingJwtUtil);
+
+        token = cachingJwtUtil.generateAccessToken("0190f3a2-7b1c-7d4e-8f00-1234567890ab", "student", "STUDENT");
+        request = new MockHttpServletRequest("GET", "/api/courses");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object cachedToken() throws ServletException, IOException {
+        cachingFilter.doFilterInternal(request, response, CHAIN);
+        return signOut();
+    }
+
+    @Benchmark
+    public Object verifiedOnce() throws ServletException, IOException {
+        verifyingFilter.doFilterInternal(request, response, CHAIN);
+        return signOut();
+    }
+
+    @Benchmark
+    public Object previousThreeParses() {
+        // isTokenValid, extractUsername and extractRole each rebuilt the key and the parser
+        String username = null;
+        String role = null;
+        for (int i = 0; i < 3; i++) {
+            Claims claims = Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            username = claims.getSubject();
+            role = claims.get("role", String.class);
+        }
+        return username + role;
+    }
+
+    private static Object signOut() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,92 @@
+package com.olp.shared.security;
+
+import com.olp.shared.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void queueDefaultsToFourPerThreadAndStaysWellBelowTheRequestThreads() {
+        assertThat(new PasswordHasher(new BlockingEncoder(), 10, 2, 0, 1000, 2, 200).getStats())
+                .containsEntry("queueCapacity", 8);
+        assertThat(new PasswordHasher(new BlockingEncoder(), 10, 2, 256, 1000, 2, 200).getStats())
+                .containsEntry("queueCapacity", 50);
+    }
+
+    @Test
+    void hashThatCannotBeQueuedIsRejectedWithoutWaiting() throws Exception {
+        hasher = new PasswordHasher(new BlockingEncoder(), 10, 1, 2, 60_000, 2, 200);
+        for (int i = 0; i < 3; i++) {
+            callers.submit(() -> hasher.encode("secret"));
+        }
+        awaitQueueDepth(2);
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> hasher.encode("secret"))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .satisfies(e -> assertThat(((ServiceOverloadedException) e).getRetryAfterSeconds()).isEqualTo(2));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(500);
+        assertThat(hasher.getStats()).containsEntry("rejected", 1L);
+    }
+
+    @Test
+    void queuedCallerGivesUpAfterTheTimeout() throws Exception {
+        hasher = new PasswordHasher(new BlockingEncoder(), 10, 1, 2, 200, 2, 200);
+        callers.submit(() -> hasher.encode("secret"));
+
+        long startedAt = System.nanoTime();
+        Future<?> queued = callers.submit(() -> hasher.encode("secret"));
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ServiceOverloadedException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isBetween(150L, 2000L);
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((Integer) hasher.getStats().get("queueDepth") < depth) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    // Stands in for a slow BCrypt: every hash waits until the test releases it
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
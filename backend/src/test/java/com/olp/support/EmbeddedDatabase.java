@@ -0,0 +1,51 @@
+package com.olp.support;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * One embedded MariaDB server per test JVM, started on first use and stopped at shutdown. MariaDB
+ * speaks the MySQL protocol and runs the Flyway migrations unchanged, so integration tests exercise the
+ * same SQL (locking reads, upserts, batched inserts) as production without Docker.
+ */
+public final class EmbeddedDatabase {
+
+    private static final String SCHEMA = "online_learning_test";
+
+    private static DB db;
+
+    private EmbeddedDatabase() {
+    }
+
+    public static synchronized String url() {
+        if (db == null) {
+            db = start();
+        }
+        return "jdbc:mysql://localhost:" + db.getConfiguration().getPort() + "/" + SCHEMA
+                + "?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true";
+    }
+
+    private static DB start() {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        config.addArg("--character-set-server=utf8mb4");
+        config.addArg("--collation-server=utf8mb4_unicode_ci");
+        // Only needed when the tests run as root, as they do in containers; ignored otherwise
+        config.addArg("--user=root");
+        try {
+            DB started = DB.newEmbeddedDB(config.build());
+            started.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.stop();
+                } catch (ManagedProcessException ignored) {
+                    // The server goes away with the JVM either way
+                }
+            }));
+            return started;
+        } catch (ManagedProcessException e) {
+            throw new IllegalStateException("Could not start the embedded test database", e);
+        }
+    }
+}
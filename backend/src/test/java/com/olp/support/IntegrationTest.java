@@ -0,0 +1,131 @@
+package com.olp.support;
+
+import com.olp.domain.course.CourseRequest;
+import com.olp.domain.course.CourseResponse;
+import com.olp.domain.course.CourseService;
+import com.olp.domain.course.SectionRequest;
+import com.olp.domain.course.SectionResponse;
+import com.olp.domain.lesson.LessonRequest;
+import com.olp.domain.lesson.LessonResponse;
+import com.olp.domain.user.User;
+import com.olp.shared.id.UuidV7;
+import com.olp.shared.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Base for tests that run the whole application against {@link EmbeddedDatabase}. Every test creates
+ * its own users and courses with fresh ids, so tests share one schema and one application context
+ * without cleaning up after each other.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.olp.support.QueryCounter")
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected CourseService courseService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", EmbeddedDatabase::url);
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Inserts a user with an unusable password and returns it signed out.
+     */
+    protected AuthenticatedUser createUser(User.Role role) {
+        String id = UuidV7.next();
+        String username = role.name().toLowerCase() + "-" + id.substring(24);
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, role, first_name, last_name) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", id, username, username + "@example.com", "-", role.name(), "Test", username);
+        return new AuthenticatedUser(id, username, role);
+    }
+
+    /**
+     * Makes {@code user} the caller of the service methods invoked next on this thread.
+     */
+    protected void signIn(AuthenticatedUser user) {
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, authorities));
+    }
+
+    /**
+     * Creates and publishes a course owned by {@code instructor} with one section per argument holding
+     * that many lessons. Leaves the instructor signed in.
+     */
+    protected CourseResponse createPublishedCourse(AuthenticatedUser instructor, int... lessonsPerSection) {
+        CourseRequest request = new CourseRequest();
+        request.setTitle("Course " + UuidV7.next().substring(24));
+        request.setDescription("Created by a test");
+        List<SectionRequest> sections = new ArrayList<>();
+        for (int s = 0; s < lessonsPerSection.length; s++) {
+            SectionRequest section = new SectionRequest();
+            section.setTitle("Section " + (s + 1));
+            section.setSortOrder(s + 1);
+            List<LessonRequest> lessons = new ArrayList<>();
+            for (int l = 0; l < lessonsPerSection[s]; l++) {
+                LessonRequest lesson = new LessonRequest();
+                lesson.setTitle("Lesson " + (s + 1) + "." + (l + 1));
+                lesson.setContent("Content");
+                lesson.setSortOrder(l + 1);
+                lessons.add(lesson);
+            }
+            section.setLessons(lessons);
+            sections.add(section);
+        }
+        request.setSections(sections);
+
+        signIn(instructor);
+        String courseId = courseService.createCourse(request).getId();
+        return courseService.publishCourse(courseId);
+    }
+
+    protected static List<String> lessonIds(CourseResponse course) {
+        return course.getSections().stream()
+                .map(SectionResponse::getLessons)
+                .flatMap(List::stream)
+                .map(LessonResponse::getId)
+                .toList();
+    }
+
+    protected static void await(String what, BooleanSupplier condition) {
+        await(what, Duration.ofSeconds(10), condition);
+    }
+
+    protected static void await(String what, Duration timeout, BooleanSupplier condition) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Timed out waiting for " + what);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("Interrupted waiting for " + what);
+            }
+        }
+    }
+}
@@ -60,7 +60,7 @@ const CourseEditor = ({ open, onClose, course, onSave }) => {
     const quizzes = {};
     for (const section of course.sections) {
       try {
-        const response = await quizApi.getQuiz(section.id);
+        const response = await quizApi.getQuizForAuthoring(section.id);
         if (response.data) {
           quizzes[section.id] = response.data;
         }
@@ -7,12 +7,17 @@ import { CheckCircle } from '@mui/icons-material';
 
 
 
-const CourseProgress = ({ courseId }) => {
-  const [progress, setProgress] = useState(null);
+// Pass initialProgress when the caller already has it (e.g. from the dashboard) to skip the request
+const CourseProgress = ({ courseId, initialProgress }) => {
+  const [progress, setProgress] = useState(initialProgress || null);
 
   useEffect(() => {
-    loadProgress();
-  }, [courseId]);
+    if (initialProgress) {
+      setProgress(initialProgress);
+    } else {
+      loadProgress();
+    }
+  }, [courseId, initialProgress]);
 
   const loadProgress = async () => {
     try {
@@ -39,7 +39,7 @@ const AdminPanel = () => {
 
   const loadAllCourses = async () => {
     try {
-      const response = await courseApi.getCourses();
+      const response = await courseApi.getCourses({ view: 'summary' });
       setAllCourses(response.data.content);
     } catch (error) {
       console.error('Failed to load courses:', error);
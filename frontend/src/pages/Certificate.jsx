@@ -48,6 +48,33 @@ const Certificate = () => {
     });
   };
 
+  const downloadPdf = async () => {
+    try {
+      const response = await certificateApi.getCertificatePdf(courseId);
+      const url = URL.createObjectURL(response.data);
+      const link = document.createElement('a');
+      link.download = `certificate-${certificate.certificateNumber}.pdf`;
+      link.href = url;
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch (error) {
+      console.error('Failed to download certificate PDF:', error);
+      // The body is a Blob because of responseType; a refused PDF explains why in its message
+      let message = null;
+      try {
+        message = JSON.parse(await error.response.data.text()).message;
+      } catch (parseError) {
+        // No error body to show
+      }
+      if (error.response?.status === 400 && message) {
+        alert(message);
+        downloadCertificate();
+      } else {
+        alert('Failed to download certificate PDF');
+      }
+    }
+  };
+
   if (loading) {
     return (
       <Container sx={{ display: 'flex', justifyContent: 'center', mt: 8 }}>
@@ -61,8 +88,11 @@ const Certificate = () => {
   return (
     <Container maxWidth="lg" sx={{ mt: 4, mb: 4 }}>
       <Box sx={{ textAlign: 'center', mb: 3 }}>
-        <Button variant="contained" startIcon={<Download />} onClick={downloadCertificate} sx={{ mr: 2 }}>
-          Download Certificate
+        <Button variant="contained" startIcon={<Download />} onClick={downloadPdf} sx={{ mr: 2 }}>
+          Download PDF
+        </Button>
+        <Button variant="outlined" startIcon={<Download />} onClick={downloadCertificate} sx={{ mr: 2 }}>
+          Download Image
         </Button>
         <Button variant="outlined" onClick={() => navigate(-1)}>
           Back to Course
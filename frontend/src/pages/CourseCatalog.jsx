@@ -23,7 +23,7 @@ const CourseCatalog = () => {
 
   const loadEnrolledCourses = async () => {
     try {
-      const response = await courseApi.getEnrolledCourses();
+      const response = await courseApi.getEnrolledCourses({ view: 'summary' });
       const enrolled = new Set(response.data.content.map((c) => c.id));
       setEnrolledCourses(enrolled);
     } catch (error) {
@@ -33,7 +33,7 @@ const CourseCatalog = () => {
 
   const loadCourses = async () => {
     try {
-      const response = await courseApi.getCourses({ tag: tagFilter || undefined });
+      const response = await courseApi.getCourses({ tag: tagFilter || undefined, view: 'summary' });
       setCourses(response.data.content);
     } catch (error) {
       toast.error('Failed to load courses');
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import {
   Container,
   Typography,
@@ -21,6 +21,9 @@ import {
 import { ExpandMore, PlayArrow, CheckCircle } from '@mui/icons-material';
 import { useParams, useNavigate, useLocation } from 'react-router-dom';
 import { courseApi, progressApi, quizApi } from '../services/api';
+
+const VIDEO_HEARTBEAT_INTERVAL_MS = 5000;
+
 const CourseLearning = () => {
   const { id } = useParams();
   const navigate = useNavigate();
@@ -34,6 +37,7 @@ const CourseLearning = () => {
   const [progress, setProgress] = useState(null);
   const [sectionQuizzes, setSectionQuizzes] = useState({});
   const [completedLessons, setCompletedLessons] = useState(new Set());
+  const videoRef = useRef(null);
 
   useEffect(() => {
     if (id) {
@@ -55,6 +59,17 @@ const CourseLearning = () => {
     }
   }, [location.pathname]);
 
+  // While a video plays, report its position every few seconds; the server credits watch time from these
+  useEffect(() => {
+    if (!selectedLesson?.videoUrl) return;
+    const timer = setInterval(() => {
+      if (videoRef.current && !videoRef.current.paused) {
+        sendVideoHeartbeat();
+      }
+    }, VIDEO_HEARTBEAT_INTERVAL_MS);
+    return () => clearInterval(timer);
+  }, [selectedLesson]);
+
   const loadCourse = async (courseId) => {
     try {
       const response = await courseApi.getCourse(courseId);
@@ -82,27 +97,28 @@ const CourseLearning = () => {
     if (!course.sections) return;
     
     const quizzes = {};
-    const attempts = {};
+    let attempts = {};
+    let quizSectionIds = null;
+    
+    try {
+      const statusResponse = await quizApi.getCourseQuizStatus(course.id);
+      attempts = statusResponse.data || {};
+      quizSectionIds = new Set(Object.values(attempts).map(status => status.sectionId));
+    } catch (error) {
+      console.log('Failed to load quiz status for course:', course.id);
+    }
     
     for (const section of course.sections) {
+      if (quizSectionIds && !quizSectionIds.has(section.id)) continue;
       try {
         const response = await quizApi.getQuiz(section.id);
         if (response.data) {
           quizzes[section.id] = response.data;
-          
-          try {
-            const statusResponse = await quizApi.getQuizStatus(response.data.id);
-            console.log('Quiz status for', response.data.id, ':', statusResponse.data);
-            attempts[response.data.id] = statusResponse.data;
-          } catch (error) {
-            console.log('No attempt yet for quiz:', response.data.id);
-          }
         }
       } catch (error) {
         console.log('No quiz for section:', section.id);
       }
     }
-    console.log('All quiz attempts:', attempts);
     setSectionQuizzes(quizzes);
     setQuizAttempts(attempts);
   };
@@ -160,6 +176,37 @@ const CourseLearning = () => {
     }
   };
 
+  const sendVideoHeartbeat = async () => {
+    const video = videoRef.current;
+    if (!video || !selectedLesson || !Number.isFinite(video.duration) || video.duration <= 0) return;
+    try {
+      await progressApi.sendVideoHeartbeat(selectedLesson.id, video.currentTime, video.duration);
+    } catch (error) {
+      console.error('Failed to send video heartbeat:', error);
+    }
+  };
+
+  const resumeVideo = async () => {
+    const video = videoRef.current;
+    if (!video || !selectedLesson) return;
+    try {
+      const response = await progressApi.getVideoProgress(selectedLesson.id);
+      const position = response.data.positionSeconds;
+      if (position > 0 && position < video.duration - 1) {
+        video.currentTime = position;
+      }
+    } catch (error) {
+      console.error('Failed to load video progress:', error);
+    }
+  };
+
+  const handleVideoEnded = async () => {
+    await sendVideoHeartbeat();
+    if (id) {
+      loadProgress(id);
+    }
+  };
+
   const isLessonCompleted = (lessonId) => completedLessons.has(lessonId);
 
   const isSectionCompleted = (section) => {
@@ -320,11 +367,17 @@ const CourseLearning = () => {
                       />
                     ) : (
                       <video
+                        key={selectedLesson.id}
+                        ref={videoRef}
                         controls
                         width="100%"
                         height="400"
                         preload="metadata"
                         src={selectedLesson.videoUrl}
+                        onLoadedMetadata={resumeVideo}
+                        onPause={sendVideoHeartbeat}
+                        onSeeked={sendVideoHeartbeat}
+                        onEnded={handleVideoEnded}
                         onError={(e) => console.error('Video error:', e)}
                       >
                         Your browser does not support the video tag.
@@ -49,7 +49,7 @@ const InstructorDashboard = () => {
 
   const loadCourses = async () => {
     try {
-      const response = await courseApi.getInstructorCourses();
+      const response = await courseApi.getInstructorCourses({ view: 'summary' });
       setCourses(response.data.content);
     } catch (error) {
       console.error('Failed to load courses:', error);
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Container, Typography, Card, CardContent, CardActions, Grid, Button, Chip, Box, Tabs, Tab, LinearProgress } from '@mui/material';
 import { useNavigate } from 'react-router-dom';
-import { courseApi, certificateApi } from '../services/api';
+import { dashboardApi } from '../services/api';
 import CourseProgress from '../components/CourseProgress';
 import { PlayCircleOutline, MenuBook, EmojiEvents, CheckCircle } from '@mui/icons-material';
 
@@ -17,44 +17,25 @@ function TabPanel(props) {
 }
 
 const MyCourses = () => {
-  const [courses, setCourses] = useState([]);
+  const [entries, setEntries] = useState([]);
   const [tabValue, setTabValue] = useState(0);
-  const [certificates, setCertificates] = useState({});
   const navigate = useNavigate();
 
   useEffect(() => {
-    loadEnrolledCourses();
+    loadDashboard();
   }, []);
 
-  const loadEnrolledCourses = async () => {
+  // One request for every enrolled course with its progress, next lesson and certificate status
+  const loadDashboard = async () => {
     try {
-      const response = await courseApi.getEnrolledCourses();
-      setCourses(response.data.content);
-      checkCertificates(response.data.content);
+      const response = await dashboardApi.getDashboard();
+      setEntries(response.data);
     } catch (error) {
       console.error('Failed to load enrolled courses:', error);
     }
   };
 
-  const checkCertificates = async (courseList) => {
-    const certs = {};
-    for (const course of courseList) {
-      try {
-        console.log('Checking certificate for course:', course.id);
-        const response = await certificateApi.checkAndGenerate(course.id);
-        console.log('Certificate response:', response.data);
-        if (response.data.eligible) {
-          certs[course.id] = response.data;
-        }
-      } catch (error) {
-        console.log('Certificate error for course', course.id, ':', error.response.data || error.message);
-      }
-    }
-    console.log('All certificates:', certs);
-    setCertificates(certs);
-  };
-
-  const completedCourses = courses.filter(course => certificates[course.id]);
+  const completedEntries = entries.filter(entry => entry.certificateStatus === 'EARNED');
 
   return (
     <Box sx={{ minHeight: '100vh', bgcolor: 'background.default', pb: 6 }}>
@@ -72,7 +53,7 @@ const MyCourses = () => {
           </Tabs>
 
           <TabPanel value={tabValue} index={0}>
-            {courses.length === 0 ? (
+            {entries.length === 0 ? (
               <Box sx={{ textAlign: 'center', py: 6 }}>
                 <MenuBook sx={{ fontSize: 80, color: 'primary.main', mb: 2, opacity: 0.5 }} />
                 <Typography variant="h5" gutterBottom sx={{ fontWeight: 600 }}>No courses yet</Typography>
@@ -81,7 +62,7 @@ const MyCourses = () => {
               </Box>
             ) : (
               <Grid container spacing={3}>
-                {courses.map((course) => (
+                {entries.map(({ course, ...entry }) => (
                   <Grid item xs={12} md={6} key={course.id}>
                     <Card sx={{ height: '100%', display: 'flex', flexDirection: 'column' }}>
                       <CardContent sx={{ flexGrow: 1 }}>
@@ -92,7 +73,13 @@ const MyCourses = () => {
                             <Chip key={tag} label={tag} size="small" sx={{ bgcolor: 'primary.50' }} />
                           ))}
                         </Box>
-                        <CourseProgress courseId={course.id} />
+                        <CourseProgress
+                          courseId={course.id}
+                          initialProgress={{ completedLessons: entry.completedItems, totalLessons: entry.totalItems, progressPercent: entry.progressPercent }}
+                        />
+                        {entry.nextLessonTitle && (
+                          <Typography variant="body2" color="text.secondary">Next: {entry.nextLessonTitle}</Typography>
+                        )}
                       </CardContent>
                       <CardActions sx={{ p: 2, pt: 0 }}>
                         <Button fullWidth variant="contained" startIcon={<PlayCircleOutline />} onClick={() => navigate(`/learn/${course.id}`)}>Continue Learning</Button>
@@ -105,7 +92,7 @@ const MyCourses = () => {
           </TabPanel>
 
           <TabPanel value={tabValue} index={1}>
-            {completedCourses.length === 0 ? (
+            {completedEntries.length === 0 ? (
               <Box sx={{ textAlign: 'center', py: 6 }}>
                 <EmojiEvents sx={{ fontSize: 80, color: 'secondary.main', mb: 2, opacity: 0.5 }} />
                 <Typography variant="h5" gutterBottom sx={{ fontWeight: 600 }}>No certifications yet</Typography>
@@ -113,7 +100,7 @@ const MyCourses = () => {
               </Box>
             ) : (
               <Grid container spacing={3}>
-                {completedCourses.map((course) => (
+                {completedEntries.map(({ course }) => (
                   <Grid item xs={12} md={6} key={course.id}>
                     <Card sx={{ background: 'linear-gradient(135deg, rgba(102, 126, 234, 0.1) 0%, rgba(118, 75, 162, 0.1) 100%)', border: '2px solid', borderColor: 'primary.main' }}>
                       <CardContent>
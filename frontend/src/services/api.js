@@ -133,6 +133,9 @@ export const quizApi = {
   getQuiz: (sectionId) =>
     api.get(`/quiz/section/${sectionId}`),
   
+  getQuizForAuthoring: (sectionId) =>
+    api.get(`/quiz/section/${sectionId}/authoring`),
+  
   deleteQuiz: (sectionId) =>
     api.delete(`/quiz/section/${sectionId}`),
   
@@ -141,6 +144,9 @@ export const quizApi = {
   
   getQuizStatus: (quizId) =>
     api.get(`/quiz/${quizId}/status`),
+  
+  getCourseQuizStatus: (courseId) =>
+    api.get(`/quiz/course/${courseId}/status`),
 };
 
 export const progressApi = {
@@ -149,6 +155,12 @@ export const progressApi = {
   
   markLessonComplete: (lessonId) =>
     api.post(`/progress/lesson/${lessonId}/complete`),
+
+  sendVideoHeartbeat: (lessonId, position, duration) =>
+    api.post(`/progress/lesson/${lessonId}/heartbeat`, { position, duration }),
+
+  getVideoProgress: (lessonId) =>
+    api.get(`/progress/lesson/${lessonId}/video`),
 };
 
 export const courseService = {
@@ -166,4 +178,11 @@ export const profileApi = {
 export const certificateApi = {
   checkAndGenerate: (courseId) => api.post(`/certificate/course/${courseId}`),
   getCertificate: (courseId) => api.get(`/certificate/course/${courseId}`),
+  getMyCertificates: () => api.get('/certificate/mine'),
+  getCertificatePdf: (courseId) =>
+    api.get(`/certificate/course/${courseId}/pdf`, { responseType: 'blob' }),
+};
+
+export const dashboardApi = {
+  getDashboard: () => api.get('/dashboard'),
 };